@@ -0,0 +1,255 @@
+package algorithms.scheduling;
+
+import datastructures.graph.Graph;
+import datastructures.graph.TopologicalSortIterator;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Executes an action on every node of a DIRECTED and ACYCLIC graph, where an edge from node a to node b means that the
+ * action on b may only be started once the action on a has finished. The actions are run concurrently on an executor:
+ * as soon as the last predecessor of a node has finished, the in-degree of the node drops to zero and its action is
+ * submitted. Any executor can be used, e.g. a thread pool or, on Java 21 and newer, an executor that starts a virtual
+ * thread per task. Note that the graph must not be changed while an execution is running.
+ * @param <T> the type of the nodes in the graph
+ */
+public class DagExecutor<T> {
+
+    private final Graph<T> graph;
+    private final Executor executor;
+
+    /**
+     * Creates an instance to execute actions on the nodes of the graph in the common fork-join pool
+     * @param graph the graph whose nodes the actions are executed on
+     * @exception NullPointerException if the graph is null
+     */
+    public DagExecutor(Graph<T> graph){
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an instance to execute actions on the nodes of the graph in the specified executor
+     * @param graph the graph whose nodes the actions are executed on
+     * @param executor the executor the actions are run in
+     * @exception NullPointerException if the graph or the executor is null
+     */
+    public DagExecutor(Graph<T> graph, Executor executor){
+        Objects.requireNonNull(graph);
+        Objects.requireNonNull(executor);
+        this.graph = graph;
+        this.executor = executor;
+    }
+
+    /**
+     * Executes the action on every node of the graph and blocks until all actions have finished. The action on a node
+     * is started only after the actions on all its predecessors have finished, while independent actions run
+     * concurrently. If an action fails, then no further actions are started and the failure is rethrown once all
+     * running actions have finished.
+     * @param action the action to be executed on every node
+     * @exception NullPointerException if the action is null
+     * @exception IllegalArgumentException if the graph contains a cycle
+     * @exception RuntimeException if an action failed, could not be submitted to the executor, or if the calling thread
+     * was interrupted while waiting
+     */
+    public void execute(Consumer<? super T> action){
+        Objects.requireNonNull(action);
+        List<T> order = getTopologicalOrder();
+        if(order.isEmpty())
+            return;
+
+        new Execution(order, action).run();
+    }
+
+    /**
+     * Returns the nodes of the graph grouped into dependency levels. The first level contains all nodes without
+     * predecessors and every other node is in the level directly after the highest level of its predecessors. So all
+     * nodes of one level can be executed concurrently once the previous levels have finished.
+     * @return Returns the nodes of the graph grouped into dependency levels
+     * @exception IllegalArgumentException if the graph contains a cycle
+     */
+    public List<List<T>> getLevels(){
+        List<T> order = getTopologicalOrder();
+        int[] levels = new int[graph.size()];
+        List<List<T>> result = new ArrayList<>();
+        for(T node : order){
+            int level = levels[graph.getId(node)];
+            if(level == result.size())
+                result.add(new ArrayList<>());
+            result.get(level).add(node);
+            for(T succ : graph.getSuccessors(node)){
+                int succId = graph.getId(succ);
+                levels[succId] = Math.max(levels[succId], level + 1);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a longest chain of dependent nodes in the graph, where the length of a chain is the sum of the durations of
+     * its nodes. Since the nodes of such a chain can not run concurrently, the length of the critical path is a lower
+     * bound for the time an execution of the whole graph takes, regardless of the number of threads.
+     * @param duration a function that returns the (estimated) duration of the action on a node
+     * @return Returns a longest chain of dependent nodes in the graph or an empty list if the graph is empty
+     * @exception NullPointerException if duration is null
+     * @exception IllegalArgumentException if the graph contains a cycle or if duration returns a negative value
+     */
+    public List<T> getCriticalPath(ToLongFunction<? super T> duration){
+        LinkedList<T> path = new LinkedList<>();
+        computeCriticalPath(duration, path);
+        return path;
+    }
+
+    /**
+     * Returns the length of a longest chain of dependent nodes in the graph, where the length of a chain is the sum of
+     * the durations of its nodes.
+     * @param duration a function that returns the (estimated) duration of the action on a node
+     * @return Returns the length of a longest chain of dependent nodes in the graph
+     * @exception NullPointerException if duration is null
+     * @exception IllegalArgumentException if the graph contains a cycle or if duration returns a negative value
+     */
+    public long getCriticalPathLength(ToLongFunction<? super T> duration){
+        return computeCriticalPath(duration, new LinkedList<>());
+    }
+
+    /*
+     * Fills path with a longest chain and returns its length. The duration of every node is only requested once, so the
+     * length always belongs to the returned chain, even if the durations are only estimated.
+     */
+    private long computeCriticalPath(ToLongFunction<? super T> duration, LinkedList<T> path){
+        Objects.requireNonNull(duration);
+        Map<T, T> previous = new HashMap<>();
+        long[] finish = new long[graph.size()];
+        T last = null;
+        for(T node : getTopologicalOrder()){
+            int id = graph.getId(node);
+            long nodeDuration = duration.applyAsLong(node);
+            if(nodeDuration < 0)
+                throw new IllegalArgumentException("The duration of " + node + " must not be negative");
+            finish[id] += nodeDuration;
+            if(last == null || finish[id] > finish[graph.getId(last)])
+                last = node;
+            for(T succ : graph.getSuccessors(node)){
+                int succId = graph.getId(succ);
+                if(!previous.containsKey(succ) || finish[id] > finish[succId]){
+                    finish[succId] = finish[id];
+                    previous.put(succ, node);
+                }
+            }
+        }
+
+        for(T current = last; current != null; current = previous.get(current))
+            path.addFirst(current);
+        return last == null ? 0 : finish[graph.getId(last)];
+    }
+
+    private List<T> getTopologicalOrder(){
+        List<T> order = new ArrayList<>(graph.size());
+        TopologicalSortIterator<T> iterator = graph.getTopologicalSortIterator();
+        while(iterator.hasNext())
+            order.add(iterator.next());
+        return order;
+    }
+
+    private final class Execution {
+
+        private final Consumer<? super T> action;
+        private final List<T> nodes;
+        private final int[][] successors;
+        private final AtomicIntegerArray inDegrees;
+        private final AtomicInteger pending;
+        private final AtomicReference<Throwable> failure;
+        private final CountDownLatch finished;
+
+        private Execution(List<T> order, Consumer<? super T> action){
+            this.action = action;
+            int size = graph.size();
+            nodes = new ArrayList<>(Collections.nCopies(size, null));
+            successors = new int[size][];
+            inDegrees = new AtomicIntegerArray(size);
+            for(T node : order){
+                int id = graph.getId(node);
+                nodes.set(id, node);
+                Set<T> succs = graph.getSuccessors(node);
+                successors[id] = new int[succs.size()];
+                int i = 0;
+                for(T succ : succs){
+                    int succId = graph.getId(succ);
+                    successors[id][i++] = succId;
+                    inDegrees.incrementAndGet(succId);
+                }
+            }
+            pending = new AtomicInteger();
+            failure = new AtomicReference<>();
+            finished = new CountDownLatch(1);
+        }
+
+        private void run(){
+            List<Integer> ready = new ArrayList<>();
+            for(int id = 0; id < inDegrees.length(); id++){
+                if(inDegrees.get(id) == 0)
+                    ready.add(id);
+            }
+            pending.addAndGet(ready.size());
+            for(int id : ready)
+                submit(id);
+
+            try{
+                finished.await();
+            }
+            catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the execution to finish", e);
+            }
+
+            if(failure.get() != null)
+                throw new RuntimeException("The execution of the graph failed", failure.get());
+        }
+
+        private void submit(int id){
+            if(failure.get() != null){
+                done();
+                return;
+            }
+
+            try{
+                executor.execute(() -> process(id));
+            }
+            catch(RejectedExecutionException e){
+                failure.compareAndSet(null, e);
+                done();
+            }
+        }
+
+        private void process(int id){
+            try{
+                if(failure.get() == null){
+                    action.accept(nodes.get(id));
+                    for(int succId : successors[id]){
+                        if(inDegrees.decrementAndGet(succId) == 0){
+                            pending.incrementAndGet();
+                            submit(succId);
+                        }
+                    }
+                }
+            }
+            catch(Throwable t){
+                failure.compareAndSet(null, t);
+            }
+            finally{
+                done();
+            }
+        }
+
+        private void done(){
+            if(pending.decrementAndGet() == 0)
+                finished.countDown();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package algorithms.shortest_paths;
+
+import datastructures.IndexedDaryHeap;
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * An Implementation of the ShortestPathCalculator that uses the A* algorithm to compute shortest paths in a graph
+ * without negative edge weights. The search is directed towards the target by a heuristic h(node, target) that
+ * estimates the weight of the shortest path from node to target: the nodes are settled in the order of their distance
+ * from the start node plus their heuristic value and the search stops as soon as the target is settled. The heuristic
+ * must be admissible, i.e. it must never overestimate the weight of the shortest path, otherwise the computed paths
+ * might not be shortest paths. If the heuristic is also consistent, i.e. h(u, target) &lt;= w(u, v) + h(v, target) for
+ * every edge (u, v), then no node is settled twice. Some heuristics for graphs whose nodes have coordinates are
+ * provided by the static methods of this class. Estimates are capped at Long.MAX_VALUE / 4, so a heuristic may return
+ * Long.MAX_VALUE for nodes that cannot reach the target. In contrast to the Dijkstra implementation, no state is kept
+ * between queries.
+ * @param <T> the type of the nodes in the graph
+ */
+public class AStar<T> extends ShortestPathCalculator<T> {
+
+    private static final double EARTH_RADIUS_IN_METERS = 6371008.8;
+    //Larger estimates, e.g. Long.MAX_VALUE for nodes that cannot reach the target, would overflow the keys of the queue
+    private static final long MAX_ESTIMATE = Long.MAX_VALUE / 4;
+
+    private final ToLongBiFunction<? super T, ? super T> heuristic;
+    private final boolean checkConsistency;
+
+    /**
+     * Creates an instance for computing shortest paths in a graph via the A* algorithm. Note that the graph must not
+     * contain negative edge weights and that the heuristic must be admissible.
+     * @param graph the graph the shortest paths will be calculated on
+     * @param heuristic a function that returns a lower bound for the weight of the shortest path from its first
+     *                  argument to its second argument
+     * @exception NullPointerException if the graph or the heuristic is null
+     */
+    public AStar(Graph<T> graph, ToLongBiFunction<? super T, ? super T> heuristic) {
+        this(graph, heuristic, false);
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a graph via the A* algorithm. Note that the graph must not
+     * contain negative edge weights and that the heuristic must be admissible. If checkConsistency is true, then every
+     * edge that is relaxed during a search is checked against the heuristic, which is meant for debugging heuristics.
+     * @param graph the graph the shortest paths will be calculated on
+     * @param heuristic a function that returns a lower bound for the weight of the shortest path from its first
+     *                  argument to its second argument
+     * @param checkConsistency true if the consistency of the heuristic is to be checked during the searches
+     * @exception NullPointerException if the graph or the heuristic is null
+     */
+    public AStar(Graph<T> graph, ToLongBiFunction<? super T, ? super T> heuristic, boolean checkConsistency) {
+        super(graph);
+        Objects.requireNonNull(heuristic);
+        this.heuristic = heuristic;
+        this.checkConsistency = checkConsistency;
+    }
+
+    /**
+     * Returns a heuristic that computes the euclidean distance between the coordinates of two nodes multiplied by a
+     * scale factor and rounded down. It is admissible if the weight of every edge is at least the scaled euclidean
+     * distance between its nodes.
+     * @param coordinates a function that returns the coordinates of a node
+     * @param scale the factor that converts a distance between coordinates to an edge weight
+     * @param <T> the type of the nodes in the graph
+     * @return Returns a heuristic that computes the scaled euclidean distance between two nodes
+     * @exception NullPointerException if coordinates is null
+     */
+    public static <T> ToLongBiFunction<T, T> euclidean(Function<? super T, double[]> coordinates, double scale) {
+        Objects.requireNonNull(coordinates);
+        return (a, b) -> {
+            double[] aCoordinates = coordinates.apply(a);
+            double[] bCoordinates = coordinates.apply(b);
+            double sum = 0;
+            for (int i = 0; i < aCoordinates.length; i++) {
+                double diff = aCoordinates[i] - bCoordinates[i];
+                sum += diff * diff;
+            }
+            return (long) Math.floor(Math.sqrt(sum) * scale);
+        };
+    }
+
+    /**
+     * Returns a heuristic that computes the manhattan distance between the coordinates of two nodes multiplied by a
+     * scale factor and rounded down. It is admissible if the nodes are only connected along the axes, e.g. in a grid,
+     * and if the weight of every edge is at least the scaled manhattan distance between its nodes.
+     * @param coordinates a function that returns the coordinates of a node
+     * @param scale the factor that converts a distance between coordinates to an edge weight
+     * @param <T> the type of the nodes in the graph
+     * @return Returns a heuristic that computes the scaled manhattan distance between two nodes
+     * @exception NullPointerException if coordinates is null
+     */
+    public static <T> ToLongBiFunction<T, T> manhattan(Function<? super T, double[]> coordinates, double scale) {
+        Objects.requireNonNull(coordinates);
+        return (a, b) -> {
+            double[] aCoordinates = coordinates.apply(a);
+            double[] bCoordinates = coordinates.apply(b);
+            double sum = 0;
+            for (int i = 0; i < aCoordinates.length; i++)
+                sum += Math.abs(aCoordinates[i] - bCoordinates[i]);
+            return (long) Math.floor(sum * scale);
+        };
+    }
+
+    /**
+     * Returns a heuristic that computes the great-circle distance in meters between two nodes on the earth multiplied
+     * by a scale factor and rounded down. It is admissible if the weight of every edge is at least the scaled
+     * great-circle distance between its nodes.
+     * @param latitudeLongitude a function that returns the latitude and the longitude of a node in degrees
+     * @param scale the factor that converts a distance in meters to an edge weight
+     * @param <T> the type of the nodes in the graph
+     * @return Returns a heuristic that computes the scaled great-circle distance between two nodes
+     * @exception NullPointerException if latitudeLongitude is null
+     */
+    public static <T> ToLongBiFunction<T, T> haversine(Function<? super T, double[]> latitudeLongitude, double scale) {
+        Objects.requireNonNull(latitudeLongitude);
+        return (a, b) -> {
+            double[] aCoordinates = latitudeLongitude.apply(a);
+            double[] bCoordinates = latitudeLongitude.apply(b);
+            double lat1 = Math.toRadians(aCoordinates[0]);
+            double lat2 = Math.toRadians(bCoordinates[0]);
+            double sinLat = Math.sin((lat2 - lat1) / 2);
+            double sinLon = Math.sin(Math.toRadians(bCoordinates[1] - aCoordinates[1]) / 2);
+            double h = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLon * sinLon;
+            double distance = 2 * EARTH_RADIUS_IN_METERS * Math.asin(Math.min(1, Math.sqrt(h)));
+            return (long) Math.floor(distance * scale);
+        };
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        Search search = new Search(from, to);
+        long distance = search.distances[graph.getId(to)];
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        Search search = new Search(from, to);
+        int current = graph.getId(to);
+        if (search.distances[current] == Long.MAX_VALUE)
+            return null;
+
+        LinkedList<T> path = new LinkedList<>();
+        while (current >= 0) {
+            path.addFirst(graph.getNode(current));
+            current = search.previous[current];
+        }
+
+        return path;
+    }
+
+    private final class Search {
+
+        private final long[] distances;
+        private final int[] previous;
+        private final long[] estimates;
+
+        private Search(T from, T to) {
+            checkForNegativeEdgeWeightsOnce();
+
+            int size = graph.size();
+            distances = new long[size];
+            previous = new int[size];
+            estimates = new long[size];
+            Arrays.fill(distances, Long.MAX_VALUE);
+            Arrays.fill(previous, -1);
+            Arrays.fill(estimates, -1);
+
+            IndexedDaryHeap priorityQueue = new IndexedDaryHeap(size);
+            int fromId = graph.getId(from);
+            int toId = graph.getId(to);
+            distances[fromId] = 0;
+            priorityQueue.insert(fromId, estimate(fromId, to));
+
+            while (!priorityQueue.isEmpty()) {
+                int nodeId = priorityQueue.deleteMin();
+                if (nodeId == toId)
+                    break;
+
+                long nodeDist = distances[nodeId];
+                T node = graph.getNode(nodeId);
+                for (T succ : graph.getSuccessors(node)) {
+                    long edgeWeight = graph.getEdgeWeight(node, succ);
+                    int succId = graph.getId(succ);
+                    if (checkConsistency && estimate(nodeId, to) > edgeWeight + estimate(succId, to))
+                        throw new IllegalArgumentException("The heuristic is not consistent for the edge from " + node
+                                + " to " + succ);
+                    //A node whose distance decreases is (re)inserted, so admissible heuristics that are not consistent work as well
+                    if (nodeDist + edgeWeight < distances[succId]) {
+                        distances[succId] = nodeDist + edgeWeight;
+                        previous[succId] = nodeId;
+                        priorityQueue.insertOrDecreaseKey(succId, nodeDist + edgeWeight + estimate(succId, to));
+                    }
+                }
+            }
+        }
+
+        private long estimate(int nodeId, T to) {
+            if (estimates[nodeId] < 0)
+                estimates[nodeId] = Math.min(MAX_ESTIMATE, Math.max(0, heuristic.applyAsLong(graph.getNode(nodeId), to)));
+            return estimates[nodeId];
+        }
+    }
+}
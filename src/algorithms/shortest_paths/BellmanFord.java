@@ -2,15 +2,13 @@ package algorithms.shortest_paths;
 
 import datastructures.graph.Graph;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * An Implementation of the ShortestPathCalculator that uses the Bellman-Ford algorithm to compute the shortest paths
  * in a graph without negative cycles. In general, if |V| denotes the number of nodes in the graph and |E| the number of
- * edges, then the shortest paths are computed in O(|V|^3)
+ * edges, then the shortest paths are computed in O(|V|^3). If a negative cycle is reachable from the start node, then a
+ * NegativeCycleException with the nodes of the cycle is thrown.
  * @param <T> the type of the nodes in the graph
  */
 public class BellmanFord<T> extends ShortestPathCalculator<T>{
@@ -33,21 +31,17 @@ public class BellmanFord<T> extends ShortestPathCalculator<T>{
     }
 
     protected Long getWeightOfShortestPathSub(T from, T to){
-        if(start == null || start != from){
-            start = from;
+        if(start == null || !start.equals(from))
             computeShortestPaths(from);
-        }
 
         return distances.get(to);
     }
 
     protected List<T> getShortestPathSub(T from, T to){
-        if(start == null || !start.equals(from)){
-            start = from;
-            computeShortestPaths(start);
-        }
+        if(start == null || !start.equals(from))
+            computeShortestPaths(from);
 
-        if(previous.get(to) == null)
+        if(!distances.containsKey(to))
             return null;
         List<T> path = new LinkedList<>();
         T current = to;
@@ -60,6 +54,8 @@ public class BellmanFord<T> extends ShortestPathCalculator<T>{
     }
 
     private void computeShortestPaths(T start){
+        //The start is only remembered once the search succeeded, so a negative cycle is reported again
+        this.start = null;
         distances.clear();
         previous.clear();
         distances.put(start, 0L);
@@ -86,9 +82,27 @@ public class BellmanFord<T> extends ShortestPathCalculator<T>{
                 Long nodeDist = distances.get(node);
                 Long currentDist = distances.getOrDefault(succ, Long.MAX_VALUE);
                 if(nodeDist != null && currentDist > nodeDist + edgeWeight) {
-                    throw new RuntimeException("The graph contains a negative cycle");
+                    previous.put(succ, node);
+                    throw new NegativeCycleException(findCycle(succ));
                 }
             }
         }
+        this.start = start;
+    }
+
+    /*
+     * Following the predecessors from a node that can still be relaxed after |V| - 1 passes leads onto a negative cycle
+     */
+    private List<T> findCycle(T node){
+        Set<T> visited = new HashSet<>();
+        while(visited.add(node))
+            node = previous.get(node);
+        LinkedList<T> cycle = new LinkedList<>();
+        T current = node;
+        do{
+            cycle.addFirst(current);
+            current = previous.get(current);
+        }while(!current.equals(node));
+        return cycle;
     }
 }
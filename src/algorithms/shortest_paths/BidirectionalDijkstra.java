@@ -0,0 +1,128 @@
+package algorithms.shortest_paths;
+
+import datastructures.IndexedDaryHeap;
+import datastructures.graph.Graph;
+
+import java.util.*;
+
+/**
+ * An Implementation of the ShortestPathCalculator that uses the bidirectional Dijkstra algorithm to compute shortest
+ * paths in a graph without negative edge weights. A forward search from the start node along the successors and a
+ * backward search from the target node along the predecessors are run alternately. Whenever an edge connects the two
+ * search spaces, the weight of the path through it is an upper bound mu for the shortest path, and the searches stop
+ * as soon as the sum of the smallest priorities in both heaps is at least mu. The path is then reconstructed by joining
+ * both half-paths. Since both searches only have to explore a ball of about half the distance, this usually settles
+ * far fewer nodes than a unidirectional search for point-to-point queries. In contrast to the Dijkstra implementation,
+ * no state is kept between queries.
+ * @param <T> the type of the nodes in the graph
+ */
+public class BidirectionalDijkstra<T> extends ShortestPathCalculator<T> {
+
+    /**
+     * Creates an instance for computing shortest paths in a graph via the bidirectional Dijkstra algorithm. Note that
+     * the graph must not contain negative edge weights.
+     * @param graph the graph the shortest paths will be calculated on
+     * @exception NullPointerException if the graph is null
+     */
+    public BidirectionalDijkstra(Graph<T> graph) {
+        super(graph);
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        Search search = new Search(from, to);
+        return search.mu == Long.MAX_VALUE ? null : search.mu;
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        Search search = new Search(from, to);
+        if (search.mu == Long.MAX_VALUE)
+            return null;
+
+        LinkedList<T> path = new LinkedList<>();
+        for (int current = search.meetingNode; current >= 0; current = search.forward.previous[current])
+            path.addFirst(graph.getNode(current));
+        for (int current = search.backward.previous[search.meetingNode]; current >= 0; current = search.backward.previous[current])
+            path.addLast(graph.getNode(current));
+
+        return path;
+    }
+
+    private final class Search {
+
+        private final Direction forward;
+        private final Direction backward;
+        private long mu;
+        private int meetingNode;
+
+        private Search(T from, T to) {
+            checkForNegativeEdgeWeightsOnce();
+
+            int size = graph.size();
+            forward = new Direction(size, graph.getId(from), true);
+            backward = new Direction(size, graph.getId(to), false);
+            mu = Long.MAX_VALUE;
+            meetingNode = -1;
+            if (from.equals(to)) {
+                mu = 0;
+                meetingNode = forward.startId;
+                return;
+            }
+
+            while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+                long forwardMin = forward.heap.minKey();
+                long backwardMin = backward.heap.minKey();
+                if (mu != Long.MAX_VALUE && forwardMin + backwardMin >= mu)
+                    break;
+
+                if (forwardMin <= backwardMin)
+                    expand(forward, backward);
+                else
+                    expand(backward, forward);
+            }
+        }
+
+        private void expand(Direction direction, Direction other) {
+            int nodeId = direction.heap.deleteMin();
+            long nodeDist = direction.distances[nodeId];
+            T node = graph.getNode(nodeId);
+            Set<T> neighbours = direction.isForward ? graph.getSuccessors(node) : graph.getPredecessors(node);
+            for (T neighbour : neighbours) {
+                long edgeWeight = direction.isForward ? graph.getEdgeWeight(node, neighbour) : graph.getEdgeWeight(neighbour, node);
+                int neighbourId = graph.getId(neighbour);
+                long neighbourDist = nodeDist + edgeWeight;
+                if (neighbourDist < direction.distances[neighbourId]) {
+                    direction.distances[neighbourId] = neighbourDist;
+                    direction.previous[neighbourId] = nodeId;
+                    direction.heap.insertOrDecreaseKey(neighbourId, neighbourDist);
+                }
+
+                long otherDist = other.distances[neighbourId];
+                if (otherDist != Long.MAX_VALUE && direction.distances[neighbourId] + otherDist < mu) {
+                    mu = direction.distances[neighbourId] + otherDist;
+                    meetingNode = neighbourId;
+                }
+            }
+        }
+    }
+
+    private static final class Direction {
+
+        private final long[] distances;
+        private final int[] previous;
+        private final IndexedDaryHeap heap;
+        private final int startId;
+        private final boolean isForward;
+
+        private Direction(int size, int startId, boolean isForward) {
+            distances = new long[size];
+            previous = new int[size];
+            Arrays.fill(distances, Long.MAX_VALUE);
+            Arrays.fill(previous, -1);
+            heap = new IndexedDaryHeap(size);
+            distances[startId] = 0;
+            heap.insert(startId, 0);
+            this.startId = startId;
+            this.isForward = isForward;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Answers neighbourhood queries like "all nodes within k hops" or "all nodes within distance d" of a start node. In
+ * contrast to a full breadth-first-search or a full run of the Dijkstra algorithm, the search stops expanding nodes at
+ * the limit, so the runtime only depends on the size of the neighbourhood. The working memory of a search is taken from
+ * a pool and returned afterwards, so an instance can be shared by several threads and repeated queries do not allocate
+ * memory of the size of the graph. Note that the graph must not be changed while a query is running.
+ * @param <T> the type of the nodes in the graph
+ */
+public class BoundedSearch<T> {
+
+    private final Graph<T> graph;
+    private final SearchScratchPool scratchPool;
+
+    /**
+     * Creates an instance for answering neighbourhood queries on the graph
+     * @param graph the graph the queries are answered on
+     * @exception NullPointerException if the graph is null
+     */
+    public BoundedSearch(Graph<T> graph){
+        Objects.requireNonNull(graph);
+        this.graph = graph;
+        scratchPool = new SearchScratchPool();
+    }
+
+    /**
+     * Returns all nodes that can be reached from the node start via at most maxHops edges, including start itself. The
+     * nodes are ordered by their number of hops and the distances of the result are the numbers of hops.
+     * @param start the node the search is started at
+     * @param maxHops the maximum number of edges on a path from start to a returned node
+     * @return Returns all nodes that can be reached from the node start via at most maxHops edges
+     * @exception NullPointerException if start is null
+     * @exception IllegalArgumentException if start is not in the graph or if maxHops is negative
+     */
+    public Neighbourhood getNodesWithinHops(T start, int maxHops){
+        checkStart(start);
+        if(maxHops < 0)
+            throw new IllegalArgumentException("The number of hops must not be negative");
+
+        SearchScratch scratch = scratchPool.acquire();
+        try{
+            scratch.begin(graph.size());
+            int startId = graph.getId(start);
+            scratch.reach(startId, 0);
+            scratch.queue[0] = startId;
+            int head = 0;
+            int tail = 1;
+            while(head < tail){
+                int id = scratch.queue[head++];
+                long hops = scratch.distances[id];
+                if(hops == maxHops)
+                    continue;
+                for(T succ : graph.getSuccessors(graph.getNode(id))){
+                    int succId = graph.getId(succ);
+                    if(!scratch.isReached(succId)){
+                        scratch.reach(succId, hops + 1);
+                        scratch.queue[tail++] = succId;
+                    }
+                }
+            }
+
+            return new Neighbourhood(scratch, tail);
+        }
+        finally{
+            scratchPool.release(scratch);
+        }
+    }
+
+    /**
+     * Returns all nodes whose shortest path from the node start has a weight of at most maxDistance, including start
+     * itself. The nodes are ordered by their distance and the distances of the result are the weights of the shortest
+     * paths. Note that the graph must not contain negative edge weights.
+     * @param start the node the search is started at
+     * @param maxDistance the maximum weight of a shortest path from start to a returned node
+     * @return Returns all nodes whose shortest path from the node start has a weight of at most maxDistance
+     * @exception NullPointerException if start is null
+     * @exception IllegalArgumentException if start is not in the graph or if maxDistance is negative
+     * @exception RuntimeException if the search encounters an edge with negative weight
+     */
+    public Neighbourhood getNodesWithinDistance(T start, long maxDistance){
+        checkStart(start);
+        if(maxDistance < 0)
+            throw new IllegalArgumentException("The distance must not be negative");
+
+        SearchScratch scratch = scratchPool.acquire();
+        try{
+            scratch.begin(graph.size());
+            int startId = graph.getId(start);
+            scratch.reach(startId, 0);
+            scratch.push(startId, 0);
+            int settled = 0;
+            while(!scratch.isHeapEmpty()){
+                long dist = scratch.peekKey();
+                int id = scratch.pop();
+                if(dist > scratch.distances[id])
+                    continue;
+                scratch.queue[settled++] = id;
+                T node = graph.getNode(id);
+                for(T succ : graph.getSuccessors(node)){
+                    long edgeWeight = graph.getEdgeWeight(node, succ);
+                    if(edgeWeight < 0)
+                        throw new RuntimeException("Graph must not contain negative weight edges");
+                    int succId = graph.getId(succ);
+                    long succDist = dist + edgeWeight;
+                    if(succDist <= maxDistance && succDist < scratch.getDistance(succId)){
+                        scratch.reach(succId, succDist);
+                        scratch.push(succId, succDist);
+                    }
+                }
+            }
+
+            return new Neighbourhood(scratch, settled);
+        }
+        finally{
+            scratchPool.release(scratch);
+        }
+    }
+
+    private void checkStart(T start){
+        Objects.requireNonNull(start);
+        if(!graph.contains(start))
+            throw new IllegalArgumentException(start + " is not contained in the graph!");
+    }
+
+    /**
+     * The result of a neighbourhood query, i.e. the IDs of the found nodes (see Graph.getId) together with their
+     * distances from the start node. The i-th distance belongs to the i-th ID.
+     */
+    public static final class Neighbourhood {
+
+        private final int[] ids;
+        private final long[] distances;
+
+        private Neighbourhood(SearchScratch scratch, int size){
+            ids = Arrays.copyOf(scratch.queue, size);
+            distances = new long[size];
+            for(int i = 0; i < size; i++)
+                distances[i] = scratch.distances[ids[i]];
+        }
+
+        /**
+         * Returns the number of found nodes
+         * @return Returns the number of found nodes
+         */
+        public int size(){
+            return ids.length;
+        }
+
+        /**
+         * Returns the IDs of the found nodes
+         * @return Returns the IDs of the found nodes
+         */
+        public int[] getIds(){
+            return ids;
+        }
+
+        /**
+         * Returns the distances of the found nodes from the start node
+         * @return Returns the distances of the found nodes from the start node
+         */
+        public long[] getDistances(){
+            return distances;
+        }
+    }
+}
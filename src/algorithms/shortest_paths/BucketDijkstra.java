@@ -0,0 +1,150 @@
+package algorithms.shortest_paths;
+
+import datastructures.BucketQueue;
+import datastructures.IndexedPriorityQueue;
+import datastructures.RadixHeap;
+import datastructures.graph.Graph;
+
+import java.util.*;
+
+/**
+ * An Implementation of the ShortestPathCalculator that uses the Dijkstra algorithm with a monotone integer priority
+ * queue instead of a comparison based heap. Since the edge weights are non-negative integers, the priority of every
+ * node that is inserted into the queue is at least the priority of the last settled node, so a bucket queue (Dial's
+ * algorithm, O(|E| + |V|*C) for a maximum edge weight C) or a radix heap (O(|E| + |V|log(C))) can be used. By default,
+ * the queue is selected by the maximum edge weight in the graph. The search stops as soon as the target node is
+ * settled and, in contrast to the Dijkstra implementation, no state is kept between queries.
+ * @param <T> the type of the nodes in the graph
+ */
+public class BucketDijkstra<T> extends ShortestPathCalculator<T> {
+
+    /**
+     * The maximum edge weight up to which the AUTO strategy uses a bucket queue and the DIAL strategy can be used
+     */
+    public static final int MAX_BUCKET_QUEUE_WEIGHT = 1 << 16;
+
+    /**
+     * The priority queues that can be used for the search
+     */
+    public enum Strategy {
+        /**
+         * A bucket queue is used if the maximum edge weight is at most MAX_BUCKET_QUEUE_WEIGHT, otherwise a radix heap
+         */
+        AUTO,
+        /**
+         * A bucket queue with one bucket for every possible edge weight is used (Dial's algorithm). Since the buckets
+         * are allocated for every query, the maximum edge weight must be at most MAX_BUCKET_QUEUE_WEIGHT.
+         */
+        DIAL,
+        /**
+         * A radix heap is used
+         */
+        RADIX_HEAP
+    }
+
+    private final Strategy strategy;
+    private int maxEdgeWeight = -1;
+
+    /**
+     * Creates an instance for computing shortest paths in a graph via the Dijkstra algorithm, where the priority queue
+     * is selected by the maximum edge weight. Note that the graph must not contain negative edge weights.
+     * @param graph the graph the shortest paths will be calculated on
+     * @exception NullPointerException if the graph is null
+     */
+    public BucketDijkstra(Graph<T> graph) {
+        this(graph, Strategy.AUTO);
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a graph via the Dijkstra algorithm with the specified
+     * priority queue. Note that the graph must not contain negative edge weights and that the queries throw an
+     * IllegalArgumentException if the DIAL strategy is used on a graph with an edge weight above
+     * MAX_BUCKET_QUEUE_WEIGHT.
+     * @param graph the graph the shortest paths will be calculated on
+     * @param strategy the priority queue that is used
+     * @exception NullPointerException if the graph or the strategy is null
+     */
+    public BucketDijkstra(Graph<T> graph, Strategy strategy) {
+        super(graph);
+        Objects.requireNonNull(strategy);
+        this.strategy = strategy;
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        Search search = new Search(from, to);
+        long distance = search.distances[graph.getId(to)];
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        Search search = new Search(from, to);
+        int current = graph.getId(to);
+        if (search.distances[current] == Long.MAX_VALUE)
+            return null;
+
+        LinkedList<T> path = new LinkedList<>();
+        while (current >= 0) {
+            path.addFirst(graph.getNode(current));
+            current = search.previous[current];
+        }
+
+        return path;
+    }
+
+    private IndexedPriorityQueue createQueue() {
+        if (strategy == Strategy.DIAL && maxEdgeWeight > MAX_BUCKET_QUEUE_WEIGHT)
+            throw new IllegalArgumentException("The maximum edge weight " + maxEdgeWeight
+                    + " is too large for a bucket queue");
+        boolean useBuckets = strategy == Strategy.DIAL
+                || (strategy == Strategy.AUTO && maxEdgeWeight <= MAX_BUCKET_QUEUE_WEIGHT);
+        return useBuckets ? new BucketQueue(graph.size(), maxEdgeWeight) : new RadixHeap(graph.size());
+    }
+
+    private final class Search {
+
+        private final long[] distances;
+        private final int[] previous;
+
+        private Search(T from, T to) {
+            checkForNegativeEdgeWeightsOnce();
+            //The graph must not be changed between calls, so the maximum edge weight only has to be computed once
+            if (maxEdgeWeight < 0) {
+                maxEdgeWeight = 0;
+                for (T node : graph.getNodes()) {
+                    for (T succ : graph.getSuccessors(node))
+                        maxEdgeWeight = Math.max(maxEdgeWeight, graph.getEdgeWeight(node, succ));
+                }
+            }
+
+            int size = graph.size();
+            distances = new long[size];
+            previous = new int[size];
+            Arrays.fill(distances, Long.MAX_VALUE);
+            Arrays.fill(previous, -1);
+
+            IndexedPriorityQueue priorityQueue = createQueue();
+            int fromId = graph.getId(from);
+            int toId = graph.getId(to);
+            distances[fromId] = 0;
+            priorityQueue.insert(fromId, 0);
+
+            while (!priorityQueue.isEmpty()) {
+                int nodeId = priorityQueue.deleteMin();
+                if (nodeId == toId)
+                    break;
+
+                long nodeDist = distances[nodeId];
+                T node = graph.getNode(nodeId);
+                for (T succ : graph.getSuccessors(node)) {
+                    int succId = graph.getId(succ);
+                    long succDist = nodeDist + graph.getEdgeWeight(node, succ);
+                    if (succDist < distances[succId]) {
+                        distances[succId] = succDist;
+                        previous[succId] = nodeId;
+                        priorityQueue.insertOrDecreaseKey(succId, succDist);
+                    }
+                }
+            }
+        }
+    }
+}
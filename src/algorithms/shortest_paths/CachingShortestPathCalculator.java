@@ -0,0 +1,165 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A ShortestPathCalculator that keeps the shortest path trees of the most recently queried start nodes, so queries that
+ * alternate between a few start nodes do not recompute the shortest paths every time. The trees are computed by a
+ * calculator that is created by the specified factory, e.g. Dijkstra::new. A tree stores the weights and predecessors
+ * in primitive arrays, which take up 12 bytes per node. At most the specified number of trees are kept, and if a byte
+ * budget is specified, then the total size of the trees does not exceed it either. If a new tree does not fit, then
+ * the least recently used trees are evicted, and a tree that is larger than the budget on its own is not kept at all.
+ * In contrast to the other calculators, the graph may be changed between queries: all trees are discarded and a new
+ * calculator is created as soon as the modification count of the graph has changed.
+ * @param <T> the type of the nodes in the graph
+ */
+public class CachingShortestPathCalculator<T> extends ShortestPathCalculator<T> {
+
+    private final Function<Graph<T>, ? extends ShortestPathCalculator<T>> factory;
+    private final int maxTrees;
+    private final long maxBytes;
+    private final LinkedHashMap<T, ShortestPathTree<T>> trees;
+    private ShortestPathCalculator<T> calculator;
+    private long modificationCount;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an instance that keeps at most maxTrees shortest path trees that are computed by calculators created by
+     * the factory
+     * @param graph the graph the shortest paths will be calculated on
+     * @param factory the factory that creates a calculator for the graph
+     * @param maxTrees the maximal number of trees that are kept
+     * @exception NullPointerException if the graph or the factory is null
+     * @exception IllegalArgumentException if maxTrees is not positive
+     */
+    public CachingShortestPathCalculator(Graph<T> graph, Function<Graph<T>, ? extends ShortestPathCalculator<T>> factory,
+                                         int maxTrees) {
+        this(graph, factory, maxTrees, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates an instance that keeps at most maxTrees shortest path trees with a total size of at most maxBytes bytes
+     * that are computed by calculators created by the factory
+     * @param graph the graph the shortest paths will be calculated on
+     * @param factory the factory that creates a calculator for the graph
+     * @param maxTrees the maximal number of trees that are kept
+     * @param maxBytes the maximal total size of the trees that are kept in bytes
+     * @exception NullPointerException if the graph or the factory is null
+     * @exception IllegalArgumentException if maxTrees or maxBytes is not positive
+     */
+    public CachingShortestPathCalculator(Graph<T> graph, Function<Graph<T>, ? extends ShortestPathCalculator<T>> factory,
+                                         int maxTrees, long maxBytes) {
+        super(graph);
+        Objects.requireNonNull(factory);
+        if (maxTrees <= 0)
+            throw new IllegalArgumentException("maxTrees must be positive");
+        if (maxBytes <= 0)
+            throw new IllegalArgumentException("maxBytes must be positive");
+        this.factory = factory;
+        this.maxTrees = maxTrees;
+        this.maxBytes = maxBytes;
+        //Access order, so the eldest entry is the least recently used tree
+        trees = new LinkedHashMap<>(16, 0.75f, true);
+        modificationCount = graph.getModificationCount();
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        return getTree(from).getWeightOfShortestPath(to);
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        return getTree(from).getShortestPath(to);
+    }
+
+    protected ShortestPathTree<T> getShortestPathTreeSub(T from) {
+        return getTree(from);
+    }
+
+    /**
+     * Returns the number of queries that were answered by a tree that was kept
+     * @return Returns the number of queries that were answered by a tree that was kept
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of queries that needed a new tree to be computed
+     * @return Returns the number of queries that needed a new tree to be computed
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of trees that were discarded to make room for newer trees. Trees that are discarded because
+     * the graph has changed are not counted.
+     * @return Returns the number of trees that were discarded to make room for newer trees
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of trees that are kept at the moment
+     * @return Returns the number of trees that are kept at the moment
+     */
+    public int getNumberOfTrees() {
+        return trees.size();
+    }
+
+    /**
+     * Returns the estimated total size of the trees that are kept at the moment in bytes
+     * @return Returns the estimated total size of the trees that are kept at the moment in bytes
+     */
+    public long getSizeInBytes() {
+        return bytes;
+    }
+
+    /**
+     * Discards all trees and the calculator, so the next query recomputes the shortest paths. This is done
+     * automatically when the graph is changed, and only has to be called if the factory creates calculators that
+     * depend on other state.
+     */
+    public void invalidate() {
+        trees.clear();
+        bytes = 0;
+        calculator = null;
+        modificationCount = graph.getModificationCount();
+    }
+
+    private ShortestPathTree<T> getTree(T from) {
+        if (graph.getModificationCount() != modificationCount)
+            invalidate();
+
+        ShortestPathTree<T> tree = trees.get(from);
+        if (tree != null) {
+            hits++;
+            return tree;
+        }
+
+        misses++;
+        if (calculator == null)
+            calculator = factory.apply(graph);
+        tree = calculator.getShortestPathTree(from);
+        long treeBytes = tree.getSizeInBytes();
+        if (treeBytes > maxBytes)
+            return tree;
+
+        Iterator<ShortestPathTree<T>> eldest = trees.values().iterator();
+        while (trees.size() >= maxTrees || bytes + treeBytes > maxBytes) {
+            bytes -= eldest.next().getSizeInBytes();
+            eldest.remove();
+            evictions++;
+        }
+        trees.put(from, tree);
+        bytes += treeBytes;
+        return tree;
+    }
+}
@@ -0,0 +1,539 @@
+package algorithms.shortest_paths;
+
+import datastructures.IndexedDaryHeap;
+import datastructures.graph.Graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * An Implementation of the ShortestPathCalculator that uses Contraction Hierarchies to answer shortest path queries in
+ * a graph without negative edge weights. In a preprocessing step, the nodes are contracted one after another: a node is
+ * removed from the graph and for every pair of neighbours u, w whose shortest path runs through the node, a shortcut
+ * edge from u to w is inserted, unless a witness search finds another path that is at most as short. The nodes are
+ * contracted in the order of their edge difference (the number of shortcuts minus the number of removed edges plus
+ * the number of already contracted neighbours), which is updated lazily whenever a node is taken from the queue. The
+ * initial priorities are computed in parallel. A query then runs a bidirectional Dijkstra search that only follows
+ * edges towards nodes that were contracted later, which settles very few nodes even in large road networks. Shortcuts
+ * in the resulting path are unpacked into the original edges. The hierarchy can be written to and read from a stream,
+ * so the preprocessing does not have to be repeated for the same graph. An instance can be shared by several threads.
+ * Note that the graph must not be changed after the preprocessing, because then the results might not reflect the
+ * changes made in the graph.
+ * @param <T> the type of the nodes in the graph
+ */
+public class ContractionHierarchies<T> extends ShortestPathCalculator<T> {
+
+    private static final int MAGIC = 0x43484931;
+    private static final int WITNESS_SEARCH_LIMIT = 500;
+
+    private final int[] ranks;
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final long[] upWeights;
+    private final int[] upMiddles;
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final long[] downWeights;
+    private final int[] downMiddles;
+    private final SearchScratchPool scratchPool;
+
+    /**
+     * Creates an instance for computing shortest paths in a graph via Contraction Hierarchies and runs the
+     * preprocessing. Note that the graph must not contain negative edge weights.
+     * @param graph the graph the shortest paths will be calculated on
+     * @exception NullPointerException if the graph is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public ContractionHierarchies(Graph<T> graph) {
+        super(graph);
+        checkForNegativeEdgeWeights();
+        scratchPool = new SearchScratchPool();
+
+        Contraction contraction = new Contraction();
+        contraction.run();
+        ranks = contraction.ranks;
+
+        int size = graph.size();
+        upOffsets = new int[size + 1];
+        downOffsets = new int[size + 1];
+        for (int u = 0; u < size; u++) {
+            EdgeList edges = contraction.outEdges[u];
+            for (int i = 0; i < edges.size; i++) {
+                int w = edges.nodes[i];
+                if (ranks[w] > ranks[u])
+                    upOffsets[u + 1]++;
+                else if (ranks[w] < ranks[u])
+                    downOffsets[w + 1]++;
+            }
+        }
+        for (int u = 0; u < size; u++) {
+            upOffsets[u + 1] += upOffsets[u];
+            downOffsets[u + 1] += downOffsets[u];
+        }
+        upTargets = new int[upOffsets[size]];
+        upWeights = new long[upOffsets[size]];
+        upMiddles = new int[upOffsets[size]];
+        downSources = new int[downOffsets[size]];
+        downWeights = new long[downOffsets[size]];
+        downMiddles = new int[downOffsets[size]];
+        int[] upNext = Arrays.copyOf(upOffsets, size);
+        int[] downNext = Arrays.copyOf(downOffsets, size);
+        for (int u = 0; u < size; u++) {
+            EdgeList edges = contraction.outEdges[u];
+            for (int i = 0; i < edges.size; i++) {
+                int w = edges.nodes[i];
+                if (ranks[w] > ranks[u]) {
+                    int e = upNext[u]++;
+                    upTargets[e] = w;
+                    upWeights[e] = edges.weights[i];
+                    upMiddles[e] = edges.middles[i];
+                }
+                else if (ranks[w] < ranks[u]) {
+                    int e = downNext[w]++;
+                    downSources[e] = u;
+                    downWeights[e] = edges.weights[i];
+                    downMiddles[e] = edges.middles[i];
+                }
+            }
+        }
+    }
+
+    private ContractionHierarchies(Graph<T> graph, int[] ranks, int[] upOffsets, int[] upTargets, long[] upWeights,
+                                   int[] upMiddles, int[] downOffsets, int[] downSources, long[] downWeights,
+                                   int[] downMiddles) {
+        super(graph);
+        this.ranks = ranks;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+        scratchPool = new SearchScratchPool();
+    }
+
+    /**
+     * Returns the position of the node in the contraction order, i.e. nodes with a higher rank are more important
+     * @param node the node whose rank is to be returned
+     * @return Returns the position of the node in the contraction order
+     * @exception NullPointerException if the node is null
+     * @exception IllegalArgumentException if the node is not in the graph
+     */
+    public int getRank(T node) {
+        return ranks[graph.getId(node)];
+    }
+
+    /**
+     * Returns the number of edges in the hierarchy, i.e. the number of original edges plus the number of shortcuts
+     * @return Returns the number of edges in the hierarchy
+     */
+    public int getNumberOfEdges() {
+        return upTargets.length + downSources.length;
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        SearchScratch forward = scratchPool.acquire();
+        SearchScratch backward = scratchPool.acquire();
+        try {
+            int meetingNode = search(graph.getId(from), graph.getId(to), forward, backward);
+            return meetingNode < 0 ? null : forward.distances[meetingNode] + backward.distances[meetingNode];
+        }
+        finally {
+            scratchPool.release(forward);
+            scratchPool.release(backward);
+        }
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        SearchScratch forward = scratchPool.acquire();
+        SearchScratch backward = scratchPool.acquire();
+        try {
+            int meetingNode = search(graph.getId(from), graph.getId(to), forward, backward);
+            if (meetingNode < 0)
+                return null;
+
+            LinkedList<Integer> hierarchyPath = new LinkedList<>();
+            for (int current = meetingNode; current >= 0; current = forward.previous[current])
+                hierarchyPath.addFirst(current);
+            for (int current = backward.previous[meetingNode]; current >= 0; current = backward.previous[current])
+                hierarchyPath.addLast(current);
+
+            List<T> path = new ArrayList<>();
+            Iterator<Integer> iterator = hierarchyPath.iterator();
+            int previous = iterator.next();
+            path.add(graph.getNode(previous));
+            while (iterator.hasNext()) {
+                int next = iterator.next();
+                unpack(previous, next, path);
+                previous = next;
+            }
+            return path;
+        }
+        finally {
+            scratchPool.release(forward);
+            scratchPool.release(backward);
+        }
+    }
+
+    /*
+     * Runs the bidirectional upward search and returns the node where the shortest path meets or -1 if there is no path
+     */
+    private int search(int fromId, int toId, SearchScratch forward, SearchScratch backward) {
+        int size = graph.size();
+        forward.begin(size);
+        backward.begin(size);
+        forward.reach(fromId, 0, -1);
+        forward.push(fromId, 0);
+        backward.reach(toId, 0, -1);
+        backward.push(toId, 0);
+
+        long best = Long.MAX_VALUE;
+        int meetingNode = -1;
+        while (true) {
+            long forwardMin = forward.peekKey();
+            long backwardMin = backward.peekKey();
+            if (Math.min(forwardMin, backwardMin) >= best)
+                break;
+
+            boolean isForward = forwardMin <= backwardMin;
+            SearchScratch scratch = isForward ? forward : backward;
+            SearchScratch other = isForward ? backward : forward;
+            long dist = scratch.peekKey();
+            int nodeId = scratch.pop();
+            if (dist > scratch.distances[nodeId])
+                continue;
+            if (other.isReached(nodeId) && dist + other.distances[nodeId] < best) {
+                best = dist + other.distances[nodeId];
+                meetingNode = nodeId;
+            }
+
+            int[] offsets = isForward ? upOffsets : downOffsets;
+            int[] neighbours = isForward ? upTargets : downSources;
+            long[] weights = isForward ? upWeights : downWeights;
+            for (int e = offsets[nodeId]; e < offsets[nodeId + 1]; e++) {
+                int neighbour = neighbours[e];
+                long neighbourDist = dist + weights[e];
+                if (neighbourDist < scratch.getDistance(neighbour)) {
+                    scratch.reach(neighbour, neighbourDist, nodeId);
+                    scratch.push(neighbour, neighbourDist);
+                }
+            }
+        }
+
+        return meetingNode;
+    }
+
+    //Appends the original nodes of the hierarchy edge from u to w, except u itself, to the path
+    private void unpack(int u, int w, List<T> path) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{u, w});
+        while (!stack.isEmpty()) {
+            int[] edge = stack.pop();
+            int middle = getMiddle(edge[0], edge[1]);
+            if (middle < 0) {
+                path.add(graph.getNode(edge[1]));
+            }
+            else {
+                stack.push(new int[]{middle, edge[1]});
+                stack.push(new int[]{edge[0], middle});
+            }
+        }
+    }
+
+    //Returns the node a shortcut from u to w skips or -1 if the hierarchy edge from u to w is an original edge
+    private int getMiddle(int u, int w) {
+        if (ranks[w] > ranks[u]) {
+            for (int e = upOffsets[u]; e < upOffsets[u + 1]; e++) {
+                if (upTargets[e] == w)
+                    return upMiddles[e];
+            }
+        }
+        else {
+            for (int e = downOffsets[w]; e < downOffsets[w + 1]; e++) {
+                if (downSources[e] == u)
+                    return downMiddles[e];
+            }
+        }
+        throw new IllegalStateException("There is no edge from " + u + " to " + w + " in the hierarchy");
+    }
+
+    /*
+     * Runs a complete search from the node along the upward edges, or along the downward edges in reverse if forward
+     * is false. The IDs of the settled nodes are left in scratch.queue and their distances in scratch.distances, the
+     * number of settled nodes is returned.
+     */
+    int upwardSearch(int sourceId, boolean forward, SearchScratch scratch) {
+        int[] offsets = forward ? upOffsets : downOffsets;
+        int[] neighbours = forward ? upTargets : downSources;
+        long[] weights = forward ? upWeights : downWeights;
+        scratch.begin(graph.size());
+        scratch.reach(sourceId, 0);
+        scratch.push(sourceId, 0);
+        int settled = 0;
+        while (!scratch.isHeapEmpty()) {
+            long dist = scratch.peekKey();
+            int nodeId = scratch.pop();
+            if (dist > scratch.distances[nodeId])
+                continue;
+            scratch.queue[settled++] = nodeId;
+            for (int e = offsets[nodeId]; e < offsets[nodeId + 1]; e++) {
+                int neighbour = neighbours[e];
+                if (dist + weights[e] < scratch.getDistance(neighbour)) {
+                    scratch.reach(neighbour, dist + weights[e]);
+                    scratch.push(neighbour, dist + weights[e]);
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Writes the hierarchy to the output stream. The stream is not closed.
+     * @param out the stream the hierarchy is written to
+     * @exception IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(ranks.length);
+        writeArray(data, ranks);
+        writeArray(data, upOffsets);
+        writeArray(data, upTargets);
+        writeArray(data, upWeights);
+        writeArray(data, upMiddles);
+        writeArray(data, downOffsets);
+        writeArray(data, downSources);
+        writeArray(data, downWeights);
+        writeArray(data, downMiddles);
+        data.flush();
+    }
+
+    /**
+     * Reads a hierarchy that was written by writeTo for the same graph. The nodes are identified by their IDs, so the
+     * graph must have been built in the same order.
+     * @param graph the graph the hierarchy was computed for
+     * @param in the stream the hierarchy is read from
+     * @param <T> the type of the nodes in the graph
+     * @return Returns the hierarchy that was read from the stream
+     * @exception NullPointerException if the graph or the stream is null
+     * @exception IOException if an I/O error occurs or if the stream does not contain a hierarchy for a graph of this size
+     */
+    public static <T> ContractionHierarchies<T> readFrom(Graph<T> graph, InputStream in) throws IOException {
+        Objects.requireNonNull(graph);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC)
+            throw new IOException("The stream does not contain a contraction hierarchy");
+        int size = data.readInt();
+        if (size != graph.size())
+            throw new IOException("The hierarchy was computed for a graph with " + size + " nodes, but the graph has "
+                    + graph.size() + " nodes");
+        return new ContractionHierarchies<>(graph, readIntArray(data), readIntArray(data), readIntArray(data),
+                readLongArray(data), readIntArray(data), readIntArray(data), readIntArray(data), readLongArray(data),
+                readIntArray(data));
+    }
+
+    private static void writeArray(DataOutputStream data, int[] array) throws IOException {
+        data.writeInt(array.length);
+        for (int value : array)
+            data.writeInt(value);
+    }
+
+    private static void writeArray(DataOutputStream data, long[] array) throws IOException {
+        data.writeInt(array.length);
+        for (long value : array)
+            data.writeLong(value);
+    }
+
+    private static int[] readIntArray(DataInputStream data) throws IOException {
+        int[] array = new int[data.readInt()];
+        for (int i = 0; i < array.length; i++)
+            array[i] = data.readInt();
+        return array;
+    }
+
+    private static long[] readLongArray(DataInputStream data) throws IOException {
+        long[] array = new long[data.readInt()];
+        for (int i = 0; i < array.length; i++)
+            array[i] = data.readLong();
+        return array;
+    }
+
+    /*
+     * The state of the preprocessing. The edges of every node are kept in growable lists, edges to contracted nodes
+     * are skipped instead of removed. After the contraction the lists contain all original edges and all shortcuts.
+     */
+    private final class Contraction {
+
+        private final int size;
+        private final EdgeList[] outEdges;
+        private final EdgeList[] inEdges;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbours;
+        private final int[] ranks;
+        private final SearchScratchPool witnessScratchPool;
+
+        private Contraction() {
+            size = graph.size();
+            outEdges = new EdgeList[size];
+            inEdges = new EdgeList[size];
+            for (int u = 0; u < size; u++) {
+                outEdges[u] = new EdgeList();
+                inEdges[u] = new EdgeList();
+            }
+            for (int u = 0; u < size; u++) {
+                T node = graph.getNode(u);
+                for (T succ : graph.getSuccessors(node)) {
+                    int w = graph.getId(succ);
+                    if (w != u)
+                        addEdge(u, w, graph.getEdgeWeight(node, succ), -1);
+                }
+            }
+            contracted = new boolean[size];
+            contractedNeighbours = new int[size];
+            ranks = new int[size];
+            witnessScratchPool = new SearchScratchPool();
+        }
+
+        private void run() {
+            long[] priorities = IntStream.range(0, size).parallel().mapToLong(this::priority).toArray();
+            IndexedDaryHeap queue = new IndexedDaryHeap(size);
+            for (int v = 0; v < size; v++)
+                queue.insert(v, priorities[v]);
+
+            int rank = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.deleteMin();
+                long priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.minKey()) {
+                    queue.insert(v, priority);
+                    continue;
+                }
+
+                contract(v, false);
+                contracted[v] = true;
+                ranks[v] = rank++;
+                for (int i = 0; i < outEdges[v].size; i++)
+                    contractedNeighbours[outEdges[v].nodes[i]]++;
+                for (int i = 0; i < inEdges[v].size; i++)
+                    contractedNeighbours[inEdges[v].nodes[i]]++;
+            }
+        }
+
+        private long priority(int v) {
+            int removedEdges = 0;
+            for (int i = 0; i < outEdges[v].size; i++) {
+                if (!contracted[outEdges[v].nodes[i]])
+                    removedEdges++;
+            }
+            for (int i = 0; i < inEdges[v].size; i++) {
+                if (!contracted[inEdges[v].nodes[i]])
+                    removedEdges++;
+            }
+            return contract(v, true) - removedEdges + contractedNeighbours[v];
+        }
+
+        /*
+         * Inserts all necessary shortcuts for the contraction of v, or only counts them if simulate is true
+         */
+        private int contract(int v, boolean simulate) {
+            SearchScratch scratch = witnessScratchPool.acquire();
+            try {
+                int shortcuts = 0;
+                EdgeList in = inEdges[v];
+                EdgeList out = outEdges[v];
+                for (int i = 0; i < in.size; i++) {
+                    int u = in.nodes[i];
+                    if (contracted[u])
+                        continue;
+                    long maxDistance = 0;
+                    for (int j = 0; j < out.size; j++) {
+                        if (!contracted[out.nodes[j]] && out.nodes[j] != u)
+                            maxDistance = Math.max(maxDistance, in.weights[i] + out.weights[j]);
+                    }
+                    witnessSearch(u, v, maxDistance, scratch);
+                    for (int j = 0; j < out.size; j++) {
+                        int w = out.nodes[j];
+                        if (contracted[w] || w == u)
+                            continue;
+                        long viaDistance = in.weights[i] + out.weights[j];
+                        if (scratch.getDistance(w) > viaDistance) {
+                            shortcuts++;
+                            if (!simulate)
+                                addEdge(u, w, viaDistance, v);
+                        }
+                    }
+                }
+                return shortcuts;
+            }
+            finally {
+                witnessScratchPool.release(scratch);
+            }
+        }
+
+        //A Dijkstra search from u that avoids v and the contracted nodes and stops at maxDistance or the settle limit
+        private void witnessSearch(int u, int v, long maxDistance, SearchScratch scratch) {
+            scratch.begin(size);
+            scratch.reach(u, 0);
+            scratch.push(u, 0);
+            int settled = 0;
+            while (!scratch.isHeapEmpty() && settled < WITNESS_SEARCH_LIMIT) {
+                long dist = scratch.peekKey();
+                if (dist > maxDistance)
+                    break;
+                int x = scratch.pop();
+                if (dist > scratch.distances[x])
+                    continue;
+                settled++;
+                EdgeList edges = outEdges[x];
+                for (int i = 0; i < edges.size; i++) {
+                    int y = edges.nodes[i];
+                    if (y == v || contracted[y])
+                        continue;
+                    long yDist = dist + edges.weights[i];
+                    if (yDist < scratch.getDistance(y)) {
+                        scratch.reach(y, yDist);
+                        scratch.push(y, yDist);
+                    }
+                }
+            }
+        }
+
+        private void addEdge(int u, int w, long weight, int middle) {
+            outEdges[u].put(w, weight, middle);
+            inEdges[w].put(u, weight, middle);
+        }
+    }
+
+    private static final class EdgeList {
+
+        private int[] nodes = new int[4];
+        private long[] weights = new long[4];
+        private int[] middles = new int[4];
+        private int size = 0;
+
+        //Adds the edge or, if there already is an edge to the node, keeps the one with the smaller weight
+        private void put(int node, long weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+                middles = Arrays.copyOf(middles, 2 * size);
+            }
+            nodes[size] = node;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An Implementation of the ShortestPathCalculator that uses the delta-stepping algorithm to compute the shortest paths
+ * from a start node in parallel. The nodes are kept in buckets of width delta by their tentative distance. The buckets
+ * are processed in increasing order: the light edges (weight at most delta) of all nodes in the current bucket are
+ * relaxed in parallel until no node enters the bucket anymore, and then the heavy edges of all nodes that were in the
+ * bucket are relaxed in parallel. The distances are lowered by atomic compare-and-set operations, so the tasks of a
+ * fork-join pool can relax edges to the same node concurrently. The search runs on a CompactGraph snapshot. Large
+ * values of delta mean more parallel work per bucket but also more relaxations of nodes whose distance is not final
+ * yet, with Dijkstra's algorithm and Bellman-Ford as the two extremes. As the Dijkstra implementation, an instance
+ * keeps the distances from the last start node, so queries from the same start node are answered without any further
+ * search. Note that the graph must not contain negative edge weights and that changes of the graph after the creation
+ * of the snapshot are not reflected by the results.
+ * @param <T> the type of the nodes in the graph
+ */
+public class DeltaStepping<T> extends ShortestPathCalculator<T> {
+
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private final CompactGraph<T> compactGraph;
+    private final long delta;
+    private final ForkJoinPool pool;
+    private T start;
+    private long[] distances;
+    private int[] previous;
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of the graph via the delta-stepping algorithm in
+     * the common fork-join pool, where delta is the average edge weight. Note that the graph must not contain negative
+     * edge weights.
+     * @param graph the graph the shortest paths will be calculated on
+     * @exception NullPointerException if the graph is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public DeltaStepping(Graph<T> graph) {
+        this(new CompactGraph<>(graph));
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of a graph via the delta-stepping algorithm in
+     * the common fork-join pool, where delta is the average edge weight. Note that the graph must not contain negative
+     * edge weights.
+     * @param compactGraph the snapshot the shortest paths will be calculated on
+     * @exception NullPointerException if the snapshot is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public DeltaStepping(CompactGraph<T> compactGraph) {
+        this(compactGraph, getAverageEdgeWeight(compactGraph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of a graph via the delta-stepping algorithm with
+     * the specified bucket width in the specified pool. Note that the graph must not contain negative edge weights.
+     * @param compactGraph the snapshot the shortest paths will be calculated on
+     * @param delta the width of the buckets
+     * @param pool the pool the relaxations are run in
+     * @exception NullPointerException if the snapshot or the pool is null
+     * @exception IllegalArgumentException if delta is smaller than 1
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public DeltaStepping(CompactGraph<T> compactGraph, long delta, ForkJoinPool pool) {
+        super(compactGraph.getGraph());
+        Objects.requireNonNull(pool);
+        if (delta < 1)
+            throw new IllegalArgumentException("delta must be at least 1");
+        if (compactGraph.getMinEdgeWeight() < 0)
+            throw new RuntimeException("Graph must not contain negative weight edges");
+        this.compactGraph = compactGraph;
+        this.delta = delta;
+        this.pool = pool;
+    }
+
+    private static long getAverageEdgeWeight(CompactGraph<?> compactGraph) {
+        long sum = 0;
+        for (int e = 0; e < compactGraph.getNumberOfEdges(); e++)
+            sum += compactGraph.getEdgeWeight(e);
+        return Math.max(1, sum / Math.max(1, compactGraph.getNumberOfEdges()));
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the start node to all nodes, indexed by the node IDs. The weight
+     * is Long.MAX_VALUE if there is no path.
+     * @param from the start node
+     * @return Returns the weights of the shortest paths from the start node to all nodes
+     * @exception NullPointerException if from is null
+     * @exception IllegalArgumentException if from is not contained in the snapshot of the graph
+     */
+    public long[] getDistances(T from) {
+        Objects.requireNonNull(from);
+        if (!graph.contains(from))
+            throw new IllegalArgumentException(from + " is not contained in the graph!");
+        search(from);
+        return distances.clone();
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        int toId = compactGraph.getId(to);
+        search(from);
+        long distance = distances[toId];
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        int current = compactGraph.getId(to);
+        search(from);
+        if (distances[current] == Long.MAX_VALUE)
+            return null;
+        if (previous == null)
+            previous = buildShortestPathTree(compactGraph.getId(from));
+
+        LinkedList<T> path = new LinkedList<>();
+        while (current >= 0) {
+            path.addFirst(compactGraph.getNode(current));
+            current = previous[current];
+        }
+
+        return path;
+    }
+
+    private void search(T from) {
+        if (from.equals(start))
+            return;
+
+        int size = compactGraph.size();
+        AtomicLongArray tentative = new AtomicLongArray(size);
+        for (int id = 0; id < size; id++)
+            tentative.set(id, Long.MAX_VALUE);
+        int sourceId = compactGraph.getId(from);
+        tentative.set(sourceId, 0);
+
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        IntList first = new IntList();
+        first.add(sourceId);
+        buckets.put(0L, first);
+        //Stamps to remove duplicates from the frontiers and the set of nodes that were in the current bucket
+        int[] frontierStamps = new int[size];
+        int[] bucketStamps = new int[size];
+        int frontierStamp = 0;
+        int bucketStamp = 0;
+
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, IntList> entry = buckets.pollFirstEntry();
+            long bucket = entry.getKey();
+            bucketStamp++;
+            frontierStamp++;
+            //Nodes whose distance decreased since they were added belong to an earlier bucket and are skipped
+            IntList frontier = new IntList();
+            IntList candidates = entry.getValue();
+            for (int i = 0; i < candidates.size; i++) {
+                int id = candidates.elements[i];
+                if (tentative.get(id) / delta == bucket && frontierStamps[id] != frontierStamp) {
+                    frontierStamps[id] = frontierStamp;
+                    frontier.add(id);
+                }
+            }
+
+            IntList settled = new IntList();
+            while (frontier.size > 0) {
+                for (int i = 0; i < frontier.size; i++) {
+                    int id = frontier.elements[i];
+                    if (bucketStamps[id] != bucketStamp) {
+                        bucketStamps[id] = bucketStamp;
+                        settled.add(id);
+                    }
+                }
+                IntList improved = relax(frontier, tentative, true);
+                frontierStamp++;
+                frontier = new IntList();
+                for (int i = 0; i < improved.size; i++) {
+                    int id = improved.elements[i];
+                    if (frontierStamps[id] == frontierStamp)
+                        continue;
+                    frontierStamps[id] = frontierStamp;
+                    long target = tentative.get(id) / delta;
+                    if (target == bucket)
+                        frontier.add(id);
+                    else
+                        buckets.computeIfAbsent(target, key -> new IntList()).add(id);
+                }
+            }
+
+            IntList improved = relax(settled, tentative, false);
+            frontierStamp++;
+            for (int i = 0; i < improved.size; i++) {
+                int id = improved.elements[i];
+                if (frontierStamps[id] != frontierStamp) {
+                    frontierStamps[id] = frontierStamp;
+                    buckets.computeIfAbsent(tentative.get(id) / delta, key -> new IntList()).add(id);
+                }
+            }
+        }
+
+        distances = new long[size];
+        for (int id = 0; id < size; id++)
+            distances[id] = tentative.get(id);
+        previous = null;
+        start = from;
+    }
+
+    private IntList relax(IntList nodes, AtomicLongArray tentative, boolean light) {
+        RelaxTask task = new RelaxTask(nodes, 0, nodes.size, tentative, light);
+        return nodes.size <= SEQUENTIAL_THRESHOLD ? task.compute() : pool.invoke(task);
+    }
+
+    /*
+     * Every node with a finite distance is reached by a breadth first search from the start node along the edges that
+     * lie on shortest paths. Unlike choosing any such edge per node, this cannot create cycles of edges with weight 0.
+     */
+    private int[] buildShortestPathTree(int sourceId) {
+        int size = compactGraph.size();
+        int[] tree = new int[size];
+        Arrays.fill(tree, -1);
+        boolean[] visited = new boolean[size];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = sourceId;
+        visited[sourceId] = true;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                int v = compactGraph.getEdgeTarget(e);
+                if (!visited[v] && distances[u] + compactGraph.getEdgeWeight(e) == distances[v]) {
+                    visited[v] = true;
+                    tree[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tree;
+    }
+
+    private final class RelaxTask extends RecursiveTask<IntList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntList nodes;
+        private final int from;
+        private final int to;
+        private final AtomicLongArray tentative;
+        private final boolean light;
+
+        private RelaxTask(IntList nodes, int from, int to, AtomicLongArray tentative, boolean light) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.tentative = tentative;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                RelaxTask left = new RelaxTask(nodes, from, middle, tentative, light);
+                left.fork();
+                IntList improved = new RelaxTask(nodes, middle, to, tentative, light).compute();
+                improved.addAll(left.join());
+                return improved;
+            }
+
+            IntList improved = new IntList();
+            for (int i = from; i < to; i++) {
+                int u = nodes.elements[i];
+                long dist = tentative.get(u);
+                for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                    int weight = compactGraph.getEdgeWeight(e);
+                    if ((weight <= delta) != light)
+                        continue;
+                    int v = compactGraph.getEdgeTarget(e);
+                    if (lowerTo(tentative, v, dist + weight))
+                        improved.add(v);
+                }
+            }
+            return improved;
+        }
+    }
+
+    //Atomically sets the tentative distance of the node to the minimum of its value and the new distance
+    private static boolean lowerTo(AtomicLongArray tentative, int id, long distance) {
+        long current = tentative.get(id);
+        while (distance < current) {
+            if (tentative.compareAndSet(id, current, distance))
+                return true;
+            current = tentative.get(id);
+        }
+        return false;
+    }
+
+    private static final class IntList {
+
+        private int[] elements = new int[8];
+        private int size = 0;
+
+        private void add(int element) {
+            if (size == elements.length)
+                elements = Arrays.copyOf(elements, 2 * size);
+            elements[size++] = element;
+        }
+
+        private void addAll(IntList other) {
+            if (size + other.size > elements.length)
+                elements = Arrays.copyOf(elements, Math.max(2 * elements.length, size + other.size));
+            System.arraycopy(other.elements, 0, elements, size, other.size);
+            size += other.size;
+        }
+    }
+}
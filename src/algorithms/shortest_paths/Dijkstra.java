@@ -1,123 +1,142 @@
 package algorithms.shortest_paths;
 
+import datastructures.IndexedDaryHeap;
 import datastructures.graph.Graph;
 
 import java.util.*;
 
 /**
  * An Implementation of the ShortestPathCalculator that uses the Dijkstra algorithm to compute the shortest paths
- * in a graph without negative edge weights. In general, if |V| denotes the number of nodes in the graph and |E| the
- * number of edges, then the shortest paths are computed in O(|V|log(|V|) + |E|)
+ * in a graph without negative edge weights. The nodes are kept in an indexed d-ary heap that supports decreasing the
+ * priority of a node in place. In general, if |V| denotes the number of nodes in the graph and |E| the number of edges,
+ * then the shortest paths are computed in O(|V|log(|V|) + |E|log(|V|)). The search from a start node stops as soon as
+ * the requested target nodes are settled. It is resumed by later queries from the same start node, so nodes that were
+ * settled once are answered without any further search.
  * @param <T> the type of the nodes in the graph
  */
 public class Dijkstra<T> extends ShortestPathCalculator<T> {
 
-    private final Map<T, Long> distances;
-    private final Map<T, T> previous;
+    private long[] distances;
+    private int[] previous;
+    private boolean[] settled;
+    private IndexedDaryHeap priorityQueue;
     private T start;
 
 
     /**
      * Creates an instance for computing shortest paths in a graph via the Dijkstra algorithm. Note that the graph must
      * not contain negative edge weights. In general, if |V| denotes the number of nodes in the graph and |E| the number
-     * of edges, then the shortest paths are computed in O(|V|log(|V|) + |E|)
+     * of edges, then the shortest paths are computed in O(|V|log(|V|) + |E|log(|V|))
      * @param graph the graph the shortest paths will be calculated on
      * @exception NullPointerException if the graph is null
      */
     public Dijkstra(Graph<T> graph) {
         super(graph);
-        distances = new HashMap<>();
-        previous = new HashMap<>();
     }
 
     protected Long getWeightOfShortestPathSub(T from, T to) {
-        if (start == null || !start.equals(from)) {
-            start = from;
-            computeShortestPaths(start);
-        }
+        startSearch(from);
+        int toId = graph.getId(to);
+        settle(toId);
 
-        return distances.get(to);
+        long distance = distances[toId];
+        return distance == Long.MAX_VALUE ? null : distance;
     }
 
     protected List<T> getShortestPathSub(T from, T to) {
-        if (start == null || !start.equals(from)) {
-            start = from;
-            computeShortestPaths(start);
-        }
+        startSearch(from);
+        int current = graph.getId(to);
+        settle(current);
 
-        if (previous.get(to) == null)
+        if (distances[current] == Long.MAX_VALUE)
             return null;
-        List<T> path = new LinkedList<>();
-        T current = to;
-        while (current != null) {
-            path.add(0, current);
-            current = previous.get(current);
+        LinkedList<T> path = new LinkedList<>();
+        while (current >= 0) {
+            path.addFirst(graph.getNode(current));
+            current = previous[current];
         }
 
         return path;
     }
 
-    private void computeShortestPaths(T start) {
-        distances.clear();
-        previous.clear();
-        distances.put(start, 0L);
-        TreeSet<QueueElement<T>> priorityQueue = new TreeSet<>();
-        for (T node : graph.getNodes()) {
-            Long priority = distances.getOrDefault(node, Long.MAX_VALUE);
-            priorityQueue.add(new QueueElement<>(node, priority, graph.getId(node)));
-        }
-
-        while (!priorityQueue.isEmpty()) {
-            QueueElement<T> element = priorityQueue.pollFirst();
-            for (T succ : graph.getSuccessors(element.node)) {
-                long edgeWeight = graph.getEdgeWeight(element.node, succ);
-                if (edgeWeight < 0)
-                    throw new RuntimeException("Graph must not contain negative weight edges");
-                long currentDist = distances.getOrDefault(succ, Long.MAX_VALUE);
-                Long nodeDist = distances.get(element.node);
-                if (nodeDist != null && nodeDist + edgeWeight < currentDist) {
-                    distances.put(succ, nodeDist + edgeWeight);
-                    priorityQueue.remove(new QueueElement<>(succ, currentDist, graph.getId(succ)));
-                    priorityQueue.add(new QueueElement<>(succ, nodeDist + edgeWeight, graph.getId(succ)));
-                    previous.put(succ, element.node);
-                }
-            }
-        }
+    protected ShortestPathTree<T> getShortestPathTreeSub(T from) {
+        startSearch(from);
+        for (int id = 0; id < graph.size(); id++)
+            settle(id);
+        //A new search allocates new arrays, so the arrays of a completed search can be shared
+        return new ShortestPathTree<>(graph, from, distances, previous);
     }
 
-    private static final class QueueElement<T> implements Comparable<QueueElement<T>> {
-        public T node;
-        public long priority;
-        private final long nodeId;
-
-        public QueueElement(T node, long priority, long nodeId) {
-            this.node = node;
-            this.priority = priority;
-            this.nodeId = nodeId;
+    /**
+     * Returns the sums of the weights along the shortest paths from node from to each of the target nodes. The search
+     * stops as soon as all target nodes are settled, so only the part of the graph that is closer to from than the
+     * farthest target is explored.
+     * @param from the starting node
+     * @param targets the target nodes
+     * @return Returns a map from each target node to the weight of its shortest path from node from or to null if no
+     * path exists
+     * @exception NullPointerException if from, targets or one of the targets is null
+     * @exception IllegalArgumentException if from or one of the targets is not contained in the graph
+     */
+    public Map<T, Long> getWeightsOfShortestPaths(T from, Collection<T> targets) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(targets);
+        if (!graph.contains(from))
+            throw new IllegalArgumentException(from + " is not contained in the graph!");
+        for (T target : targets) {
+            Objects.requireNonNull(target);
+            if (!graph.contains(target))
+                throw new IllegalArgumentException(target + " is not contained in the graph!");
         }
 
-        @Override
-        public int compareTo(QueueElement<T> e) {
-
-            if (priority < e.priority)
-                return -1;
-            if (priority > e.priority)
-                return 1;
-            return Long.compare(nodeId, e.nodeId);
+        startSearch(from);
+        Map<T, Long> weights = new HashMap<>();
+        for (T target : targets) {
+            int targetId = graph.getId(target);
+            settle(targetId);
+            long distance = distances[targetId];
+            weights.put(target, distance == Long.MAX_VALUE ? null : distance);
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            QueueElement<?> that = (QueueElement<?>) o;
-            return priority == that.priority &&
-                    nodeId == that.nodeId;
-        }
+        return weights;
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(priority, nodeId);
+    private void startSearch(T from) {
+        if (start != null && start.equals(from))
+            return;
+        checkForNegativeEdgeWeightsOnce();
+
+        int size = graph.size();
+        distances = new long[size];
+        previous = new int[size];
+        settled = new boolean[size];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        Arrays.fill(previous, -1);
+
+        //Only reached nodes are inserted into the heap
+        priorityQueue = new IndexedDaryHeap(size);
+        int startId = graph.getId(from);
+        distances[startId] = 0;
+        priorityQueue.insert(startId, 0);
+        start = from;
+    }
+
+    //Continues the search until the target is settled or all reachable nodes are settled
+    private void settle(int targetId) {
+        while (!settled[targetId] && !priorityQueue.isEmpty()) {
+            int nodeId = priorityQueue.deleteMin();
+            settled[nodeId] = true;
+            long nodeDist = distances[nodeId];
+            T node = graph.getNode(nodeId);
+            for (T succ : graph.getSuccessors(node)) {
+                long edgeWeight = graph.getEdgeWeight(node, succ);
+                int succId = graph.getId(succ);
+                if (nodeDist + edgeWeight < distances[succId]) {
+                    distances[succId] = nodeDist + edgeWeight;
+                    priorityQueue.insertOrDecreaseKey(succId, nodeDist + edgeWeight);
+                    previous[succId] = nodeId;
+                }
+            }
         }
     }
 }
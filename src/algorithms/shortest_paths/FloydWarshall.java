@@ -1,121 +1,321 @@
 package algorithms.shortest_paths;
 
+import datastructures.graph.CompactGraph;
 import datastructures.graph.Graph;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * An Implementation of the ShortestPathCalculator that uses the Floyd-Warshall algorithm to compute the shortest paths
  * in a graph without negative cycles. In general, if |V| denotes the number of nodes in the graph, then the shortest
- * paths are computed in O(|V|^3)
+ * paths are computed in O(|V|^3). The distances are stored in a flat long array of size |V|^2 that is indexed by the
+ * node IDs. The matrix is split into square tiles that fit into the cache, and the intermediate nodes are processed
+ * block by block: first the tile on the diagonal is updated with the intermediate nodes of the block, then the tiles in
+ * its row and column, which only depend on the diagonal tile, and then all remaining tiles, which only depend on the
+ * tiles in the row and column. The tiles of the last two phases are independent of each other and are updated in
+ * parallel by the tasks of a fork-join pool. Afterwards, the next node on every shortest path is stored in an int array
+ * of the same size, so a path is reconstructed by following the next nodes in time linear in its number of edges. For
+ * workloads that mostly need the weights of the shortest paths, the next nodes can be omitted, which saves a third of
+ * the memory. Then a path is reconstructed from the distances by a breadth first search along the edges that lie on
+ * shortest paths to the target, which takes O(|V| + |E|). The shortest paths are computed when the first query is
+ * made, so the graph must not be changed afterwards, because then the results might not reflect the changes made in
+ * the graph.
  * @param <T> the type of the nodes in the graph
  */
 public class FloydWarshall<T> extends ShortestPathCalculator<T>{
 
-    private final Map<MapElementKey, Long> distances;
-    private final Map<MapElementKey, T> intermediates;
+    private static final int BLOCK_SIZE = 64;
+    private static final int NO_NEXT_NODE = -1;
+
+    private final ForkJoinPool pool;
+    private final boolean storePaths;
+    private int size;
+    private long[] distances;
+    private int[] nextNodes;
 
     /**
-     * Creates an instance for computing shortest paths in a graph via the Floyed-Warshall algorithm. Note that the
-     * graph must not contain negative cycles. In general, if |V| denotes the number of nodes in the graph, then the
-     * shortest paths are computed in O(|V|^3)
+     * Creates an instance for computing shortest paths in a graph via the Floyed-Warshall algorithm in the common
+     * fork-join pool. Note that the graph must not contain negative cycles. In general, if |V| denotes the number of
+     * nodes in the graph, then the shortest paths are computed in O(|V|^3)
      * @param graph the graph the shortest paths will be calculated on
      * @exception NullPointerException if the graph is null
      */
     public FloydWarshall(Graph<T> graph){
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a graph via the Floyed-Warshall algorithm in the specified
+     * pool. Note that the graph must not contain negative cycles.
+     * @param graph the graph the shortest paths will be calculated on
+     * @param pool the pool the tiles are updated in
+     * @exception NullPointerException if the graph or the pool is null
+     */
+    public FloydWarshall(Graph<T> graph, ForkJoinPool pool){
+        this(graph, pool, true);
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a graph via the Floyed-Warshall algorithm in the specified
+     * pool. If the paths are not stored, then a shortest path is reconstructed from the distances when it is queried,
+     * which takes O(|V| + |E|). Note that the graph must not contain negative cycles.
+     * @param graph the graph the shortest paths will be calculated on
+     * @param pool the pool the tiles are updated in
+     * @param storePaths whether the next nodes on the shortest paths are stored
+     * @exception NullPointerException if the graph or the pool is null
+     */
+    public FloydWarshall(Graph<T> graph, ForkJoinPool pool, boolean storePaths){
         super(graph);
-        distances = new HashMap<>();
-        intermediates = new HashMap<>();
+        Objects.requireNonNull(pool);
+        this.pool = pool;
+        this.storePaths = storePaths;
     }
 
     protected Long getWeightOfShortestPathSub(T from, T to){
-        if(distances.isEmpty())
+        if(distances == null)
             computeShortestPaths();
-        return distances.getOrDefault(getMapElementKey(from, to), null);
+        long distance = distances[graph.getId(from) * size + graph.getId(to)];
+        return distance == Long.MAX_VALUE ? null : distance;
     }
 
     protected List<T> getShortestPathSub(T from, T to){
-        if(distances.isEmpty())
+        if(distances == null)
             computeShortestPaths();
 
-        if(getWeightOfShortestPath(from, to) == null)
+        int fromId = graph.getId(from);
+        int toId = graph.getId(to);
+        if(distances[fromId * size + toId] == Long.MAX_VALUE)
             return null;
+        if(!storePaths)
+            return findShortestPath(fromId, toId);
 
-        List<T> shortestPath = new LinkedList<>();
-        T intermediate = intermediates.get(getMapElementKey(from, to));
-        if(intermediate == null){
-            shortestPath.add(from);
-            shortestPath.add(to);
-            return shortestPath;
-        }
-        else{
-            shortestPath = getShortestPath(from, intermediate);
-            shortestPath.remove(intermediate);
-            shortestPath.addAll(getShortestPath(intermediate, to));
-            return shortestPath;
+        List<T> shortestPath = new ArrayList<>();
+        shortestPath.add(from);
+        int current = fromId;
+        while(current != toId){
+            current = nextNodes[current * size + toId];
+            shortestPath.add(graph.getNode(current));
         }
+        return shortestPath;
     }
 
-    private void computeShortestPaths(){
-        initDistances();
-        for(T start : graph.getNodes()){
-            for(T end : graph.getNodes()){
-                for(T intermediate : graph.getNodes()){
-                    MapElementKey startEndKey = getMapElementKey(start, end);
-                    MapElementKey startIntermediateKey = getMapElementKey(start, intermediate);
-                    MapElementKey intermediateEndKey = getMapElementKey(intermediate, end);
-                    Long currentDist = distances.getOrDefault(startEndKey, Long.MAX_VALUE);
-                    Long startInterDist = distances.get(startIntermediateKey);
-                    Long interEndDist = distances.get(intermediateEndKey);
-                    if(startInterDist != null && interEndDist != null && currentDist > startInterDist + interEndDist){
-                        distances.put(startEndKey, startInterDist + interEndDist);
-                        intermediates.put(startEndKey, intermediate);
-                    }
+    /*
+     * Searches a path from the start to the target along edges (u, v) with d(u, to) = w(u, v) + d(v, to), which are
+     * exactly the edges on shortest paths to the target. Every node is visited once, so cycles of weight 0 cannot make
+     * the path loop.
+     */
+    private List<T> findShortestPath(int fromId, int toId){
+        int[] previous = new int[size];
+        Arrays.fill(previous, NO_NEXT_NODE);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = fromId;
+        previous[fromId] = fromId;
+        while(previous[toId] == NO_NEXT_NODE){
+            int u = queue[head++];
+            T node = graph.getNode(u);
+            long uDist = distances[u * size + toId];
+            for(T succ : graph.getSuccessors(node)){
+                int v = graph.getId(succ);
+                long vDist = distances[v * size + toId];
+                if(previous[v] == NO_NEXT_NODE && vDist != Long.MAX_VALUE
+                        && uDist == graph.getEdgeWeight(node, succ) + vDist){
+                    previous[v] = u;
+                    queue[tail++] = v;
                 }
             }
         }
 
-        //Check for negative cycles
-        for(T node : graph.getNodes())
-            if(distances.get(getMapElementKey(node, node)) < 0)
-                throw new RuntimeException("Graph contains a negative cycle");
+        LinkedList<T> shortestPath = new LinkedList<>();
+        int current = toId;
+        shortestPath.addFirst(graph.getNode(current));
+        while(current != fromId){
+            current = previous[current];
+            shortestPath.addFirst(graph.getNode(current));
+        }
+        return shortestPath;
     }
 
-    private void initDistances(){
-        for(T start : graph.getNodes()){
-            distances.put(getMapElementKey(start, start), 0L);
-            for(T succ : graph.getSuccessors(start))
-                distances.put(getMapElementKey(start, succ), (long) graph.getEdgeWeight(start, succ));
+    private void computeShortestPaths(){
+        int n = graph.size();
+        if((long) n * n > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("The graph must not have more than 46340 nodes");
+        size = n;
+        long[] newDistances = initDistances();
+
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for(int kBlock = 0; kBlock < blocks; kBlock++){
+            //Phase 1: the tile on the diagonal only depends on itself
+            updateTile(newDistances, kBlock, kBlock, kBlock);
+            //Phase 2: the tiles in the row and the column of the diagonal tile
+            pool.invoke(new TileTask(newDistances, kBlock, 0, 2 * blocks, true));
+            //Phase 3: all remaining tiles
+            pool.invoke(new TileTask(newDistances, kBlock, 0, blocks * blocks, false));
+
+            //Check for negative cycles after every block, so the distances of a negative cycle cannot overflow
+            for(int id = 0; id < n; id++)
+                if(newDistances[id * n + id] < 0)
+                    throw new RuntimeException("Graph contains a negative cycle");
+        }
+        MinPlusKernel.toPublicInfinity(newDistances);
+
+        if(storePaths){
+            int[] newNextNodes = new int[n * n];
+            pool.invoke(new NextNodeTask(new CompactGraph<>(graph), newDistances, newNextNodes, 0, n));
+            nextNodes = newNextNodes;
         }
+        distances = newDistances;
     }
 
+    private long[] initDistances(){
+        int n = size;
+        long[] newDistances = new long[n * n];
+        //Missing edges are initialized with a finite value, so the kernel needs no check for overflows
+        Arrays.fill(newDistances, MinPlusKernel.INFINITY);
+        for(int id = 0; id < n; id++){
+            T start = graph.getNode(id);
+            newDistances[id * n + id] = 0;
+            for(T succ : graph.getSuccessors(start)){
+                int index = id * n + graph.getId(succ);
+                newDistances[index] = Math.min(newDistances[index], graph.getEdgeWeight(start, succ));
+            }
+        }
+        return newDistances;
+    }
 
-    private MapElementKey getMapElementKey(T from, T to){
-        return new MapElementKey(graph.getId(from), graph.getId(to));
+    /*
+     * Updates the tile in the row iBlock and the column jBlock with the intermediate nodes of the block kBlock. The
+     * intermediate nodes are processed in increasing order, so the tile may be one of the tiles it is updated from.
+     */
+    private void updateTile(long[] dist, int iBlock, int jBlock, int kBlock){
+        int n = size;
+        int iEnd = Math.min(n, (iBlock + 1) * BLOCK_SIZE);
+        int jStart = jBlock * BLOCK_SIZE;
+        int jEnd = Math.min(n, jStart + BLOCK_SIZE);
+        int kEnd = Math.min(n, (kBlock + 1) * BLOCK_SIZE);
+        for(int k = kBlock * BLOCK_SIZE; k < kEnd; k++){
+            int kRow = k * n;
+            for(int i = iBlock * BLOCK_SIZE; i < iEnd; i++){
+                long dik = dist[i * n + k];
+                if(dik < MinPlusKernel.UNREACHABLE)
+                    MinPlusKernel.relax(dist, i * n + jStart, dik, dist, kRow + jStart, jEnd - jStart);
+            }
+        }
     }
 
-    private static class MapElementKey{
+    /*
+     * Updates a range of tiles with the intermediate nodes of the block kBlock. In phase 2, the range enumerates the
+     * tiles in the column of the diagonal tile followed by the tiles in its row, and in phase 3 all tiles in row-major
+     * order. Tiles that belong to an earlier phase are skipped.
+     */
+    private final class TileTask extends RecursiveAction{
+
+        private static final long serialVersionUID = 1L;
+        private static final int SEQUENTIAL_THRESHOLD = 4;
 
-        public int fromId;
-        public int toId;
+        private final long[] dist;
+        private final int kBlock;
+        private final int from;
+        private final int to;
+        private final boolean rowAndColumn;
 
-        public MapElementKey(int fromId, int toId) {
-            this.fromId = fromId;
-            this.toId = toId;
+        private TileTask(long[] dist, int kBlock, int from, int to, boolean rowAndColumn){
+            this.dist = dist;
+            this.kBlock = kBlock;
+            this.from = from;
+            this.to = to;
+            this.rowAndColumn = rowAndColumn;
         }
 
         @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            MapElementKey that = (MapElementKey) o;
-            return fromId == that.fromId &&
-                    toId == that.toId;
+        protected void compute(){
+            if(to - from > SEQUENTIAL_THRESHOLD){
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(dist, kBlock, from, middle, rowAndColumn),
+                        new TileTask(dist, kBlock, middle, to, rowAndColumn));
+                return;
+            }
+
+            int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            for(int tile = from; tile < to; tile++){
+                if(rowAndColumn){
+                    int other = tile % blocks;
+                    if(other == kBlock)
+                        continue;
+                    if(tile < blocks)
+                        updateTile(dist, other, kBlock, kBlock);
+                    else
+                        updateTile(dist, kBlock, other, kBlock);
+                }
+                else{
+                    int iBlock = tile / blocks;
+                    int jBlock = tile % blocks;
+                    if(iBlock != kBlock && jBlock != kBlock)
+                        updateTile(dist, iBlock, jBlock, kBlock);
+                }
+            }
+        }
+    }
+
+    /*
+     * Computes the next nodes on the shortest paths to a range of target nodes. For every target, a breadth first
+     * search runs backwards from the target along the edges that lie on shortest paths, so the next nodes form a tree
+     * even if there are cycles of weight 0. Choosing the next node during the updates of the tiles is not safe, since
+     * the tiles see the intermediate nodes of a block in different orders.
+     */
+    private final class NextNodeTask extends RecursiveAction{
+
+        private static final long serialVersionUID = 1L;
+        private static final int SEQUENTIAL_THRESHOLD = 16;
+
+        private final CompactGraph<T> compactGraph;
+        private final long[] dist;
+        private final int[] next;
+        private final int from;
+        private final int to;
+
+        private NextNodeTask(CompactGraph<T> compactGraph, long[] dist, int[] next, int from, int to){
+            this.compactGraph = compactGraph;
+            this.dist = dist;
+            this.next = next;
+            this.from = from;
+            this.to = to;
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hash(fromId, toId);
+        protected void compute(){
+            if(to - from > SEQUENTIAL_THRESHOLD){
+                int middle = (from + to) >>> 1;
+                invokeAll(new NextNodeTask(compactGraph, dist, next, from, middle),
+                        new NextNodeTask(compactGraph, dist, next, middle, to));
+                return;
+            }
+
+            int n = size;
+            int[] queue = new int[n];
+            for(int target = from; target < to; target++){
+                for(int id = 0; id < n; id++)
+                    next[id * n + target] = NO_NEXT_NODE;
+                next[target * n + target] = target;
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = target;
+                while(head < tail){
+                    int v = queue[head++];
+                    long vDist = dist[v * n + target];
+                    for(int e = compactGraph.getInEdgesStart(v); e < compactGraph.getInEdgesEnd(v); e++){
+                        int u = compactGraph.getInEdgeSource(e);
+                        if(next[u * n + target] == NO_NEXT_NODE
+                                && dist[u * n + target] == compactGraph.getInEdgeWeight(e) + vDist){
+                            next[u * n + target] = v;
+                            queue[tail++] = u;
+                        }
+                    }
+                }
+            }
         }
     }
 }
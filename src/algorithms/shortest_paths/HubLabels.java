@@ -0,0 +1,401 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.Graph;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A distance oracle for graphs without negative edge weights that is based on hub labels. Every node v gets a forward
+ * label, a list of hubs h with the distance from v to h, and a backward label, a list of hubs h with the distance from
+ * h to v, such that every shortest path from u to v contains a hub that is in the forward label of u and in the
+ * backward label of v. The weight of the shortest path is then the minimum over the common hubs, which is computed by
+ * a merge join of both labels. The labels are computed via pruned landmark labeling: the nodes are processed in the
+ * order of their importance and from every node a forward and a backward search are run that do not expand nodes
+ * whose distance is already covered by the labels computed so far. If all edges have the same weight, breadth first
+ * searches are used instead of Dijkstra searches. The hubs are stored by their position in the order, so every label
+ * is sorted, and all labels are stored in flat arrays. The labels can be written to and read from a stream, so they
+ * do not have to be recomputed for the same graph. Note that the graph must not be changed after the preprocessing,
+ * because then the distances might not reflect the changes made in the graph.
+ * @param <T> the type of the nodes in the graph
+ */
+public class HubLabels<T> {
+
+    private static final int MAGIC = 0x484C4231;
+
+    private final Graph<T> graph;
+    private final int[] order;
+    private final int[] forwardOffsets;
+    private final int[] forwardHubs;
+    private final long[] forwardDistances;
+    private final int[] backwardOffsets;
+    private final int[] backwardHubs;
+    private final long[] backwardDistances;
+
+    /**
+     * Computes hub labels for a graph, where the nodes are processed in the order of their degree. Note that the graph
+     * must not contain negative edge weights.
+     * @param graph the graph the distances will be calculated on
+     * @exception NullPointerException if the graph is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public HubLabels(Graph<T> graph) {
+        this(graph, degreeOrder(graph));
+    }
+
+    /**
+     * Computes hub labels for a graph, where the nodes are processed in the order of their rank in the contraction
+     * hierarchy, starting with the most important node. This order usually leads to much smaller labels than the order
+     * by degree on road networks. Note that the graph must not contain negative edge weights.
+     * @param graph the graph the distances will be calculated on
+     * @param hierarchies the contraction hierarchy of the graph
+     * @exception NullPointerException if the graph or the hierarchy is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public HubLabels(Graph<T> graph, ContractionHierarchies<T> hierarchies) {
+        this(graph, rankOrder(graph, hierarchies));
+    }
+
+    private HubLabels(Graph<T> graph, int[] order) {
+        this.graph = graph;
+        this.order = order;
+        SingleSourceSearch.checkForNegativeEdgeWeights(graph);
+
+        LabelBuilder forward = new LabelBuilder(graph.size());
+        LabelBuilder backward = new LabelBuilder(graph.size());
+        long unitWeight = getUnitWeight(graph);
+        SearchScratch scratch = new SearchScratch();
+        long[] hubDistances = new long[graph.size()];
+        Arrays.fill(hubDistances, Long.MAX_VALUE);
+        for (int position = 0; position < order.length; position++) {
+            //The search along the successors adds the node as hub to the backward labels and vice versa
+            prunedSearch(position, true, backward, forward, unitWeight, scratch, hubDistances);
+            prunedSearch(position, false, forward, backward, unitWeight, scratch, hubDistances);
+        }
+
+        forwardOffsets = forward.offsets();
+        forwardHubs = forward.hubs();
+        forwardDistances = forward.distances();
+        backwardOffsets = backward.offsets();
+        backwardHubs = backward.hubs();
+        backwardDistances = backward.distances();
+    }
+
+    private HubLabels(Graph<T> graph, int[] order, int[] forwardOffsets, int[] forwardHubs, long[] forwardDistances,
+                      int[] backwardOffsets, int[] backwardHubs, long[] backwardDistances) {
+        this.graph = graph;
+        this.order = order;
+        this.forwardOffsets = forwardOffsets;
+        this.forwardHubs = forwardHubs;
+        this.forwardDistances = forwardDistances;
+        this.backwardOffsets = backwardOffsets;
+        this.backwardHubs = backwardHubs;
+        this.backwardDistances = backwardDistances;
+    }
+
+    /**
+     * Returns the weight of the shortest path from one node to another or null if there is no path
+     * @param from the start node
+     * @param to the target node
+     * @return Returns the weight of the shortest path from one node to another or null if there is no path
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to is not in the graph
+     */
+    public Long getDistance(T from, T to) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        long distance = query(graph.getId(from), graph.getId(to));
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    //Merge join of the sorted forward label of u and the sorted backward label of v
+    private long query(int u, int v) {
+        long best = Long.MAX_VALUE;
+        int i = forwardOffsets[u];
+        int iEnd = forwardOffsets[u + 1];
+        int j = backwardOffsets[v];
+        int jEnd = backwardOffsets[v + 1];
+        while (i < iEnd && j < jEnd) {
+            int hubI = forwardHubs[i];
+            int hubJ = backwardHubs[j];
+            if (hubI == hubJ) {
+                best = Math.min(best, forwardDistances[i] + backwardDistances[j]);
+                i++;
+                j++;
+            }
+            else if (hubI < hubJ) {
+                i++;
+            }
+            else {
+                j++;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the total number of entries in all forward and backward labels
+     * @return Returns the total number of entries in all labels
+     */
+    public long getNumberOfLabelEntries() {
+        return (long) forwardHubs.length + backwardHubs.length;
+    }
+
+    /**
+     * Returns the average number of entries per label
+     * @return Returns the average number of entries per label
+     */
+    public double getAverageLabelSize() {
+        return order.length == 0 ? 0 : getNumberOfLabelEntries() / (2.0 * order.length);
+    }
+
+    /**
+     * Returns the number of bytes used by the arrays that store the labels
+     * @return Returns the number of bytes used by the labels
+     */
+    public long getMemoryUsage() {
+        return 4L * (order.length + forwardOffsets.length + backwardOffsets.length)
+                + 12L * getNumberOfLabelEntries();
+    }
+
+    /**
+     * Writes the labels to the output stream. The stream is not closed.
+     * @param out the stream the labels are written to
+     * @exception IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(order.length);
+        writeArray(data, order);
+        writeArray(data, forwardOffsets);
+        writeArray(data, forwardHubs);
+        writeArray(data, forwardDistances);
+        writeArray(data, backwardOffsets);
+        writeArray(data, backwardHubs);
+        writeArray(data, backwardDistances);
+        data.flush();
+    }
+
+    /**
+     * Reads labels that were written by writeTo for the same graph. The nodes are identified by their IDs, so the
+     * graph must have been built in the same order.
+     * @param graph the graph the labels were computed for
+     * @param in the stream the labels are read from
+     * @param <T> the type of the nodes in the graph
+     * @return Returns the labels that were read from the stream
+     * @exception NullPointerException if the graph or the stream is null
+     * @exception IOException if an I/O error occurs or if the stream does not contain labels for a graph of this size
+     */
+    public static <T> HubLabels<T> readFrom(Graph<T> graph, InputStream in) throws IOException {
+        Objects.requireNonNull(graph);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC)
+            throw new IOException("The stream does not contain hub labels");
+        int size = data.readInt();
+        if (size != graph.size())
+            throw new IOException("The labels were computed for a graph with " + size + " nodes, but the graph has "
+                    + graph.size() + " nodes");
+        return new HubLabels<>(graph, readIntArray(data), readIntArray(data), readIntArray(data), readLongArray(data),
+                readIntArray(data), readIntArray(data), readLongArray(data));
+    }
+
+    /*
+     * Runs the pruned search from the node at the given position in the order and adds it as hub to the labels of
+     * the nodes it reaches. A node is not expanded if the labels computed so far already cover its distance.
+     */
+    private void prunedSearch(int position, boolean forward, LabelBuilder target, LabelBuilder source,
+                              long unitWeight, SearchScratch scratch, long[] hubDistances) {
+        int root = order[position];
+        //hubDistances holds the label of the root that is joined with the labels of the reached nodes
+        for (int i = 0; i < source.sizes[root]; i++)
+            hubDistances[source.hubs[root][i]] = source.distances[root][i];
+
+        scratch.begin(graph.size());
+        scratch.reach(root, 0);
+        if (unitWeight >= 0) {
+            int head = 0;
+            int tail = 0;
+            scratch.queue[tail++] = root;
+            while (head < tail) {
+                int nodeId = scratch.queue[head++];
+                long dist = scratch.distances[nodeId];
+                if (isCovered(target, nodeId, dist, hubDistances))
+                    continue;
+                target.add(nodeId, position, dist);
+                for (int neighbour : neighbours(nodeId, forward)) {
+                    if (!scratch.isReached(neighbour)) {
+                        scratch.reach(neighbour, dist + unitWeight);
+                        scratch.queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+        else {
+            scratch.push(root, 0);
+            while (!scratch.isHeapEmpty()) {
+                long dist = scratch.peekKey();
+                int nodeId = scratch.pop();
+                if (dist > scratch.distances[nodeId])
+                    continue;
+                if (isCovered(target, nodeId, dist, hubDistances))
+                    continue;
+                target.add(nodeId, position, dist);
+                T node = graph.getNode(nodeId);
+                for (T neighbour : forward ? graph.getSuccessors(node) : graph.getPredecessors(node)) {
+                    long edgeWeight = forward ? graph.getEdgeWeight(node, neighbour) : graph.getEdgeWeight(neighbour, node);
+                    int neighbourId = graph.getId(neighbour);
+                    if (dist + edgeWeight < scratch.getDistance(neighbourId)) {
+                        scratch.reach(neighbourId, dist + edgeWeight);
+                        scratch.push(neighbourId, dist + edgeWeight);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < source.sizes[root]; i++)
+            hubDistances[source.hubs[root][i]] = Long.MAX_VALUE;
+    }
+
+    private boolean isCovered(LabelBuilder target, int nodeId, long dist, long[] hubDistances) {
+        for (int i = 0; i < target.sizes[nodeId]; i++) {
+            long hubDistance = hubDistances[target.hubs[nodeId][i]];
+            if (hubDistance != Long.MAX_VALUE && hubDistance + target.distances[nodeId][i] <= dist)
+                return true;
+        }
+        return false;
+    }
+
+    private int[] neighbours(int nodeId, boolean forward) {
+        T node = graph.getNode(nodeId);
+        Set<T> neighbours = forward ? graph.getSuccessors(node) : graph.getPredecessors(node);
+        int[] ids = new int[neighbours.size()];
+        int i = 0;
+        for (T neighbour : neighbours)
+            ids[i++] = graph.getId(neighbour);
+        return ids;
+    }
+
+    /*
+     * Returns the weight of all edges if they have the same weight, or -1 if there are edges with different weights
+     */
+    private static <T> long getUnitWeight(Graph<T> graph) {
+        long unitWeight = -2;
+        for (T node : graph.getNodes()) {
+            for (T succ : graph.getSuccessors(node)) {
+                long weight = graph.getEdgeWeight(node, succ);
+                if (unitWeight == -2)
+                    unitWeight = weight;
+                else if (unitWeight != weight)
+                    return -1;
+            }
+        }
+        return unitWeight == -2 ? 0 : unitWeight;
+    }
+
+    private static <T> int[] degreeOrder(Graph<T> graph) {
+        int size = graph.size();
+        Integer[] ids = new Integer[size];
+        long[] degrees = new long[size];
+        for (int id = 0; id < size; id++) {
+            T node = graph.getNode(id);
+            ids[id] = id;
+            degrees[id] = graph.getSuccessors(node).size() + graph.getPredecessors(node).size();
+        }
+        Arrays.sort(ids, (a, b) -> Long.compare(degrees[b], degrees[a]));
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++)
+            order[i] = ids[i];
+        return order;
+    }
+
+    private static <T> int[] rankOrder(Graph<T> graph, ContractionHierarchies<T> hierarchies) {
+        Objects.requireNonNull(hierarchies);
+        int size = graph.size();
+        int[] order = new int[size];
+        for (int id = 0; id < size; id++)
+            order[size - 1 - hierarchies.getRank(graph.getNode(id))] = id;
+        return order;
+    }
+
+    private static void writeArray(DataOutputStream data, int[] array) throws IOException {
+        data.writeInt(array.length);
+        for (int value : array)
+            data.writeInt(value);
+    }
+
+    private static void writeArray(DataOutputStream data, long[] array) throws IOException {
+        data.writeInt(array.length);
+        for (long value : array)
+            data.writeLong(value);
+    }
+
+    private static int[] readIntArray(DataInputStream data) throws IOException {
+        int[] array = new int[data.readInt()];
+        for (int i = 0; i < array.length; i++)
+            array[i] = data.readInt();
+        return array;
+    }
+
+    private static long[] readLongArray(DataInputStream data) throws IOException {
+        long[] array = new long[data.readInt()];
+        for (int i = 0; i < array.length; i++)
+            array[i] = data.readLong();
+        return array;
+    }
+
+    /*
+     * Growable labels for all nodes, which are flattened into offset, hub and distance arrays after the preprocessing.
+     * The hubs are added in increasing order, so every label is sorted.
+     */
+    private static final class LabelBuilder {
+
+        private final int[][] hubs;
+        private final long[][] distances;
+        private final int[] sizes;
+
+        private LabelBuilder(int size) {
+            hubs = new int[size][];
+            distances = new long[size][];
+            sizes = new int[size];
+            for (int id = 0; id < size; id++) {
+                hubs[id] = new int[4];
+                distances[id] = new long[4];
+            }
+        }
+
+        private void add(int nodeId, int hub, long distance) {
+            int size = sizes[nodeId];
+            if (size == hubs[nodeId].length) {
+                hubs[nodeId] = Arrays.copyOf(hubs[nodeId], 2 * size);
+                distances[nodeId] = Arrays.copyOf(distances[nodeId], 2 * size);
+            }
+            hubs[nodeId][size] = hub;
+            distances[nodeId][size] = distance;
+            sizes[nodeId]++;
+        }
+
+        private int[] offsets() {
+            int[] offsets = new int[sizes.length + 1];
+            for (int id = 0; id < sizes.length; id++)
+                offsets[id + 1] = offsets[id] + sizes[id];
+            return offsets;
+        }
+
+        private int[] hubs() {
+            int[] offsets = offsets();
+            int[] flat = new int[offsets[sizes.length]];
+            for (int id = 0; id < sizes.length; id++)
+                System.arraycopy(hubs[id], 0, flat, offsets[id], sizes[id]);
+            return flat;
+        }
+
+        private long[] distances() {
+            int[] offsets = offsets();
+            long[] flat = new long[offsets[sizes.length]];
+            for (int id = 0; id < sizes.length; id++)
+                System.arraycopy(distances[id], 0, flat, offsets[id], sizes[id]);
+            return flat;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * An Implementation of the ShortestPathCalculator that uses Johnson's algorithm to compute the shortest paths between
+ * all pairs of nodes in a sparse graph with possibly negative edge weights. A single Bellman-Ford search from a virtual
+ * node with an edge of weight 0 to every node computes a potential h for every node. Reweighting every edge (u, v) to
+ * w(u, v) + h(u) - h(v) makes all weights non-negative without changing the shortest paths, so a Dijkstra search can
+ * be run from every node. In general, if |V| denotes the number of nodes in the graph and |E| the number of edges,
+ * then all shortest paths are computed in O(|V||E|log(|V|)), which is much faster than Floyd-Warshall for sparse
+ * graphs. The distances and predecessors of a start node are stored as one row of primitive arrays, which is only
+ * computed when the start node is queried for the first time, so only the rows that are needed take up memory.
+ * Alternatively, all rows can be computed in parallel in advance. The search runs on a CompactGraph snapshot. Note
+ * that changes of the graph after the creation of the snapshot are not reflected by the results.
+ * @param <T> the type of the nodes in the graph
+ */
+public class Johnson<T> extends ShortestPathCalculator<T> {
+
+    private final CompactGraph<T> compactGraph;
+    private final long[][] distanceRows;
+    private final int[][] previousRows;
+    private final SearchScratchPool scratchPool;
+    private long[] potentials;
+    private long[] reducedWeights;
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of the graph via Johnson's algorithm. Note that
+     * the graph must not contain negative cycles.
+     * @param graph the graph the shortest paths will be calculated on
+     * @exception NullPointerException if the graph is null
+     */
+    public Johnson(Graph<T> graph) {
+        this(new CompactGraph<>(graph));
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of a graph via Johnson's algorithm. Note that the
+     * graph must not contain negative cycles.
+     * @param compactGraph the snapshot the shortest paths will be calculated on
+     * @exception NullPointerException if the snapshot is null
+     */
+    public Johnson(CompactGraph<T> compactGraph) {
+        super(compactGraph.getGraph());
+        this.compactGraph = compactGraph;
+        distanceRows = new long[compactGraph.size()][];
+        previousRows = new int[compactGraph.size()][];
+        scratchPool = new SearchScratchPool();
+    }
+
+    /**
+     * Computes the shortest paths from all nodes in parallel, so later queries do not need any search. This needs
+     * memory in O(|V|^2).
+     * @exception NegativeCycleException if the graph contains a negative cycle
+     */
+    public void precompute() {
+        computePotentials();
+        IntStream.range(0, compactGraph.size()).parallel().forEach(this::computeRow);
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the start node to all nodes, indexed by the node IDs. The weight
+     * is Long.MAX_VALUE if there is no path.
+     * @param from the start node
+     * @return Returns the weights of the shortest paths from the start node to all nodes
+     * @exception NullPointerException if from is null
+     * @exception IllegalArgumentException if from is not contained in the snapshot of the graph
+     * @exception NegativeCycleException if the graph contains a negative cycle
+     */
+    public long[] getDistances(T from) {
+        Objects.requireNonNull(from);
+        if (!graph.contains(from))
+            throw new IllegalArgumentException(from + " is not contained in the graph!");
+        return getRow(compactGraph.getId(from)).clone();
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        int toId = compactGraph.getId(to);
+        long distance = getRow(compactGraph.getId(from))[toId];
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        int fromId = compactGraph.getId(from);
+        int current = compactGraph.getId(to);
+        if (getRow(fromId)[current] == Long.MAX_VALUE)
+            return null;
+
+        int[] previous = previousRows[fromId];
+        LinkedList<T> path = new LinkedList<>();
+        while (current >= 0) {
+            path.addFirst(compactGraph.getNode(current));
+            current = previous[current];
+        }
+
+        return path;
+    }
+
+    protected ShortestPathTree<T> getShortestPathTreeSub(T from) {
+        int fromId = compactGraph.getId(from);
+        return new ShortestPathTree<>(graph, from, getRow(fromId), previousRows[fromId]);
+    }
+
+    private long[] getRow(int fromId) {
+        computePotentials();
+        computeRow(fromId);
+        return distanceRows[fromId];
+    }
+
+    /*
+     * Runs the Bellman-Ford search from the virtual node and reweights all edges, which only has to be done once and
+     * before any searches run in parallel
+     */
+    void computePotentials() {
+        if (potentials != null)
+            return;
+        long[] newPotentials = QueueBellmanFord.run(compactGraph, -1, QueueBellmanFord.Strategy.GOLDBERG_RADZIK,
+                new int[compactGraph.size()]);
+        reducedWeights = new long[compactGraph.getNumberOfEdges()];
+        for (int u = 0; u < compactGraph.size(); u++) {
+            for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                int v = compactGraph.getEdgeTarget(e);
+                reducedWeights[e] = compactGraph.getEdgeWeight(e) + newPotentials[u] - newPotentials[v];
+            }
+        }
+        potentials = newPotentials;
+    }
+
+    private void computeRow(int fromId) {
+        if (distanceRows[fromId] != null)
+            return;
+
+        long[] distances = new long[compactGraph.size()];
+        int[] previous = new int[compactGraph.size()];
+        search(fromId, distances, previous);
+        previousRows[fromId] = previous;
+        distanceRows[fromId] = distances;
+    }
+
+    /*
+     * Runs a Dijkstra search with the reduced weights from the node and writes the original distances and, unless
+     * previous is null, the predecessors to the arrays. The potentials must have been computed.
+     */
+    void search(int fromId, long[] distances, int[] previous) {
+        int size = compactGraph.size();
+        SearchScratch scratch = scratchPool.acquire();
+        try {
+            scratch.begin(size);
+            scratch.reach(fromId, 0, -1);
+            scratch.push(fromId, 0);
+            while (!scratch.isHeapEmpty()) {
+                long dist = scratch.peekKey();
+                int u = scratch.pop();
+                if (dist > scratch.distances[u])
+                    continue;
+                for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                    int v = compactGraph.getEdgeTarget(e);
+                    long vDist = dist + reducedWeights[e];
+                    if (vDist < scratch.getDistance(v)) {
+                        scratch.reach(v, vDist, u);
+                        scratch.push(v, vDist);
+                    }
+                }
+            }
+
+            for (int v = 0; v < size; v++) {
+                boolean reached = scratch.isReached(v);
+                distances[v] = reached ? scratch.distances[v] - potentials[fromId] + potentials[v] : Long.MAX_VALUE;
+                if (previous != null)
+                    previous[v] = reached ? scratch.previous[v] : -1;
+            }
+        }
+        finally {
+            scratchPool.release(scratch);
+        }
+    }
+}
@@ -0,0 +1,554 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the k shortest paths between two nodes of a graph without negative edge weights, e.g. to offer alternative
+ * routes. Both algorithms start with a Dijkstra search from the target node along the incoming edges, which yields the
+ * distance of every node to the target and a shortest path tree towards the target.
+ * Yen's algorithm computes the k shortest loopless paths. Every further path deviates from one of the paths found so
+ * far at a spur node, so for every node of the last path, a spur path to the target is searched that avoids the nodes
+ * of the root path before the spur node and the edges that earlier paths with the same root path take from the spur
+ * node. Removing nodes and edges can only increase the distances to the target, so the distances of the first search
+ * are a consistent lower bound that turns the spur searches into A* searches, and the spur searches of a path are
+ * independent of each other and run in parallel in a fork-join pool. In general, if |V| denotes the number of nodes and
+ * |E| the number of edges, then the k paths are computed with at most k|V| searches in O(|E| + |V|log(|V|)) each.
+ * Eppstein's algorithm computes the k shortest paths that may contain cycles. A path is represented by the edges
+ * outside the tree it takes, the so-called sidetracks, and the sidetracks that can be taken from a node and all nodes
+ * after it on its tree path are stored in a persistent leftist heap that shares its structure with the heap of the
+ * next node. The paths are then enumerated in order of their weights in O(|E|log(|V|) + klog(k)) plus the length of
+ * the paths. The searches run on a CompactGraph snapshot. Note that changes of the graph after the creation of the
+ * snapshot are not reflected by the results.
+ * @param <T> the type of the nodes in the graph
+ */
+public class KShortestPaths<T> extends ShortestPathCalculator<T> {
+
+    private final CompactGraph<T> compactGraph;
+    private final ForkJoinPool pool;
+    private final SearchScratchPool scratchPool;
+
+    /**
+     * Creates an instance for computing the k shortest paths in a snapshot of the graph, whose spur paths are searched
+     * in the common fork-join pool. Note that the graph must not contain negative edge weights.
+     * @param graph the graph the shortest paths will be calculated on
+     * @exception NullPointerException if the graph is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public KShortestPaths(Graph<T> graph) {
+        this(new CompactGraph<>(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an instance for computing the k shortest paths in a snapshot of a graph, whose spur paths are searched in
+     * the specified pool. Note that the graph must not contain negative edge weights.
+     * @param compactGraph the snapshot the shortest paths will be calculated on
+     * @param pool the pool the spur paths are searched in
+     * @exception NullPointerException if the snapshot or the pool is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public KShortestPaths(CompactGraph<T> compactGraph, ForkJoinPool pool) {
+        super(compactGraph.getGraph());
+        Objects.requireNonNull(pool);
+        if (compactGraph.getMinEdgeWeight() < 0)
+            throw new RuntimeException("Graph must not contain negative weight edges");
+        this.compactGraph = compactGraph;
+        this.pool = pool;
+        scratchPool = new SearchScratchPool();
+    }
+
+    /**
+     * Returns the k shortest loopless paths from node from to node to in order of their weights, computed by Yen's
+     * algorithm. If there are less than k loopless paths, then all of them are returned.
+     * @param from the starting node
+     * @param to the target node
+     * @param k the number of paths
+     * @return Returns the k shortest loopless paths from node from to node to in order of their weights
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to are not contained in the snapshot of the graph or if k is not
+     * positive
+     */
+    public List<Path<T>> getShortestPaths(T from, T to, int k) {
+        int fromId = compactGraph.getId(from);
+        int toId = compactGraph.getId(to);
+        checkK(k);
+        ReverseTree tree = new ReverseTree(toId);
+        List<Path<T>> paths = new ArrayList<>();
+        if (tree.distances[fromId] == Long.MAX_VALUE)
+            return paths;
+
+        List<Candidate> found = new ArrayList<>();
+        found.add(new Candidate(tree.getPath(fromId), tree.distances[fromId]));
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        Set<Candidate> known = new HashSet<>(found);
+        while (found.size() < k) {
+            Candidate last = found.get(found.size() - 1);
+            long[] prefixWeights = getPrefixWeights(last.ids);
+            Candidate[] spurPaths = new Candidate[last.ids.length - 1];
+            pool.invoke(new SpurTask(tree, found, last, prefixWeights, spurPaths, 0, spurPaths.length));
+            for (Candidate spurPath : spurPaths)
+                if (spurPath != null && known.add(spurPath))
+                    candidates.add(spurPath);
+            if (candidates.isEmpty())
+                break;
+            found.add(candidates.poll());
+        }
+
+        for (Candidate candidate : found)
+            paths.add(toPath(candidate.ids, candidate.weight));
+        return paths;
+    }
+
+    /**
+     * Returns the k shortest paths from node from to node to in order of their weights, which may contain cycles,
+     * computed by Eppstein's algorithm. If there are less than k paths, which can only happen if no cycle can be part of
+     * a path, then all of them are returned.
+     * @param from the starting node
+     * @param to the target node
+     * @param k the number of paths
+     * @return Returns the k shortest paths from node from to node to in order of their weights
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to are not contained in the snapshot of the graph or if k is not
+     * positive
+     */
+    public List<Path<T>> getShortestWalks(T from, T to, int k) {
+        int fromId = compactGraph.getId(from);
+        int toId = compactGraph.getId(to);
+        checkK(k);
+        ReverseTree tree = new ReverseTree(toId);
+        List<Path<T>> paths = new ArrayList<>();
+        if (tree.distances[fromId] == Long.MAX_VALUE)
+            return paths;
+
+        SidetrackHeap[] heaps = buildSidetrackHeaps(tree);
+        paths.add(toPath(tree.getPath(fromId), tree.distances[fromId]));
+        PriorityQueue<WalkEntry> queue = new PriorityQueue<>();
+        if (heaps[fromId] != null)
+            queue.add(new WalkEntry(tree.distances[fromId] + heaps[fromId].key, heaps[fromId], null));
+        while (paths.size() < k && !queue.isEmpty()) {
+            WalkEntry entry = queue.poll();
+            Sidetrack sidetracks = new Sidetrack(entry.heap, entry.previous);
+            paths.add(toPath(getWalk(tree, fromId, toId, sidetracks), entry.weight));
+
+            //The next paths either take another sidetrack instead of the last one or one more sidetrack after it
+            SidetrackHeap heap = entry.heap;
+            if (heap.left != null)
+                queue.add(new WalkEntry(entry.weight - heap.key + heap.left.key, heap.left, entry.previous));
+            if (heap.right != null)
+                queue.add(new WalkEntry(entry.weight - heap.key + heap.right.key, heap.right, entry.previous));
+            SidetrackHeap next = heaps[compactGraph.getEdgeTarget(heap.edge)];
+            if (next != null)
+                queue.add(new WalkEntry(entry.weight + next.key, next, sidetracks));
+        }
+        return paths;
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        int fromId = compactGraph.getId(from);
+        long distance = new ReverseTree(compactGraph.getId(to)).distances[fromId];
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        List<Path<T>> paths = getShortestPaths(from, to, 1);
+        return paths.isEmpty() ? null : new ArrayList<>(paths.get(0).getNodes());
+    }
+
+    private static void checkK(int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException("k must be positive");
+    }
+
+    private Path<T> toPath(int[] ids, long weight) {
+        List<T> nodes = new ArrayList<>(ids.length);
+        for (int id : ids)
+            nodes.add(compactGraph.getNode(id));
+        return new Path<>(nodes, weight);
+    }
+
+    //The weights of the prefixes of the path that end at each of its nodes
+    private long[] getPrefixWeights(int[] ids) {
+        long[] prefixWeights = new long[ids.length];
+        for (int i = 1; i < ids.length; i++)
+            prefixWeights[i] = prefixWeights[i - 1]
+                    + compactGraph.getEdgeWeight(compactGraph.findEdge(ids[i - 1], ids[i]));
+        return prefixWeights;
+    }
+
+    /*
+     * Searches the shortest path from the spur node of the last path to the target that avoids the nodes of the root
+     * path before the spur node and the edges that the found paths with the same root path take from the spur node
+     */
+    private Candidate searchSpurPath(ReverseTree tree, List<Candidate> found, Candidate last, long rootWeight,
+                                     int spurIndex) {
+        int[] root = last.ids;
+        int spurId = root[spurIndex];
+        int[] bannedTargets = new int[found.size()];
+        int banned = 0;
+        for (Candidate path : found)
+            if (path.ids.length > spurIndex + 1 && Arrays.equals(path.ids, 0, spurIndex + 1, root, 0, spurIndex + 1))
+                bannedTargets[banned++] = path.ids[spurIndex + 1];
+
+        SearchScratch scratch = scratchPool.acquire();
+        try {
+            scratch.begin(compactGraph.size());
+            //The nodes of the root path count as reached with the smallest distance, so they are never relaxed
+            for (int i = 0; i < spurIndex; i++)
+                scratch.reach(root[i], Long.MIN_VALUE, -1);
+            scratch.reach(spurId, 0, -1);
+            scratch.push(spurId, tree.distances[spurId]);
+            while (!scratch.isHeapEmpty()) {
+                long key = scratch.peekKey();
+                int u = scratch.pop();
+                long dist = scratch.distances[u];
+                if (key > dist + tree.distances[u])
+                    continue;
+                if (u == tree.targetId)
+                    return joinSpurPath(scratch, last, rootWeight, spurIndex);
+                for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                    int v = compactGraph.getEdgeTarget(e);
+                    if (tree.distances[v] == Long.MAX_VALUE || (u == spurId && contains(bannedTargets, banned, v)))
+                        continue;
+                    long vDist = dist + compactGraph.getEdgeWeight(e);
+                    if (vDist < scratch.getDistance(v)) {
+                        scratch.reach(v, vDist, u);
+                        scratch.push(v, vDist + tree.distances[v]);
+                    }
+                }
+            }
+            return null;
+        }
+        finally {
+            scratchPool.release(scratch);
+        }
+    }
+
+    private static boolean contains(int[] ids, int size, int id) {
+        for (int i = 0; i < size; i++)
+            if (ids[i] == id)
+                return true;
+        return false;
+    }
+
+    private static Candidate joinSpurPath(SearchScratch scratch, Candidate last, long rootWeight, int spurIndex) {
+        int targetId = last.ids[last.ids.length - 1];
+        int spurLength = 0;
+        for (int current = targetId; current >= 0; current = scratch.previous[current])
+            spurLength++;
+        int[] ids = Arrays.copyOf(last.ids, spurIndex + spurLength);
+        int index = ids.length;
+        for (int current = targetId; current >= 0; current = scratch.previous[current])
+            ids[--index] = current;
+        return new Candidate(ids, rootWeight + scratch.distances[targetId]);
+    }
+
+    /*
+     * The sidetracks of a node are its outgoing edges to nodes that can reach the target, except for its tree edge,
+     * keyed by the additional weight of taking them. The nodes are processed in the order they were settled, so the heap
+     * of the next node on the tree path is already complete.
+     */
+    private SidetrackHeap[] buildSidetrackHeaps(ReverseTree tree) {
+        SidetrackHeap[] heaps = new SidetrackHeap[compactGraph.size()];
+        for (int i = 0; i < tree.settled; i++) {
+            int u = tree.order[i];
+            int next = tree.next[u];
+            SidetrackHeap heap = next >= 0 ? heaps[next] : null;
+            boolean treeEdgeSkipped = next < 0;
+            for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                int v = compactGraph.getEdgeTarget(e);
+                if (tree.distances[v] == Long.MAX_VALUE)
+                    continue;
+                if (!treeEdgeSkipped && v == next) {
+                    treeEdgeSkipped = true;
+                    continue;
+                }
+                long key = compactGraph.getEdgeWeight(e) + tree.distances[v] - tree.distances[u];
+                heap = SidetrackHeap.merge(heap, new SidetrackHeap(key, u, e, null, null));
+            }
+            heaps[u] = heap;
+        }
+        return heaps;
+    }
+
+    private int[] getWalk(ReverseTree tree, int fromId, int toId, Sidetrack sidetracks) {
+        //The sidetracks are linked from the last to the first one
+        Deque<SidetrackHeap> ordered = new ArrayDeque<>();
+        for (Sidetrack sidetrack = sidetracks; sidetrack != null; sidetrack = sidetrack.previous)
+            ordered.addFirst(sidetrack.heap);
+
+        int[] walk = new int[16];
+        int length = 0;
+        int current = fromId;
+        walk[length++] = current;
+        for (SidetrackHeap sidetrack : ordered) {
+            while (current != sidetrack.source) {
+                current = tree.next[current];
+                walk = append(walk, length++, current);
+            }
+            current = compactGraph.getEdgeTarget(sidetrack.edge);
+            walk = append(walk, length++, current);
+        }
+        while (current != toId) {
+            current = tree.next[current];
+            walk = append(walk, length++, current);
+        }
+        return Arrays.copyOf(walk, length);
+    }
+
+    private static int[] append(int[] array, int index, int value) {
+        if (index == array.length)
+            array = Arrays.copyOf(array, 2 * array.length);
+        array[index] = value;
+        return array;
+    }
+
+    /*
+     * The distances of all nodes to the target, the next node on a shortest path to the target and the order in which
+     * the nodes were settled by the Dijkstra search along the incoming edges
+     */
+    private final class ReverseTree {
+
+        private final int targetId;
+        private final long[] distances;
+        private final int[] next;
+        private final int[] order;
+        private int settled;
+
+        private ReverseTree(int targetId) {
+            int size = compactGraph.size();
+            this.targetId = targetId;
+            distances = new long[size];
+            next = new int[size];
+            order = new int[size];
+            Arrays.fill(distances, Long.MAX_VALUE);
+            Arrays.fill(next, -1);
+
+            //The scratch only marks the settled nodes and provides the heap
+            SearchScratch scratch = new SearchScratch();
+            scratch.begin(size);
+            distances[targetId] = 0;
+            scratch.push(targetId, 0);
+            while (!scratch.isHeapEmpty()) {
+                long dist = scratch.peekKey();
+                int v = scratch.pop();
+                if (dist > distances[v] || scratch.isReached(v))
+                    continue;
+                scratch.reach(v, dist);
+                order[settled++] = v;
+                for (int e = compactGraph.getInEdgesStart(v); e < compactGraph.getInEdgesEnd(v); e++) {
+                    int u = compactGraph.getInEdgeSource(e);
+                    long uDist = dist + compactGraph.getInEdgeWeight(e);
+                    if (uDist < distances[u]) {
+                        distances[u] = uDist;
+                        next[u] = v;
+                        scratch.push(u, uDist);
+                    }
+                }
+            }
+        }
+
+        private int[] getPath(int fromId) {
+            int length = 1;
+            for (int current = fromId; current != targetId; current = next[current])
+                length++;
+            int[] path = new int[length];
+            path[0] = fromId;
+            for (int i = 1; i < length; i++)
+                path[i] = next[path[i - 1]];
+            return path;
+        }
+    }
+
+    /*
+     * Searches the spur paths of a range of spur indices of the last path
+     */
+    private final class SpurTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ReverseTree tree;
+        private final List<Candidate> found;
+        private final Candidate last;
+        private final long[] prefixWeights;
+        private final Candidate[] spurPaths;
+        private final int from;
+        private final int to;
+
+        private SpurTask(ReverseTree tree, List<Candidate> found, Candidate last, long[] prefixWeights,
+                         Candidate[] spurPaths, int from, int to) {
+            this.tree = tree;
+            this.found = found;
+            this.last = last;
+            this.prefixWeights = prefixWeights;
+            this.spurPaths = spurPaths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SpurTask(tree, found, last, prefixWeights, spurPaths, from, middle),
+                        new SpurTask(tree, found, last, prefixWeights, spurPaths, middle, to));
+                return;
+            }
+            for (int spurIndex = from; spurIndex < to; spurIndex++)
+                spurPaths[spurIndex] = searchSpurPath(tree, found, last, prefixWeights[spurIndex], spurIndex);
+        }
+    }
+
+    /*
+     * A loopless path of Yen's algorithm as node IDs, ordered by weight and then by number of nodes. Two candidates are
+     * equal if they have the same nodes.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final int[] ids;
+        private final long weight;
+
+        private Candidate(int[] ids, long weight) {
+            this.ids = ids;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byWeight = Long.compare(weight, other.weight);
+            return byWeight != 0 ? byWeight : Integer.compare(ids.length, other.ids.length);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return Arrays.equals(ids, ((Candidate) o).ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(ids);
+        }
+    }
+
+    /*
+     * A node of a persistent leftist heap of sidetracks. Merging copies the nodes on the right spine, which has a length
+     * of O(log(n)), and leaves the merged heaps unchanged.
+     */
+    private static final class SidetrackHeap {
+
+        private final long key;
+        private final int source;
+        private final int edge;
+        private final SidetrackHeap left;
+        private final SidetrackHeap right;
+        private final int rank;
+
+        private SidetrackHeap(long key, int source, int edge, SidetrackHeap left, SidetrackHeap right) {
+            this.key = key;
+            this.source = source;
+            this.edge = edge;
+            //The child with the larger rank is on the left, so the right spine stays short
+            if (rank(left) < rank(right)) {
+                SidetrackHeap swap = left;
+                left = right;
+                right = swap;
+            }
+            this.left = left;
+            this.right = right;
+            this.rank = rank(right) + 1;
+        }
+
+        private static int rank(SidetrackHeap heap) {
+            return heap == null ? 0 : heap.rank;
+        }
+
+        private static SidetrackHeap merge(SidetrackHeap a, SidetrackHeap b) {
+            if (a == null)
+                return b;
+            if (b == null)
+                return a;
+            if (b.key < a.key) {
+                SidetrackHeap swap = a;
+                a = b;
+                b = swap;
+            }
+            return new SidetrackHeap(a.key, a.source, a.edge, a.left, merge(a.right, b));
+        }
+    }
+
+    /*
+     * The sidetracks of a path, linked from the last to the first one
+     */
+    private static final class Sidetrack {
+
+        private final SidetrackHeap heap;
+        private final Sidetrack previous;
+
+        private Sidetrack(SidetrackHeap heap, Sidetrack previous) {
+            this.heap = heap;
+            this.previous = previous;
+        }
+    }
+
+    /*
+     * A path of Eppstein's algorithm that takes the sidetrack of the heap node after the previous sidetracks
+     */
+    private static final class WalkEntry implements Comparable<WalkEntry> {
+
+        private final long weight;
+        private final SidetrackHeap heap;
+        private final Sidetrack previous;
+
+        private WalkEntry(long weight, SidetrackHeap heap, Sidetrack previous) {
+            this.weight = weight;
+            this.heap = heap;
+            this.previous = previous;
+        }
+
+        @Override
+        public int compareTo(WalkEntry other) {
+            return Long.compare(weight, other.weight);
+        }
+    }
+
+    /**
+     * A path between two nodes together with its weight
+     * @param <T> the type of the nodes in the graph
+     */
+    public static final class Path<T> {
+
+        private final List<T> nodes;
+        private final long weight;
+
+        private Path(List<T> nodes, long weight) {
+            this.nodes = Collections.unmodifiableList(nodes);
+            this.weight = weight;
+        }
+
+        /**
+         * Returns the nodes of the path from the starting node to the target node
+         * @return Returns the nodes of the path from the starting node to the target node
+         */
+        public List<T> getNodes() {
+            return nodes;
+        }
+
+        /**
+         * Returns the sum of the weights along the path
+         * @return Returns the sum of the weights along the path
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            return nodes + " (" + weight + ")";
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.Graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongBiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Preprocessing for the ALT algorithm (A*, landmarks, triangle inequality) on graphs without negative edge weights.
+ * A small set of landmark nodes is selected and the distances from every landmark to every node and from every node to
+ * every landmark are stored. By the triangle inequality, d(v, t) &gt;= d(v, L) - d(t, L) and d(v, t) &gt;= d(L, t) - d(L, v)
+ * for every landmark L, so the maximum over all landmarks is a lower bound for the weight of the shortest path from v
+ * to t. This lower bound is admissible and consistent, so an instance can be passed as heuristic to AStar. The
+ * Dijkstra runs of the preprocessing are executed in parallel and the distance tables can be written to and read from
+ * a stream, so they do not have to be recomputed for the same graph. Note that the graph must not be changed after the
+ * preprocessing, because then the lower bounds might not be valid anymore.
+ * @param <T> the type of the nodes in the graph
+ */
+public class Landmarks<T> implements ToLongBiFunction<T, T> {
+
+    /**
+     * The lower bound that is returned if there is no path between two nodes. It is large enough to exceed the weight
+     * of every path in a graph with int edge weights, but small enough so that adding a path weight does not overflow.
+     */
+    public static final long UNREACHABLE = Long.MAX_VALUE / 4;
+
+    private static final int MAGIC = 0x414C5431;
+
+    /**
+     * The strategies to select the landmarks
+     */
+    public enum Strategy {
+        /**
+         * The landmarks are selected at random. All Dijkstra runs of the preprocessing can be executed in parallel.
+         */
+        RANDOM,
+        /**
+         * Every landmark is the node that is farthest away from the previously selected landmarks.
+         */
+        FARTHEST,
+        /**
+         * Every landmark is selected in a region of the graph where the previously selected landmarks give bad lower
+         * bounds, as proposed by Goldberg and Werneck. This usually gives the best lower bounds.
+         */
+        AVOID
+    }
+
+    private final Graph<T> graph;
+    private final int[] landmarkIds;
+    private final long[] fromLandmarks;
+    private final long[] toLandmarks;
+    private final int size;
+
+    /**
+     * Selects count landmarks in the graph with the AVOID strategy and computes the distance tables
+     * @param graph the graph the landmarks are selected in
+     * @param count the number of landmarks
+     * @exception NullPointerException if the graph is null
+     * @exception IllegalArgumentException if count is not positive or if the distance tables would have more than
+     * Integer.MAX_VALUE entries
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public Landmarks(Graph<T> graph, int count){
+        this(graph, count, Strategy.AVOID);
+    }
+
+    /**
+     * Selects count landmarks in the graph with the specified strategy and computes the distance tables. If the graph
+     * has less than count nodes, then every node is a landmark.
+     * @param graph the graph the landmarks are selected in
+     * @param count the number of landmarks
+     * @param strategy the strategy to select the landmarks
+     * @exception NullPointerException if the graph or the strategy is null
+     * @exception IllegalArgumentException if count is not positive or if the distance tables would have more than
+     * Integer.MAX_VALUE entries
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public Landmarks(Graph<T> graph, int count, Strategy strategy){
+        Objects.requireNonNull(graph);
+        Objects.requireNonNull(strategy);
+        if(count <= 0)
+            throw new IllegalArgumentException("The number of landmarks must be positive");
+        SingleSourceSearch.checkForNegativeEdgeWeights(graph);
+
+        this.graph = graph;
+        size = graph.size();
+        landmarkIds = new int[Math.min(count, size)];
+        fromLandmarks = new long[getTableLength(landmarkIds.length, size)];
+        toLandmarks = new long[fromLandmarks.length];
+        selectLandmarks(strategy);
+    }
+
+    /**
+     * Uses the specified nodes as landmarks and computes the distance tables
+     * @param graph the graph the landmarks are in
+     * @param landmarks the landmark nodes
+     * @exception NullPointerException if the graph, the landmarks or one of the landmarks is null
+     * @exception IllegalArgumentException if one of the landmarks is not in the graph or if the distance tables would
+     * have more than Integer.MAX_VALUE entries
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public Landmarks(Graph<T> graph, List<T> landmarks){
+        Objects.requireNonNull(graph);
+        Objects.requireNonNull(landmarks);
+        SingleSourceSearch.checkForNegativeEdgeWeights(graph);
+
+        this.graph = graph;
+        size = graph.size();
+        landmarkIds = new int[landmarks.size()];
+        for(int i = 0; i < landmarkIds.length; i++)
+            landmarkIds[i] = graph.getId(landmarks.get(i));
+        fromLandmarks = new long[getTableLength(landmarkIds.length, size)];
+        toLandmarks = new long[fromLandmarks.length];
+        computeTables(0, landmarkIds.length);
+    }
+
+    private Landmarks(Graph<T> graph, int[] landmarkIds, long[] fromLandmarks, long[] toLandmarks){
+        this.graph = graph;
+        this.size = graph.size();
+        this.landmarkIds = landmarkIds;
+        this.fromLandmarks = fromLandmarks;
+        this.toLandmarks = toLandmarks;
+    }
+
+    /**
+     * Returns the landmark nodes
+     * @return Returns the landmark nodes
+     */
+    public List<T> getLandmarks(){
+        List<T> landmarks = new ArrayList<>(landmarkIds.length);
+        for(int id : landmarkIds)
+            landmarks.add(graph.getNode(id));
+        return landmarks;
+    }
+
+    /**
+     * Returns a lower bound for the weight of the shortest path from node from to node to. If the distance tables prove
+     * that there is no path from node from to node to, then UNREACHABLE is returned.
+     * @param from the starting node
+     * @param to the target node
+     * @return Returns a lower bound for the weight of the shortest path from node from to node to
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to is not in the graph
+     */
+    public long getLowerBound(T from, T to){
+        int fromId = graph.getId(from);
+        int toId = graph.getId(to);
+        long bound = 0;
+        for(int i = 0, offset = 0; i < landmarkIds.length; i++, offset += size){
+            long fromToLandmark = toLandmarks[offset + fromId];
+            long toToLandmark = toLandmarks[offset + toId];
+            if(toToLandmark != Long.MAX_VALUE){
+                //If to can reach the landmark, but from can not, then from can not reach to either
+                if(fromToLandmark == Long.MAX_VALUE)
+                    return UNREACHABLE;
+                bound = Math.max(bound, fromToLandmark - toToLandmark);
+            }
+            long landmarkToFrom = fromLandmarks[offset + fromId];
+            long landmarkToTo = fromLandmarks[offset + toId];
+            if(landmarkToFrom != Long.MAX_VALUE){
+                //If the landmark can reach from, but not to, then from can not reach to either
+                if(landmarkToTo == Long.MAX_VALUE)
+                    return UNREACHABLE;
+                bound = Math.max(bound, landmarkToTo - landmarkToFrom);
+            }
+        }
+        return bound;
+    }
+
+    @Override
+    public long applyAsLong(T from, T to) {
+        return getLowerBound(from, to);
+    }
+
+    /**
+     * Writes the landmarks and the distance tables to the output stream. The stream is not closed.
+     * @param out the stream the landmarks are written to
+     * @exception IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(size);
+        data.writeInt(landmarkIds.length);
+        for(int id : landmarkIds)
+            data.writeInt(id);
+        for(long distance : fromLandmarks)
+            data.writeLong(distance);
+        for(long distance : toLandmarks)
+            data.writeLong(distance);
+        data.flush();
+    }
+
+    /**
+     * Reads landmarks and distance tables that were written by writeTo for the same graph. The nodes are identified by
+     * their IDs, so the graph must have been built in the same order.
+     * @param graph the graph the landmarks were computed for
+     * @param in the stream the landmarks are read from
+     * @param <T> the type of the nodes in the graph
+     * @return Returns the landmarks that were read from the stream
+     * @exception NullPointerException if the graph or the stream is null
+     * @exception IOException if an I/O error occurs or if the stream does not contain landmarks for a graph of this size
+     */
+    public static <T> Landmarks<T> readFrom(Graph<T> graph, InputStream in) throws IOException {
+        Objects.requireNonNull(graph);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if(data.readInt() != MAGIC)
+            throw new IOException("The stream does not contain landmarks");
+        int size = data.readInt();
+        if(size != graph.size())
+            throw new IOException("The landmarks were computed for a graph with " + size + " nodes, but the graph has "
+                    + graph.size() + " nodes");
+        int count = data.readInt();
+        if(count < 0 || (long) count * size > Integer.MAX_VALUE)
+            throw new IOException("The stream contains an invalid number of landmarks: " + count);
+        int[] landmarkIds = new int[count];
+        for(int i = 0; i < landmarkIds.length; i++)
+            landmarkIds[i] = data.readInt();
+        long[] fromLandmarks = new long[count * size];
+        long[] toLandmarks = new long[count * size];
+        for(int i = 0; i < fromLandmarks.length; i++)
+            fromLandmarks[i] = data.readLong();
+        for(int i = 0; i < toLandmarks.length; i++)
+            toLandmarks[i] = data.readLong();
+        return new Landmarks<>(graph, landmarkIds, fromLandmarks, toLandmarks);
+    }
+
+    //The tables store the distances of every landmark to and from every node in a single array
+    private static int getTableLength(int count, int size){
+        long length = (long) count * size;
+        if(length > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(count + " landmarks in a graph with " + size
+                    + " nodes need more than Integer.MAX_VALUE entries per distance table");
+        return (int) length;
+    }
+
+    private void selectLandmarks(Strategy strategy){
+        if(landmarkIds.length == 0)
+            return;
+
+        Random random = ThreadLocalRandom.current();
+        if(strategy == Strategy.RANDOM){
+            int[] permutation = IntStream.range(0, size).toArray();
+            for(int i = 0; i < landmarkIds.length; i++){
+                int j = i + random.nextInt(size - i);
+                int tmp = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = tmp;
+                landmarkIds[i] = permutation[i];
+            }
+            computeTables(0, landmarkIds.length);
+            return;
+        }
+
+        for(int i = 0; i < landmarkIds.length; i++){
+            int root = random.nextInt(size);
+            landmarkIds[i] = strategy == Strategy.FARTHEST ? selectFarthest(i, root) : selectAvoid(i, root);
+            computeTables(i, i + 1);
+        }
+    }
+
+    //Returns the node with the largest distance from the first count landmarks (or from root if there are none)
+    private int selectFarthest(int count, int root){
+        long[] distances = count == 0 ? SingleSourceSearch.run(graph, root, true, null) : null;
+        int farthest = -1;
+        long maxDistance = -1;
+        for(int v = 0; v < size; v++){
+            long distance = Long.MAX_VALUE;
+            if(distances != null)
+                distance = distances[v];
+            for(int i = 0; i < count; i++){
+                long fromLandmark = fromLandmarks[i * size + v];
+                long toLandmark = toLandmarks[i * size + v];
+                if(fromLandmark != Long.MAX_VALUE && toLandmark != Long.MAX_VALUE)
+                    distance = Math.min(distance, fromLandmark + toLandmark);
+                else
+                    distance = Math.min(distance, Math.min(fromLandmark, toLandmark));
+            }
+            if(distance != Long.MAX_VALUE && distance > maxDistance && !isLandmark(v, count)){
+                maxDistance = distance;
+                farthest = v;
+            }
+        }
+        return farthest >= 0 ? farthest : anyNonLandmark(count, root);
+    }
+
+    /*
+     * Grows a shortest path tree from root and weighs every node by how much the current landmarks underestimate its
+     * distance from root. Then the tree is descended from root into the heaviest subtree that does not contain a
+     * landmark yet and the leaf that is reached becomes the next landmark.
+     */
+    private int selectAvoid(int count, int root){
+        int[] previous = new int[size];
+        long[] distances = SingleSourceSearch.run(graph, root, true, previous);
+
+        List<List<Integer>> children = new ArrayList<>(size);
+        for(int v = 0; v < size; v++)
+            children.add(new ArrayList<>());
+        int[] order = new int[size];
+        int reached = 0;
+        for(int v = 0; v < size; v++){
+            if(previous[v] >= 0)
+                children.get(previous[v]).add(v);
+        }
+        order[reached++] = root;
+        for(int i = 0; i < reached; i++){
+            for(int child : children.get(order[i]))
+                order[reached++] = child;
+        }
+
+        long[] weights = new long[size];
+        boolean[] containsLandmark = new boolean[size];
+        T rootNode = graph.getNode(root);
+        for(int i = reached - 1; i >= 0; i--){
+            int v = order[i];
+            containsLandmark[v] |= isLandmark(v, count);
+            if(containsLandmark[v]){
+                weights[v] = 0;
+            }
+            else{
+                weights[v] += distances[v] - (count == 0 ? 0 : getLowerBound(rootNode, graph.getNode(v)));
+            }
+            if(previous[v] >= 0){
+                containsLandmark[previous[v]] |= containsLandmark[v];
+                weights[previous[v]] += weights[v];
+            }
+        }
+
+        int current = root;
+        while(true){
+            int heaviest = -1;
+            for(int child : children.get(current)){
+                if(!containsLandmark[child] && (heaviest < 0 || weights[child] > weights[heaviest]))
+                    heaviest = child;
+            }
+            if(heaviest < 0)
+                break;
+            current = heaviest;
+        }
+
+        return isLandmark(current, count) ? anyNonLandmark(count, root) : current;
+    }
+
+    private boolean isLandmark(int v, int count){
+        for(int i = 0; i < count; i++){
+            if(landmarkIds[i] == v)
+                return true;
+        }
+        return false;
+    }
+
+    private int anyNonLandmark(int count, int start){
+        for(int i = 0; i < size; i++){
+            int v = (start + i) % size;
+            if(!isLandmark(v, count))
+                return v;
+        }
+        throw new IllegalStateException("There are more landmarks than nodes");
+    }
+
+    //Computes the distance tables of the landmarks from, from + 1, ..., to - 1 with two parallel Dijkstra runs each
+    private void computeTables(int from, int to){
+        IntStream.range(2 * from, 2 * to).parallel().forEach(task -> {
+            int i = task / 2;
+            boolean forward = task % 2 == 0;
+            long[] distances = SingleSourceSearch.run(graph, landmarkIds[i], forward, null);
+            System.arraycopy(distances, 0, forward ? fromLandmarks : toLandmarks, i * size, size);
+        });
+    }
+}
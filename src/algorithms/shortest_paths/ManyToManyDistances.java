@@ -0,0 +1,225 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the weights of the shortest paths from every node of a list of sources to every node of a list of targets
+ * in a graph without negative edge weights. The result is a flat long array in row-major order, so no objects are
+ * created per entry. Without a contraction hierarchy, a Dijkstra search is run from every source on a CompactGraph
+ * snapshot until all targets are settled. The searches run in parallel and reuse pooled working memory, so there is
+ * no allocation proportional to the graph size per source. With a contraction hierarchy, the bucket-based
+ * many-to-many algorithm is used: a backward upward search from every target stores its distances in buckets at the
+ * nodes it settles, and a forward upward search from every source combines its distances with the buckets of the
+ * nodes it settles. Since the upward search spaces are tiny, this is much faster for large matrices. Note that the
+ * graph must not be changed after the creation of an instance, because then the results might not reflect the
+ * changes made in the graph.
+ * @param <T> the type of the nodes in the graph
+ */
+public class ManyToManyDistances<T> {
+
+    private final Graph<T> graph;
+    private final CompactGraph<T> compactGraph;
+    private final ContractionHierarchies<T> hierarchies;
+    private final SearchScratchPool scratchPool;
+
+    /**
+     * Creates an instance that computes the distances with Dijkstra searches on a snapshot of the graph. Note that the
+     * graph must not contain negative edge weights.
+     * @param graph the graph the distances will be calculated on
+     * @exception NullPointerException if the graph is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public ManyToManyDistances(Graph<T> graph) {
+        this(new CompactGraph<>(graph));
+    }
+
+    /**
+     * Creates an instance that computes the distances with Dijkstra searches on a snapshot of a graph. Note that the
+     * graph must not contain negative edge weights.
+     * @param compactGraph the snapshot the distances will be calculated on
+     * @exception NullPointerException if the snapshot is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public ManyToManyDistances(CompactGraph<T> compactGraph) {
+        if (compactGraph.getMinEdgeWeight() < 0)
+            throw new RuntimeException("Graph must not contain negative weight edges");
+        this.graph = compactGraph.getGraph();
+        this.compactGraph = compactGraph;
+        this.hierarchies = null;
+        scratchPool = new SearchScratchPool();
+    }
+
+    /**
+     * Creates an instance that computes the distances with the bucket-based many-to-many algorithm on a contraction
+     * hierarchy
+     * @param hierarchies the contraction hierarchy of the graph the distances will be calculated on
+     * @exception NullPointerException if the hierarchy is null
+     */
+    public ManyToManyDistances(ContractionHierarchies<T> hierarchies) {
+        Objects.requireNonNull(hierarchies);
+        this.graph = hierarchies.graph;
+        this.compactGraph = null;
+        this.hierarchies = hierarchies;
+        scratchPool = new SearchScratchPool();
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the sources to the targets as a flat array in row-major order,
+     * i.e. the weight of the shortest path from sources.get(i) to targets.get(j) is at index i * targets.size() + j.
+     * The weight is Long.MAX_VALUE if there is no path.
+     * @param sources the start nodes
+     * @param targets the target nodes
+     * @return Returns the weights of the shortest paths from the sources to the targets in row-major order
+     * @exception NullPointerException if sources, targets or one of their nodes is null
+     * @exception IllegalArgumentException if one of the nodes is not contained in the graph or if the matrix has more
+     * than Integer.MAX_VALUE entries
+     */
+    public long[] getDistances(List<T> sources, List<T> targets) {
+        int[] sourceIds = getIds(sources);
+        int[] targetIds = getIds(targets);
+        if ((long) sourceIds.length * targetIds.length > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("The matrix must not have more than " + Integer.MAX_VALUE + " entries");
+
+        long[] matrix = new long[sourceIds.length * targetIds.length];
+        Arrays.fill(matrix, Long.MAX_VALUE);
+        if (hierarchies == null)
+            computeWithDijkstra(sourceIds, targetIds, matrix);
+        else
+            computeWithBuckets(sourceIds, targetIds, matrix);
+        return matrix;
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the sources to the targets, where the entry [i][j] is the weight
+     * of the shortest path from sources.get(i) to targets.get(j). The weight is Long.MAX_VALUE if there is no path.
+     * @param sources the start nodes
+     * @param targets the target nodes
+     * @return Returns the weights of the shortest paths from the sources to the targets
+     * @exception NullPointerException if sources, targets or one of their nodes is null
+     * @exception IllegalArgumentException if one of the nodes is not contained in the graph or if the matrix has more
+     * than Integer.MAX_VALUE entries
+     */
+    public long[][] getDistanceMatrix(List<T> sources, List<T> targets) {
+        long[] flat = getDistances(sources, targets);
+        long[][] matrix = new long[sources.size()][];
+        for (int i = 0; i < matrix.length; i++)
+            matrix[i] = Arrays.copyOfRange(flat, i * targets.size(), (i + 1) * targets.size());
+        return matrix;
+    }
+
+    private int[] getIds(List<T> nodes) {
+        Objects.requireNonNull(nodes);
+        int[] ids = new int[nodes.size()];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = compactGraph != null ? compactGraph.getId(nodes.get(i)) : graph.getId(nodes.get(i));
+        return ids;
+    }
+
+    private void computeWithDijkstra(int[] sourceIds, int[] targetIds, long[] matrix) {
+        int size = compactGraph.size();
+        boolean[] isTarget = new boolean[size];
+        int distinctTargets = 0;
+        for (int targetId : targetIds) {
+            if (!isTarget[targetId]) {
+                isTarget[targetId] = true;
+                distinctTargets++;
+            }
+        }
+        int targetCount = distinctTargets;
+
+        IntStream.range(0, sourceIds.length).parallel().forEach(i -> {
+            SearchScratch scratch = scratchPool.acquire();
+            try {
+                scratch.begin(size);
+                scratch.reach(sourceIds[i], 0);
+                scratch.push(sourceIds[i], 0);
+                int settledTargets = 0;
+                //The search stops as soon as every target is settled
+                while (!scratch.isHeapEmpty() && settledTargets < targetCount) {
+                    long dist = scratch.peekKey();
+                    int u = scratch.pop();
+                    if (dist > scratch.distances[u])
+                        continue;
+                    if (isTarget[u])
+                        settledTargets++;
+                    for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                        int v = compactGraph.getEdgeTarget(e);
+                        long vDist = dist + compactGraph.getEdgeWeight(e);
+                        if (vDist < scratch.getDistance(v)) {
+                            scratch.reach(v, vDist);
+                            scratch.push(v, vDist);
+                        }
+                    }
+                }
+                int row = i * targetIds.length;
+                for (int j = 0; j < targetIds.length; j++)
+                    matrix[row + j] = scratch.getDistance(targetIds[j]);
+            }
+            finally {
+                scratchPool.release(scratch);
+            }
+        });
+    }
+
+    private void computeWithBuckets(int[] sourceIds, int[] targetIds, long[] matrix) {
+        int size = graph.size();
+        int columns = targetIds.length;
+        //The backward search spaces of the targets, which are turned into buckets at the nodes afterwards
+        int[][] spaceNodes = new int[columns][];
+        long[][] spaceDistances = new long[columns][];
+        IntStream.range(0, columns).parallel().forEach(j -> {
+            SearchScratch scratch = scratchPool.acquire();
+            try {
+                int settled = hierarchies.upwardSearch(targetIds[j], false, scratch);
+                spaceNodes[j] = Arrays.copyOf(scratch.queue, settled);
+                spaceDistances[j] = new long[settled];
+                for (int k = 0; k < settled; k++)
+                    spaceDistances[j][k] = scratch.distances[spaceNodes[j][k]];
+            }
+            finally {
+                scratchPool.release(scratch);
+            }
+        });
+
+        int[] bucketOffsets = new int[size + 1];
+        for (int[] nodes : spaceNodes) {
+            for (int node : nodes)
+                bucketOffsets[node + 1]++;
+        }
+        for (int id = 0; id < size; id++)
+            bucketOffsets[id + 1] += bucketOffsets[id];
+        int[] bucketTargets = new int[bucketOffsets[size]];
+        long[] bucketDistances = new long[bucketOffsets[size]];
+        int[] next = Arrays.copyOf(bucketOffsets, size);
+        for (int j = 0; j < columns; j++) {
+            for (int k = 0; k < spaceNodes[j].length; k++) {
+                int entry = next[spaceNodes[j][k]]++;
+                bucketTargets[entry] = j;
+                bucketDistances[entry] = spaceDistances[j][k];
+            }
+        }
+
+        IntStream.range(0, sourceIds.length).parallel().forEach(i -> {
+            SearchScratch scratch = scratchPool.acquire();
+            try {
+                int settled = hierarchies.upwardSearch(sourceIds[i], true, scratch);
+                int row = i * columns;
+                for (int k = 0; k < settled; k++) {
+                    int node = scratch.queue[k];
+                    long dist = scratch.distances[node];
+                    for (int entry = bucketOffsets[node]; entry < bucketOffsets[node + 1]; entry++) {
+                        int index = row + bucketTargets[entry];
+                        matrix[index] = Math.min(matrix[index], dist + bucketDistances[entry]);
+                    }
+                }
+            }
+            finally {
+                scratchPool.release(scratch);
+            }
+        });
+    }
+}
@@ -0,0 +1,418 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * The weights of the shortest paths between all pairs of nodes, stored in a memory-mapped file instead of the heap,
+ * so the matrix may be much larger than the available memory. The matrix is split into square tiles of blockSize x
+ * blockSize entries, and every tile is stored contiguously in the file, so the entries of nearby pairs of nodes share
+ * pages of the page cache. The file is mapped in segments of whole tiles, since a single mapping is limited to 2 GB.
+ * The matrix can be computed in two ways: the blocked Floyd-Warshall algorithm copies the diagonal tile, a tile of its
+ * row, a tile of its column and the tile to update into the heap, so only a few tiles per thread are held in memory
+ * while the operating system pages the rest of the file. This needs O(|V|^3) time and is suitable for graphs with
+ * many edges. Alternatively, a Dijkstra search is run from every node in parallel, with the weights reduced by
+ * potentials as in Johnson's algorithm if there are negative weights, and the rows are written directly to the file.
+ * This needs O(|V||E|log(|V|)) time, which is much faster for sparse graphs. The entries are stored in the native
+ * byte order behind a header with the number of nodes and the tile size, which is only written after the matrix is
+ * complete. An existing file can be opened read-only for the same graph. Note that the graph must not be changed
+ * after the computation, because then the distances might not reflect the changes made in the graph. The file is
+ * unmapped when the buffers are garbage collected, so it may not be deletable before on some platforms.
+ * @param <T> the type of the nodes in the graph
+ */
+public class MappedDistanceMatrix<T> implements Closeable {
+
+    /**
+     * The algorithm that computes the matrix
+     */
+    public enum Algorithm {
+        /**
+         * The blocked Floyd-Warshall algorithm on the tiles of the file in O(|V|^3)
+         */
+        FLOYD_WARSHALL,
+        /**
+         * A Dijkstra search from every node in O(|V||E|log(|V|)), with reduced weights if there are negative weights
+         */
+        DIJKSTRA
+    }
+
+    private static final int MAGIC = 0x4D444D31;
+    //The header takes a whole page, so the tiles are aligned to pages
+    private static final int HEADER_SIZE = 4096;
+    private static final int DEFAULT_BLOCK_SIZE = 256;
+    private static final int MAX_BLOCK_SIZE = 8192;
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    private final Graph<T> graph;
+    private final int size;
+    private final int blockSize;
+    private final int blocks;
+    private final int tileLength;
+    private final int tilesPerSegment;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] mappings;
+    private final LongBuffer[] segments;
+
+    private MappedDistanceMatrix(Graph<T> graph, FileChannel channel, int blockSize, boolean writable)
+            throws IOException {
+        this.graph = graph;
+        this.size = graph.size();
+        this.blockSize = blockSize;
+        this.blocks = (size + blockSize - 1) / blockSize;
+        this.tileLength = blockSize * blockSize;
+        this.tilesPerSegment = (int) Math.max(1, MAX_SEGMENT_SIZE / (8L * tileLength));
+        this.channel = channel;
+
+        long tiles = (long) blocks * blocks;
+        mappings = new MappedByteBuffer[(int) ((tiles + tilesPerSegment - 1) / tilesPerSegment)];
+        segments = new LongBuffer[mappings.length];
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        for (int segment = 0; segment < segments.length; segment++) {
+            long firstTile = (long) segment * tilesPerSegment;
+            long length = Math.min(tilesPerSegment, tiles - firstTile) * 8L * tileLength;
+            mappings[segment] = channel.map(mode, HEADER_SIZE + firstTile * 8L * tileLength, length);
+            segments[segment] = mappings[segment].order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+    }
+
+    /**
+     * Computes the weights of the shortest paths between all pairs of nodes of the graph into the file with tiles of
+     * 256 x 256 entries in the common fork-join pool. An existing file is overwritten. Note that the graph must not
+     * contain negative cycles.
+     * @param graph the graph the distances will be calculated on
+     * @param file the file the matrix is stored in
+     * @param algorithm the algorithm that computes the matrix
+     * @param <T> the type of the nodes in the graph
+     * @return Returns the matrix that is mapped from the file
+     * @exception NullPointerException if the graph, the file or the algorithm is null
+     * @exception IOException if an I/O error occurs
+     * @exception RuntimeException if the graph contains a negative cycle
+     */
+    public static <T> MappedDistanceMatrix<T> compute(Graph<T> graph, Path file, Algorithm algorithm)
+            throws IOException {
+        return compute(graph, file, algorithm, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the weights of the shortest paths between all pairs of nodes of the graph into the file with tiles of
+     * the specified size in the specified pool. An existing file is overwritten. If the computation fails, then the
+     * file does not contain a valid header. Note that the graph must not contain negative cycles.
+     * @param graph the graph the distances will be calculated on
+     * @param file the file the matrix is stored in
+     * @param algorithm the algorithm that computes the matrix
+     * @param blockSize the number of rows and columns of a tile
+     * @param pool the pool the tiles or rows are computed in
+     * @param <T> the type of the nodes in the graph
+     * @return Returns the matrix that is mapped from the file
+     * @exception NullPointerException if the graph, the file, the algorithm or the pool is null
+     * @exception IllegalArgumentException if blockSize is not between 1 and 8192
+     * @exception IOException if an I/O error occurs
+     * @exception RuntimeException if the graph contains a negative cycle
+     */
+    public static <T> MappedDistanceMatrix<T> compute(Graph<T> graph, Path file, Algorithm algorithm, int blockSize,
+                                                      ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(graph);
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(algorithm);
+        Objects.requireNonNull(pool);
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE)
+            throw new IllegalArgumentException("blockSize must be between 1 and " + MAX_BLOCK_SIZE);
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedDistanceMatrix<T> matrix = new MappedDistanceMatrix<>(graph, channel, blockSize, true);
+            CompactGraph<T> compactGraph = new CompactGraph<>(graph);
+            if (algorithm == Algorithm.FLOYD_WARSHALL)
+                matrix.computeWithFloydWarshall(compactGraph, pool);
+            else
+                matrix.computeWithDijkstra(compactGraph, pool);
+            //The header is only written after the tiles are on the disk, so an incomplete file is never opened
+            for (MappedByteBuffer mapping : matrix.mappings)
+                mapping.force();
+            matrix.writeHeader();
+            return matrix;
+        }
+        catch (IOException | RuntimeException | Error e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a matrix that was computed for the same graph read-only. The nodes are identified by their IDs, so the
+     * graph must have been built in the same order.
+     * @param graph the graph the matrix was computed for
+     * @param file the file the matrix is stored in
+     * @param <T> the type of the nodes in the graph
+     * @return Returns the matrix that is mapped from the file
+     * @exception NullPointerException if the graph or the file is null
+     * @exception IOException if an I/O error occurs or if the file does not contain a complete matrix for a graph of
+     * this size
+     */
+    public static <T> MappedDistanceMatrix<T> open(Graph<T> graph, Path file) throws IOException {
+        Objects.requireNonNull(graph);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.nativeOrder());
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                //Reads until the header is complete or the end of the file is reached
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC)
+                throw new IOException("The file does not contain a distance matrix");
+            int size = header.getInt(4);
+            int blockSize = header.getInt(8);
+            if (size != graph.size())
+                throw new IOException("The matrix was computed for a graph with " + size + " nodes, but the graph has "
+                        + graph.size() + " nodes");
+            if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE)
+                throw new IOException("The file does not contain a distance matrix");
+            long blocks = (size + blockSize - 1) / blockSize;
+            if (channel.size() < HEADER_SIZE + blocks * blocks * blockSize * blockSize * 8L)
+                throw new IOException("The file does not contain a complete distance matrix");
+            return new MappedDistanceMatrix<>(graph, channel, blockSize, false);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the weight of the shortest path from one node to another or null if there is no path
+     * @param from the start node
+     * @param to the target node
+     * @return Returns the weight of the shortest path from one node to another or null if there is no path
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to is not in the graph or was added after the computation
+     */
+    public Long getDistance(T from, T to) {
+        int fromId = getId(from);
+        int toId = getId(to);
+        long tile = (long) (fromId / blockSize) * blocks + toId / blockSize;
+        int offset = (int) (tile % tilesPerSegment) * tileLength + (fromId % blockSize) * blockSize + toId % blockSize;
+        long distance = segments[(int) (tile / tilesPerSegment)].get(offset);
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the start node to all nodes, indexed by the node IDs. The weight
+     * is Long.MAX_VALUE if there is no path.
+     * @param from the start node
+     * @return Returns the weights of the shortest paths from the start node to all nodes
+     * @exception NullPointerException if from is null
+     * @exception IllegalArgumentException if from is not in the graph or was added after the computation
+     */
+    public long[] getDistances(T from) {
+        int fromId = getId(from);
+        long[] distances = new long[size];
+        for (int jBlock = 0; jBlock < blocks; jBlock++) {
+            LongBuffer view = getTileView(fromId / blockSize, jBlock);
+            view.position(view.position() + (fromId % blockSize) * blockSize);
+            view.get(distances, jBlock * blockSize, Math.min(blockSize, size - jBlock * blockSize));
+        }
+        return distances;
+    }
+
+    //Nodes that were added after the computation have IDs in the padding of the tiles
+    private int getId(T node) {
+        int id = graph.getId(node);
+        if (id >= size)
+            throw new IllegalArgumentException(node + " was added to the graph after the computation of the matrix!");
+        return id;
+    }
+
+    /**
+     * Returns the number of rows and columns of a tile
+     * @return Returns the number of rows and columns of a tile
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Closes the file. The mapping is released when the buffers are garbage collected.
+     * @exception IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.nativeOrder());
+        header.putInt(MAGIC).putInt(size).putInt(blockSize).flip();
+        while (header.hasRemaining())
+            channel.write(header, header.position());
+        channel.force(false);
+    }
+
+    //Returns a view of the segment that is positioned at the first entry of the tile
+    private LongBuffer getTileView(int iBlock, int jBlock) {
+        long tile = (long) iBlock * blocks + jBlock;
+        LongBuffer view = segments[(int) (tile / tilesPerSegment)].duplicate();
+        view.position((int) (tile % tilesPerSegment) * tileLength);
+        return view;
+    }
+
+    private void readTile(int iBlock, int jBlock, long[] tile) {
+        getTileView(iBlock, jBlock).get(tile);
+    }
+
+    private void writeTile(int iBlock, int jBlock, long[] tile) {
+        getTileView(iBlock, jBlock).put(tile);
+    }
+
+    private void computeWithFloydWarshall(CompactGraph<T> compactGraph, ForkJoinPool pool) {
+        //Missing edges and the padding of the tiles at the border are initialized with a finite value, so the kernel
+        //needs no check for overflows
+        pool.invoke(new BlockTask(0, blocks, iBlock -> {
+            long[] tile = new long[tileLength];
+            for (int jBlock = 0; jBlock < blocks; jBlock++) {
+                Arrays.fill(tile, MinPlusKernel.INFINITY);
+                int jStart = jBlock * blockSize;
+                for (int i = iBlock * blockSize; i < Math.min(size, (iBlock + 1) * blockSize); i++) {
+                    int row = (i % blockSize) * blockSize;
+                    if (iBlock == jBlock)
+                        tile[row + i % blockSize] = 0;
+                    for (int e = compactGraph.getOutEdgesStart(i); e < compactGraph.getOutEdgesEnd(i); e++) {
+                        int j = compactGraph.getEdgeTarget(e);
+                        if (j >= jStart && j < jStart + blockSize)
+                            tile[row + j - jStart] = Math.min(tile[row + j - jStart], compactGraph.getEdgeWeight(e));
+                    }
+                }
+                writeTile(iBlock, jBlock, tile);
+            }
+        }));
+
+        for (int kBlock = 0; kBlock < blocks; kBlock++) {
+            int k = kBlock;
+            //Phase 1: the tile on the diagonal only depends on itself
+            long[] diagonal = new long[tileLength];
+            readTile(k, k, diagonal);
+            updateTile(diagonal, diagonal, diagonal);
+            writeTile(k, k, diagonal);
+
+            //Phase 2: the tiles in the row and the column of the diagonal tile
+            pool.invoke(new BlockTask(0, blocks, other -> {
+                if (other == k)
+                    return;
+                long[] tile = new long[tileLength];
+                readTile(other, k, tile);
+                updateTile(tile, tile, diagonal);
+                writeTile(other, k, tile);
+                readTile(k, other, tile);
+                updateTile(tile, diagonal, tile);
+                writeTile(k, other, tile);
+            }));
+
+            //Phase 3: all remaining tiles, where the tile of the column is read once per row of tiles
+            pool.invoke(new BlockTask(0, blocks, iBlock -> {
+                if (iBlock == k)
+                    return;
+                long[] column = new long[tileLength];
+                long[] row = new long[tileLength];
+                long[] tile = new long[tileLength];
+                readTile(iBlock, k, column);
+                for (int jBlock = 0; jBlock < blocks; jBlock++) {
+                    if (jBlock == k)
+                        continue;
+                    readTile(k, jBlock, row);
+                    readTile(iBlock, jBlock, tile);
+                    updateTile(tile, column, row);
+                    writeTile(iBlock, jBlock, tile);
+                }
+            }));
+
+            //Check for negative cycles after every block, so the distances of a negative cycle cannot overflow
+            for (int id = 0; id < size; id++) {
+                long tile = (long) (id / blockSize) * (blocks + 1);
+                int offset = (int) (tile % tilesPerSegment) * tileLength + (id % blockSize) * (blockSize + 1);
+                if (segments[(int) (tile / tilesPerSegment)].get(offset) < 0)
+                    throw new RuntimeException("Graph contains a negative cycle");
+            }
+        }
+
+        pool.invoke(new BlockTask(0, blocks, iBlock -> {
+            long[] tile = new long[tileLength];
+            for (int jBlock = 0; jBlock < blocks; jBlock++) {
+                readTile(iBlock, jBlock, tile);
+                MinPlusKernel.toPublicInfinity(tile);
+                writeTile(iBlock, jBlock, tile);
+            }
+        }));
+    }
+
+    /*
+     * Updates the target tile with the intermediate nodes of a block, where ik is the tile in the row of the target and
+     * the column of the block and kj the tile in the row of the block and the column of the target. The intermediate
+     * nodes are processed in increasing order, so the target may be the same array as ik or kj.
+     */
+    private void updateTile(long[] target, long[] ik, long[] kj) {
+        for (int k = 0; k < blockSize; k++) {
+            for (int i = 0; i < blockSize; i++) {
+                long dik = ik[i * blockSize + k];
+                if (dik < MinPlusKernel.UNREACHABLE)
+                    MinPlusKernel.relax(target, i * blockSize, dik, kj, k * blockSize, blockSize);
+            }
+        }
+    }
+
+    private void computeWithDijkstra(CompactGraph<T> compactGraph, ForkJoinPool pool) {
+        //Without negative weights, the potentials are 0 after a single pass over the edges
+        Johnson<T> johnson = new Johnson<>(compactGraph);
+        johnson.computePotentials();
+
+        pool.invoke(new BlockTask(0, size, fromId -> {
+            long[] distances = new long[size];
+            johnson.search(fromId, distances, null);
+            for (int jBlock = 0; jBlock < blocks; jBlock++) {
+                LongBuffer view = getTileView(fromId / blockSize, jBlock);
+                view.position(view.position() + (fromId % blockSize) * blockSize);
+                view.put(distances, jBlock * blockSize, Math.min(blockSize, size - jBlock * blockSize));
+            }
+        }));
+    }
+
+    /*
+     * Runs the action for every index in a range, where the range is split among the tasks of the pool
+     */
+    private static final class BlockTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        private BlockTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BlockTask(from, middle, action), new BlockTask(middle, to, action));
+                return;
+            }
+            if (from < to)
+                action.accept(from);
+        }
+    }
+}
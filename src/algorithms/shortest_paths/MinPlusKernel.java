@@ -0,0 +1,48 @@
+package algorithms.shortest_paths;
+
+/**
+ * The inner loops of the min-plus algorithms on flat distance matrices, i.e. target[j] = min(target[j], value +
+ * source[j]) for a segment of a row. Missing entries must be stored as INFINITY instead of Long.MAX_VALUE, so the
+ * loops need no check for overflows: as long as the sum of the negative entries on a path is larger than
+ * -INFINITY / 2, every entry of at least UNREACHABLE means that there is no path. The value must be smaller than
+ * UNREACHABLE.
+ */
+final class MinPlusKernel {
+
+    static final long INFINITY = Long.MAX_VALUE / 4;
+    static final long UNREACHABLE = INFINITY / 2;
+
+    private MinPlusKernel() {
+    }
+
+    /*
+     * Lowers the entries of the target segment to the sums of the value and the entries of the source segment
+     */
+    static void relax(long[] target, int targetOffset, long value, long[] source, int sourceOffset, int length) {
+        for (int j = 0; j < length; j++) {
+            long distance = value + source[sourceOffset + j];
+            if (distance < target[targetOffset + j])
+                target[targetOffset + j] = distance;
+        }
+    }
+
+    /*
+     * Replaces every entry of at least UNREACHABLE by Long.MAX_VALUE
+     */
+    static void toPublicInfinity(long[] matrix) {
+        for (int index = 0; index < matrix.length; index++)
+            if (matrix[index] >= UNREACHABLE)
+                matrix[index] = Long.MAX_VALUE;
+    }
+
+    /*
+     * Replaces every entry of Long.MAX_VALUE by INFINITY
+     */
+    static long[] toKernelInfinity(long[] matrix) {
+        long[] copy = matrix.clone();
+        for (int index = 0; index < copy.length; index++)
+            if (copy[index] == Long.MAX_VALUE)
+                copy[index] = INFINITY;
+        return copy;
+    }
+}
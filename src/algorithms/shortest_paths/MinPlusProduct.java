@@ -0,0 +1,219 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes min-plus products of |V| x |V| matrices of a graph, where the entry [i][j] of the product of A and B is the
+ * minimum of A[i][k] + B[k][j] over all k. The matrices are flat long arrays in row-major order that are indexed by
+ * the node IDs, and a missing entry is Long.MAX_VALUE. If W is the weight matrix of the graph with 0 on the diagonal,
+ * then the entry [i][j] of the m-th power of W is the weight of the shortest path from i to j with at most m edges, so
+ * the weights of all shortest paths are computed by squaring W until it does not change anymore, which takes at most
+ * log(|V|) products. A product takes O(|V|^3), so this is slower than the FloydWarshall implementation unless the
+ * shortest paths have only few edges, but it is also suitable for computing shortest paths with a bounded number of
+ * edges. The products are computed on tiles that fit into the cache, and the rows are distributed over the tasks of a
+ * fork-join pool. Note that the graph must not be changed after the creation of an instance, because then the results
+ * might not reflect the changes made in the graph.
+ * @param <T> the type of the nodes in the graph
+ */
+public class MinPlusProduct<T> {
+
+    private static final int BLOCK_SIZE = 64;
+
+    private final Graph<T> graph;
+    private final int size;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an instance for computing min-plus products of matrices of the graph in the common fork-join pool
+     * @param graph the graph the matrices belong to
+     * @exception NullPointerException if the graph is null
+     * @exception IllegalArgumentException if the graph has more than 46340 nodes
+     */
+    public MinPlusProduct(Graph<T> graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an instance for computing min-plus products of matrices of the graph in the specified pool
+     * @param graph the graph the matrices belong to
+     * @param pool the pool the rows of the products are computed in
+     * @exception NullPointerException if the graph or the pool is null
+     * @exception IllegalArgumentException if the graph has more than 46340 nodes
+     */
+    public MinPlusProduct(Graph<T> graph, ForkJoinPool pool) {
+        Objects.requireNonNull(graph);
+        Objects.requireNonNull(pool);
+        if ((long) graph.size() * graph.size() > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("The graph must not have more than 46340 nodes");
+        this.graph = graph;
+        this.size = graph.size();
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the weight matrix of the graph in row-major order, where the entry [i][j] is the weight of the edge from
+     * the node with ID i to the node with ID j, 0 if i equals j and Long.MAX_VALUE if there is no such edge. A
+     * self-loop with a negative weight is stored on the diagonal.
+     * @return Returns the weight matrix of the graph
+     */
+    public long[] getWeightMatrix() {
+        long[] matrix = new long[size * size];
+        Arrays.fill(matrix, Long.MAX_VALUE);
+        for (int id = 0; id < size; id++) {
+            T start = graph.getNode(id);
+            matrix[id * size + id] = 0;
+            for (T succ : graph.getSuccessors(start)) {
+                int index = id * size + graph.getId(succ);
+                matrix[index] = Math.min(matrix[index], graph.getEdgeWeight(start, succ));
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the min-plus product of two matrices in row-major order. The entry is Long.MAX_VALUE if there is no k
+     * such that both a[i][k] and b[k][j] are not Long.MAX_VALUE.
+     * @param a the left matrix
+     * @param b the right matrix
+     * @return Returns the min-plus product of the matrices
+     * @exception NullPointerException if a or b is null
+     * @exception IllegalArgumentException if a or b does not have |V|^2 entries
+     */
+    public long[] multiply(long[] a, long[] b) {
+        checkMatrix(a);
+        checkMatrix(b);
+        long[] product = multiplyInternal(MinPlusKernel.toKernelInfinity(a), MinPlusKernel.toKernelInfinity(b));
+        MinPlusKernel.toPublicInfinity(product);
+        return product;
+    }
+
+    /**
+     * Returns the weights of the shortest paths between all pairs of nodes in row-major order, where the entry [i][j]
+     * is the weight of the shortest path from the node with ID i to the node with ID j and Long.MAX_VALUE if there is
+     * no path. The weight matrix of the graph is squared until it does not change anymore.
+     * @return Returns the weights of the shortest paths between all pairs of nodes
+     * @exception RuntimeException if the graph contains a negative cycle
+     */
+    public long[] getDistanceMatrix() {
+        long[] distances = MinPlusKernel.toKernelInfinity(getWeightMatrix());
+        checkForNegativeCycle(distances);
+        //A negative cycle has at most |V| edges and decreases a diagonal entry once the paths may have that many edges
+        for (long edges = 1; edges < size; edges *= 2) {
+            long[] squared = multiplyInternal(distances, distances);
+            checkForNegativeCycle(squared);
+            if (Arrays.equals(squared, distances))
+                break;
+            distances = squared;
+        }
+        MinPlusKernel.toPublicInfinity(distances);
+        return distances;
+    }
+
+    /**
+     * Returns the weights of the shortest paths with at most the specified number of edges between all pairs of nodes
+     * in row-major order, where the entry [i][j] is the weight of the shortest path from the node with ID i to the node
+     * with ID j with at most maxEdges edges and Long.MAX_VALUE if there is no such path. The power of the weight matrix
+     * is computed by repeated squaring.
+     * @param maxEdges the maximal number of edges of the paths
+     * @return Returns the weights of the shortest paths with at most maxEdges edges between all pairs of nodes
+     * @exception IllegalArgumentException if maxEdges is negative
+     * @exception RuntimeException if the graph contains a negative cycle with at most maxEdges edges
+     */
+    public long[] getDistanceMatrix(int maxEdges) {
+        if (maxEdges < 0)
+            throw new IllegalArgumentException("maxEdges must not be negative");
+        long[] power = new long[size * size];
+        Arrays.fill(power, MinPlusKernel.INFINITY);
+        for (int id = 0; id < size; id++)
+            power[id * size + id] = 0;
+
+        long[] base = MinPlusKernel.toKernelInfinity(getWeightMatrix());
+        for (int remaining = maxEdges; remaining > 0; remaining >>>= 1) {
+            checkForNegativeCycle(base);
+            if ((remaining & 1) != 0) {
+                power = multiplyInternal(power, base);
+                checkForNegativeCycle(power);
+            }
+            if (remaining > 1)
+                base = multiplyInternal(base, base);
+        }
+        MinPlusKernel.toPublicInfinity(power);
+        return power;
+    }
+
+    private void checkMatrix(long[] matrix) {
+        Objects.requireNonNull(matrix);
+        if (matrix.length != size * size)
+            throw new IllegalArgumentException("The matrix must have " + size * size + " entries");
+    }
+
+    /*
+     * The paths of the matrices can only become shorter than the paths of their factors by a diagonal entry below 0,
+     * so checking every computed matrix also prevents overflows
+     */
+    private void checkForNegativeCycle(long[] matrix) {
+        for (int id = 0; id < size; id++)
+            if (matrix[id * size + id] < 0)
+                throw new RuntimeException("Graph contains a negative cycle");
+    }
+
+    private long[] multiplyInternal(long[] a, long[] b) {
+        long[] product = new long[size * size];
+        Arrays.fill(product, MinPlusKernel.INFINITY);
+        int rowBlocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        pool.invoke(new ProductTask(a, b, product, 0, rowBlocks));
+        return product;
+    }
+
+    /*
+     * Computes the rows of a range of row blocks of the product. A tile of the product is computed from a tile of a
+     * and a tile of b at a time, so all three tiles stay in the cache.
+     */
+    private final class ProductTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] a;
+        private final long[] b;
+        private final long[] product;
+        private final int from;
+        private final int to;
+
+        private ProductTask(long[] a, long[] b, long[] product, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.product = product;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ProductTask(a, b, product, from, middle), new ProductTask(a, b, product, middle, to));
+                return;
+            }
+
+            int iStart = from * BLOCK_SIZE;
+            int iEnd = Math.min(size, iStart + BLOCK_SIZE);
+            for (int jStart = 0; jStart < size; jStart += BLOCK_SIZE) {
+                int length = Math.min(size, jStart + BLOCK_SIZE) - jStart;
+                for (int kStart = 0; kStart < size; kStart += BLOCK_SIZE) {
+                    int kEnd = Math.min(size, kStart + BLOCK_SIZE);
+                    for (int i = iStart; i < iEnd; i++) {
+                        for (int k = kStart; k < kEnd; k++) {
+                            long aik = a[i * size + k];
+                            if (aik < MinPlusKernel.UNREACHABLE)
+                                MinPlusKernel.relax(product, i * size + jStart, aik, b, k * size + jStart, length);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package algorithms.shortest_paths;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown by shortest path algorithms that allow negative edge weights if the graph contains a negative cycle that is
+ * reachable from the start node. The nodes of the cycle can be retrieved, e.g. to report an arbitrage opportunity.
+ */
+public class NegativeCycleException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<?> cycle;
+
+    /**
+     * Creates an exception for a negative cycle
+     * @param cycle the nodes of the cycle in the order of its edges, where the last node has an edge to the first one
+     */
+    public NegativeCycleException(List<?> cycle) {
+        super("The graph contains a negative cycle: " + cycle);
+        this.cycle = Collections.unmodifiableList(new ArrayList<>(cycle));
+    }
+
+    /**
+     * Returns the nodes of the negative cycle in the order of its edges, where the last node has an edge to the first
+     * one. The first node is not repeated at the end.
+     * @return Returns the nodes of the negative cycle
+     */
+    public List<?> getCycle() {
+        return cycle;
+    }
+}
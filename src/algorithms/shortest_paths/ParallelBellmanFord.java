@@ -0,0 +1,216 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An Implementation of the ShortestPathCalculator that runs the rounds of the Bellman-Ford algorithm in parallel to
+ * compute the shortest paths in a graph with possibly negative edge weights. The node IDs are partitioned into ranges
+ * that are processed by the tasks of a fork-join pool. In every round, the outgoing edges of the nodes whose distance
+ * changed in the previous round are relaxed, and the distances are lowered by atomic compare-and-set operations on a
+ * shared array. The search stops as soon as a round does not change any distance. If distances still change in round
+ * |V|, then a negative cycle is reachable from the start node, which is reported by a NegativeCycleException that
+ * contains its nodes. The search runs on a CompactGraph snapshot. As the BellmanFord implementation, an instance keeps
+ * the distances from the last start node. Note that changes of the graph after the creation of the snapshot are not
+ * reflected by the results.
+ * @param <T> the type of the nodes in the graph
+ */
+public class ParallelBellmanFord<T> extends ShortestPathCalculator<T> {
+
+    private static final int SEQUENTIAL_THRESHOLD = 2048;
+
+    private final CompactGraph<T> compactGraph;
+    private final ForkJoinPool pool;
+    private T start;
+    private long[] distances;
+    private int[] previous;
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of the graph in the common fork-join pool
+     * @param graph the graph the shortest paths will be calculated on
+     * @exception NullPointerException if the graph is null
+     */
+    public ParallelBellmanFord(Graph<T> graph) {
+        this(new CompactGraph<>(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of a graph in the specified pool
+     * @param compactGraph the snapshot the shortest paths will be calculated on
+     * @param pool the pool the rounds are run in
+     * @exception NullPointerException if the snapshot or the pool is null
+     */
+    public ParallelBellmanFord(CompactGraph<T> compactGraph, ForkJoinPool pool) {
+        super(compactGraph.getGraph());
+        Objects.requireNonNull(pool);
+        this.compactGraph = compactGraph;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the start node to all nodes, indexed by the node IDs. The weight
+     * is Long.MAX_VALUE if there is no path.
+     * @param from the start node
+     * @return Returns the weights of the shortest paths from the start node to all nodes
+     * @exception NullPointerException if from is null
+     * @exception IllegalArgumentException if from is not contained in the snapshot of the graph
+     * @exception NegativeCycleException if a negative cycle is reachable from the start node
+     */
+    public long[] getDistances(T from) {
+        Objects.requireNonNull(from);
+        if (!graph.contains(from))
+            throw new IllegalArgumentException(from + " is not contained in the graph!");
+        search(from);
+        return distances.clone();
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        int toId = compactGraph.getId(to);
+        search(from);
+        long distance = distances[toId];
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        int current = compactGraph.getId(to);
+        search(from);
+        if (distances[current] == Long.MAX_VALUE)
+            return null;
+        if (previous == null)
+            previous = buildShortestPathTree(compactGraph.getId(from));
+
+        LinkedList<T> path = new LinkedList<>();
+        while (current >= 0) {
+            path.addFirst(compactGraph.getNode(current));
+            current = previous[current];
+        }
+
+        return path;
+    }
+
+    private void search(T from) {
+        if (from.equals(start))
+            return;
+
+        int size = compactGraph.size();
+        int sourceId = compactGraph.getId(from);
+        AtomicLongArray tentative = new AtomicLongArray(size);
+        for (int id = 0; id < size; id++)
+            tentative.set(id, Long.MAX_VALUE);
+        tentative.set(sourceId, 0);
+        boolean[] active = new boolean[size];
+        boolean[] next = new boolean[size];
+        active[sourceId] = true;
+
+        for (int round = 0; ; round++) {
+            if (round == size) {
+                //The sequential search finds the cycle in its predecessor pointers
+                QueueBellmanFord.run(compactGraph, sourceId, QueueBellmanFord.Strategy.QUEUE, new int[size]);
+                throw new IllegalStateException("The distances did not converge, but no negative cycle was found");
+            }
+            RoundTask task = new RoundTask(tentative, active, next, 0, size);
+            boolean changed = size <= SEQUENTIAL_THRESHOLD ? task.compute() : pool.invoke(task);
+            if (!changed)
+                break;
+            boolean[] swap = active;
+            active = next;
+            next = swap;
+        }
+
+        distances = new long[size];
+        for (int id = 0; id < size; id++)
+            distances[id] = tentative.get(id);
+        previous = null;
+        start = from;
+    }
+
+    /*
+     * Every node with a finite distance is reached by a breadth first search from the start node along the edges that
+     * lie on shortest paths. Since there is no negative cycle, these edges contain a shortest path tree.
+     */
+    private int[] buildShortestPathTree(int sourceId) {
+        int size = compactGraph.size();
+        int[] tree = new int[size];
+        Arrays.fill(tree, -1);
+        boolean[] visited = new boolean[size];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = sourceId;
+        visited[sourceId] = true;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                int v = compactGraph.getEdgeTarget(e);
+                if (!visited[v] && distances[u] + compactGraph.getEdgeWeight(e) == distances[v]) {
+                    visited[v] = true;
+                    tree[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tree;
+    }
+
+    /*
+     * Relaxes the outgoing edges of the active nodes in a range of IDs and marks the nodes whose distance decreased as
+     * active for the next round. Every task only clears the flags of its own range, and all tasks only set flags of the
+     * next round to true, so the flags need no synchronization within a round.
+     */
+    private final class RoundTask extends RecursiveTask<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicLongArray tentative;
+        private final boolean[] active;
+        private final boolean[] next;
+        private final int from;
+        private final int to;
+
+        private RoundTask(AtomicLongArray tentative, boolean[] active, boolean[] next, int from, int to) {
+            this.tentative = tentative;
+            this.active = active;
+            this.next = next;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                RoundTask left = new RoundTask(tentative, active, next, from, middle);
+                left.fork();
+                boolean rightChanged = new RoundTask(tentative, active, next, middle, to).compute();
+                return left.join() | rightChanged;
+            }
+
+            boolean changed = false;
+            for (int u = from; u < to; u++) {
+                if (!active[u])
+                    continue;
+                active[u] = false;
+                long dist = tentative.get(u);
+                for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                    int v = compactGraph.getEdgeTarget(e);
+                    long vDist = dist + compactGraph.getEdgeWeight(e);
+                    long current = tentative.get(v);
+                    while (vDist < current) {
+                        if (tentative.compareAndSet(v, current, vDist)) {
+                            next[v] = true;
+                            changed = true;
+                            break;
+                        }
+                        current = tentative.get(v);
+                    }
+                }
+            }
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+
+import java.util.*;
+
+/**
+ * An Implementation of the ShortestPathCalculator that uses label-correcting variants of the Bellman-Ford algorithm
+ * to compute the shortest paths in a graph with possibly negative edge weights. In contrast to the BellmanFord
+ * implementation, not every edge is relaxed |V| - 1 times: depending on the strategy, the passes stop as soon as no
+ * distance changes anymore or only the successors of nodes whose distance changed are scanned again. The search runs
+ * on a CompactGraph snapshot with the distances in a long array. Negative cycles are detected by checking the graph of
+ * the predecessor pointers for a cycle after every |V| relaxations, and such a cycle is reported by a
+ * NegativeCycleException that contains its nodes. As the BellmanFord implementation, an instance keeps the distances
+ * from the last start node. Note that changes of the graph after the creation of the snapshot are not reflected by
+ * the results.
+ * @param <T> the type of the nodes in the graph
+ */
+public class QueueBellmanFord<T> extends ShortestPathCalculator<T> {
+
+    /**
+     * The order in which the edges are relaxed
+     */
+    public enum Strategy {
+        /**
+         * All edges are relaxed in passes over the nodes until a pass does not change any distance anymore
+         */
+        FULL_PASS,
+        /**
+         * The nodes whose distance changed are kept in a FIFO queue and only their edges are relaxed. A node is not
+         * scanned if its predecessor is still in the queue, since its distance will decrease again (parent checking).
+         */
+        QUEUE,
+        /**
+         * The Goldberg-Radzik algorithm: in every pass, the nodes that can be reached from the changed nodes via edges
+         * whose reduced weight is at most 0 are scanned in depth-first topological order, so most nodes are scanned
+         * only after their predecessors on shortest paths.
+         */
+        GOLDBERG_RADZIK
+    }
+
+    private final CompactGraph<T> compactGraph;
+    private final Strategy strategy;
+    private T start;
+    private long[] distances;
+    private int[] previous;
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of the graph with the queue strategy
+     * @param graph the graph the shortest paths will be calculated on
+     * @exception NullPointerException if the graph is null
+     */
+    public QueueBellmanFord(Graph<T> graph) {
+        this(new CompactGraph<>(graph), Strategy.QUEUE);
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of the graph with the specified strategy
+     * @param graph the graph the shortest paths will be calculated on
+     * @param strategy the order in which the edges are relaxed
+     * @exception NullPointerException if the graph or the strategy is null
+     */
+    public QueueBellmanFord(Graph<T> graph, Strategy strategy) {
+        this(new CompactGraph<>(graph), strategy);
+    }
+
+    /**
+     * Creates an instance for computing shortest paths in a snapshot of a graph with the specified strategy
+     * @param compactGraph the snapshot the shortest paths will be calculated on
+     * @param strategy the order in which the edges are relaxed
+     * @exception NullPointerException if the snapshot or the strategy is null
+     */
+    public QueueBellmanFord(CompactGraph<T> compactGraph, Strategy strategy) {
+        super(compactGraph.getGraph());
+        Objects.requireNonNull(strategy);
+        this.compactGraph = compactGraph;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the start node to all nodes, indexed by the node IDs. The weight
+     * is Long.MAX_VALUE if there is no path.
+     * @param from the start node
+     * @return Returns the weights of the shortest paths from the start node to all nodes
+     * @exception NullPointerException if from is null
+     * @exception IllegalArgumentException if from is not contained in the snapshot of the graph
+     * @exception NegativeCycleException if a negative cycle is reachable from the start node
+     */
+    public long[] getDistances(T from) {
+        Objects.requireNonNull(from);
+        if (!graph.contains(from))
+            throw new IllegalArgumentException(from + " is not contained in the graph!");
+        search(from);
+        return distances.clone();
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        int toId = compactGraph.getId(to);
+        search(from);
+        long distance = distances[toId];
+        return distance == Long.MAX_VALUE ? null : distance;
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        int current = compactGraph.getId(to);
+        search(from);
+        if (distances[current] == Long.MAX_VALUE)
+            return null;
+
+        LinkedList<T> path = new LinkedList<>();
+        while (current >= 0) {
+            path.addFirst(compactGraph.getNode(current));
+            current = previous[current];
+        }
+
+        return path;
+    }
+
+    protected ShortestPathTree<T> getShortestPathTreeSub(T from) {
+        search(from);
+        //A new search allocates new arrays, so they can be shared
+        return new ShortestPathTree<>(graph, from, distances, previous);
+    }
+
+    private void search(T from) {
+        if (from.equals(start))
+            return;
+        //The start is only set after a successful search, so a negative cycle is reported again by the next query
+        int[] newPrevious = new int[compactGraph.size()];
+        distances = run(compactGraph, compactGraph.getId(from), strategy, newPrevious);
+        previous = newPrevious;
+        start = from;
+    }
+
+    /*
+     * Computes the distances from the source node, or from a virtual source with an edge of weight 0 to every node if
+     * sourceId is negative, and fills previous with the predecessors in the shortest path tree
+     */
+    static <T> long[] run(CompactGraph<T> compactGraph, int sourceId, Strategy strategy, int[] previous) {
+        int size = compactGraph.size();
+        long[] distances = new long[size];
+        Arrays.fill(previous, -1);
+        if (sourceId >= 0) {
+            Arrays.fill(distances, Long.MAX_VALUE);
+            distances[sourceId] = 0;
+        }
+
+        switch (strategy) {
+            case FULL_PASS:
+                runFullPasses(compactGraph, distances, previous);
+                break;
+            case QUEUE:
+                runQueue(compactGraph, sourceId, distances, previous);
+                break;
+            default:
+                runGoldbergRadzik(compactGraph, sourceId, distances, previous);
+        }
+        return distances;
+    }
+
+    private static <T> void runFullPasses(CompactGraph<T> compactGraph, long[] distances, int[] previous) {
+        int size = compactGraph.size();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int u = 0; u < size; u++) {
+                if (distances[u] == Long.MAX_VALUE)
+                    continue;
+                for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                    int v = compactGraph.getEdgeTarget(e);
+                    long vDist = distances[u] + compactGraph.getEdgeWeight(e);
+                    if (vDist < distances[v]) {
+                        distances[v] = vDist;
+                        previous[v] = u;
+                        changed = true;
+                    }
+                }
+            }
+            //A pass costs O(|E|), so the O(|V|) check after every pass is cheap
+            if (changed)
+                checkForNegativeCycle(compactGraph, previous);
+        }
+    }
+
+    private static <T> void runQueue(CompactGraph<T> compactGraph, int sourceId, long[] distances, int[] previous) {
+        int size = compactGraph.size();
+        int[] queue = new int[size];
+        boolean[] inQueue = new boolean[size];
+        int head = 0;
+        int count = 0;
+        if (sourceId >= 0) {
+            queue[count++] = sourceId;
+            inQueue[sourceId] = true;
+        }
+        else {
+            for (int id = 0; id < size; id++) {
+                queue[count++] = id;
+                inQueue[id] = true;
+            }
+        }
+
+        long relaxations = 0;
+        while (count > 0) {
+            int u = queue[head];
+            head = head + 1 == size ? 0 : head + 1;
+            count--;
+            inQueue[u] = false;
+            //Parent checking: the distance of u will decrease again once its predecessor is scanned
+            if (previous[u] >= 0 && inQueue[previous[u]])
+                continue;
+
+            for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                int v = compactGraph.getEdgeTarget(e);
+                long vDist = distances[u] + compactGraph.getEdgeWeight(e);
+                if (vDist < distances[v]) {
+                    distances[v] = vDist;
+                    previous[v] = u;
+                    if (!inQueue[v]) {
+                        int tail = head + count;
+                        queue[tail >= size ? tail - size : tail] = v;
+                        count++;
+                        inQueue[v] = true;
+                    }
+                    if (++relaxations % size == 0)
+                        checkForNegativeCycle(compactGraph, previous);
+                }
+            }
+        }
+    }
+
+    private static <T> void runGoldbergRadzik(CompactGraph<T> compactGraph, int sourceId, long[] distances,
+                                              int[] previous) {
+        int size = compactGraph.size();
+        //A holds the nodes whose distance changed since they were scanned, B the nodes to scan in the current pass
+        int[] a = new int[size];
+        int aSize = 0;
+        boolean[] inA = new boolean[size];
+        if (sourceId >= 0) {
+            a[aSize++] = sourceId;
+            inA[sourceId] = true;
+        }
+        else {
+            for (int id = 0; id < size; id++) {
+                a[aSize++] = id;
+                inA[id] = true;
+            }
+        }
+
+        int[] b = new int[size];
+        int[] pass = new int[size];
+        int[] scanned = new int[size];
+        int[] stack = new int[size];
+        int[] edgeStack = new int[size];
+        int passNumber = 0;
+        long relaxations = 0;
+        while (aSize > 0) {
+            passNumber++;
+            //Depth-first search from A along the edges with reduced weight at most 0, B is filled in post-order
+            int bSize = 0;
+            for (int i = 0; i < aSize; i++) {
+                int root = a[i];
+                inA[root] = false;
+                if (pass[root] == passNumber)
+                    continue;
+                pass[root] = passNumber;
+                int depth = 0;
+                stack[depth] = root;
+                edgeStack[depth] = compactGraph.getOutEdgesStart(root);
+                while (depth >= 0) {
+                    int u = stack[depth];
+                    int e = edgeStack[depth];
+                    if (e == compactGraph.getOutEdgesEnd(u)) {
+                        b[bSize++] = u;
+                        depth--;
+                        continue;
+                    }
+                    edgeStack[depth]++;
+                    int v = compactGraph.getEdgeTarget(e);
+                    if (pass[v] != passNumber && distances[u] != Long.MAX_VALUE
+                            && distances[u] + compactGraph.getEdgeWeight(e) <= distances[v]) {
+                        pass[v] = passNumber;
+                        depth++;
+                        stack[depth] = v;
+                        edgeStack[depth] = compactGraph.getOutEdgesStart(v);
+                    }
+                }
+            }
+
+            //Scanning B in reverse post-order is a topological order if the admissible edges form no cycle
+            aSize = 0;
+            for (int i = bSize - 1; i >= 0; i--) {
+                int u = b[i];
+                scanned[u] = passNumber;
+                if (distances[u] == Long.MAX_VALUE)
+                    continue;
+                for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                    int v = compactGraph.getEdgeTarget(e);
+                    long vDist = distances[u] + compactGraph.getEdgeWeight(e);
+                    if (vDist < distances[v]) {
+                        distances[v] = vDist;
+                        previous[v] = u;
+                        //Nodes of B that are not scanned yet see the new distance in this pass
+                        if ((pass[v] != passNumber || scanned[v] == passNumber) && !inA[v]) {
+                            a[aSize++] = v;
+                            inA[v] = true;
+                        }
+                        if (++relaxations % size == 0)
+                            checkForNegativeCycle(compactGraph, previous);
+                    }
+                }
+            }
+            if (aSize > 0)
+                checkForNegativeCycle(compactGraph, previous);
+        }
+    }
+
+    /*
+     * Throws a NegativeCycleException if the predecessor pointers form a cycle. Every such cycle has a negative weight.
+     */
+    private static <T> void checkForNegativeCycle(CompactGraph<T> compactGraph, int[] previous) {
+        int size = previous.length;
+        int[] walk = new int[size];
+        for (int id = 0; id < size; id++) {
+            if (walk[id] != 0)
+                continue;
+            int current = id;
+            while (current >= 0 && walk[current] == 0) {
+                walk[current] = id + 1;
+                current = previous[current];
+            }
+            if (current >= 0 && walk[current] == id + 1) {
+                LinkedList<T> cycle = new LinkedList<>();
+                int node = current;
+                do {
+                    cycle.addFirst(compactGraph.getNode(node));
+                    node = previous[node];
+                } while (node != current);
+                throw new NegativeCycleException(cycle);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package algorithms.shortest_paths;
+
+import java.util.Arrays;
+
+/**
+ * Reusable working memory for searches on a graph whose node IDs are in the range [0, n). A node counts as reached in
+ * the current search only if its stamp equals the current epoch, so starting a new search only increments the epoch
+ * instead of clearing arrays of size n. The arrays grow when the graph grows.
+ */
+class SearchScratch {
+
+    int[] stamps;
+    long[] distances;
+    int[] previous;
+    int[] queue;
+    int epoch;
+
+    private long[] heapKeys;
+    private int[] heapIds;
+    private int heapSize;
+
+    SearchScratch(){
+        stamps = new int[0];
+        distances = new long[0];
+        previous = new int[0];
+        queue = new int[0];
+        heapKeys = new long[0];
+        heapIds = new int[0];
+        epoch = 0;
+    }
+
+    /*
+     * Prepares the scratch for a new search on a graph with n nodes
+     */
+    void begin(int n){
+        if(stamps.length < n){
+            stamps = new int[n];
+            distances = new long[n];
+            previous = new int[n];
+            queue = new int[n];
+            epoch = 0;
+        }
+        if(epoch == Integer.MAX_VALUE){
+            Arrays.fill(stamps, 0);
+            epoch = 0;
+        }
+        epoch++;
+        heapSize = 0;
+    }
+
+    boolean isReached(int id){
+        return stamps[id] == epoch;
+    }
+
+    void reach(int id, long distance){
+        stamps[id] = epoch;
+        distances[id] = distance;
+    }
+
+    void reach(int id, long distance, int previousId){
+        reach(id, distance);
+        previous[id] = previousId;
+    }
+
+    long getDistance(int id){
+        return stamps[id] == epoch ? distances[id] : Long.MAX_VALUE;
+    }
+
+    /*
+     * A binary heap of (key, id) pairs without decrease-key, outdated entries are skipped by the caller
+     */
+    void push(int id, long key){
+        if(heapSize == heapKeys.length){
+            int newSize = Math.max(16, 2 * heapSize);
+            heapKeys = Arrays.copyOf(heapKeys, newSize);
+            heapIds = Arrays.copyOf(heapIds, newSize);
+        }
+        int i = heapSize++;
+        while(i > 0){
+            int parent = (i - 1) >>> 1;
+            if(heapKeys[parent] <= key)
+                break;
+            heapKeys[i] = heapKeys[parent];
+            heapIds[i] = heapIds[parent];
+            i = parent;
+        }
+        heapKeys[i] = key;
+        heapIds[i] = id;
+    }
+
+    boolean isHeapEmpty(){
+        return heapSize == 0;
+    }
+
+    long peekKey(){
+        return heapSize == 0 ? Long.MAX_VALUE : heapKeys[0];
+    }
+
+    int pop(){
+        int min = heapIds[0];
+        heapSize--;
+        long key = heapKeys[heapSize];
+        int id = heapIds[heapSize];
+        int i = 0;
+        while(true){
+            int child = 2 * i + 1;
+            if(child >= heapSize)
+                break;
+            if(child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child])
+                child++;
+            if(heapKeys[child] >= key)
+                break;
+            heapKeys[i] = heapKeys[child];
+            heapIds[i] = heapIds[child];
+            i = child;
+        }
+        heapKeys[i] = key;
+        heapIds[i] = id;
+        return min;
+    }
+}
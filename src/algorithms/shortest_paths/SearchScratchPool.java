@@ -0,0 +1,48 @@
+package algorithms.shortest_paths;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe pool of SearchScratches for searches that may run concurrently. The pool keeps at most a bounded
+ * number of scratches, so a burst of concurrent searches does not keep its working memory alive afterwards.
+ */
+class SearchScratchPool {
+
+    private static final int DEFAULT_MAX_SIZE = 4 * Runtime.getRuntime().availableProcessors();
+
+    private final ConcurrentLinkedQueue<SearchScratch> scratches;
+    private final AtomicInteger size;
+    private final int maxSize;
+
+    SearchScratchPool(){
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    SearchScratchPool(int maxSize){
+        scratches = new ConcurrentLinkedQueue<>();
+        size = new AtomicInteger();
+        this.maxSize = maxSize;
+    }
+
+    /*
+     * Takes a scratch out of the pool or creates a new one if the pool is empty
+     */
+    SearchScratch acquire(){
+        SearchScratch scratch = scratches.poll();
+        if(scratch == null)
+            return new SearchScratch();
+        size.decrementAndGet();
+        return scratch;
+    }
+
+    /*
+     * Returns the scratch to the pool, where it is dropped if the pool is full
+     */
+    void release(SearchScratch scratch){
+        if(size.incrementAndGet() <= maxSize)
+            scratches.offer(scratch);
+        else
+            size.decrementAndGet();
+    }
+}
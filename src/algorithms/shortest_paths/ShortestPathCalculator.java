@@ -14,6 +14,7 @@ import java.util.Objects;
 public abstract class ShortestPathCalculator<T> {
 
     protected Graph<T> graph;
+    private boolean checkedForNegativeEdgeWeights;
 
     public ShortestPathCalculator(Graph<T> graph){
         Objects.requireNonNull(graph);
@@ -31,9 +32,9 @@ public abstract class ShortestPathCalculator<T> {
     public final Long getWeightOfShortestPath(T from, T to){
         Objects.requireNonNull(from);
         Objects.requireNonNull(to);
-        if(!graph.contains(from))
+        if(!contains(from))
             throw new IllegalArgumentException(from + " is not contained in the graph!");
-        if(!graph.contains(to))
+        if(!contains(to))
             throw new IllegalArgumentException(to + " is not contained in the graph!");
 
 
@@ -42,7 +43,8 @@ public abstract class ShortestPathCalculator<T> {
     protected abstract Long getWeightOfShortestPathSub(T from, T to);
 
     /**
-     * Returns the shortest path from node from to node to or null if no path exists
+     * Returns the shortest path from node from to node to or null if no path exists. The shortest path from a node to
+     * itself only contains the node.
      * @param from the starting node
      * @param to the target node
      * @return Returns the shortest path from node from to node to or null if no path exists
@@ -52,9 +54,9 @@ public abstract class ShortestPathCalculator<T> {
     public final List<T> getShortestPath(T from, T to){
         Objects.requireNonNull(from);
         Objects.requireNonNull(to);
-        if(!graph.contains(from))
+        if(!contains(from))
             throw new IllegalArgumentException(from + " is not contained in the graph!");
-        if(!graph.contains(to))
+        if(!contains(to))
             throw new IllegalArgumentException(to + " is not contained in the graph!");
 
 
@@ -62,4 +64,71 @@ public abstract class ShortestPathCalculator<T> {
     }
 
     protected abstract List<T> getShortestPathSub(T from, T to);
+
+    /**
+     * Returns the shortest paths from node from to all nodes in the graph
+     * @param from the starting node
+     * @return Returns the shortest paths from node from to all nodes in the graph
+     * @exception NullPointerException if from is null
+     * @exception IllegalArgumentException if from is not contained in the graph
+     */
+    public final ShortestPathTree<T> getShortestPathTree(T from){
+        Objects.requireNonNull(from);
+        if(!contains(from))
+            throw new IllegalArgumentException(from + " is not contained in the graph!");
+
+        return getShortestPathTreeSub(from);
+    }
+
+    /*
+     * Returns true if the node can be queried. Calculators that work on a snapshot of the graph can override this, so
+     * that the queries do not read the graph.
+     */
+    protected boolean contains(T node){
+        return graph.contains(node);
+    }
+
+    /*
+     * Assembles the tree from one query per node. Implementations that compute the shortest paths to all nodes anyway
+     * should override this and pass their arrays directly.
+     */
+    protected ShortestPathTree<T> getShortestPathTreeSub(T from){
+        int size = graph.size();
+        int fromId = graph.getId(from);
+        long[] distances = new long[size];
+        int[] previous = new int[size];
+        for(int id = 0; id < size; id++){
+            T to = graph.getNode(id);
+            Long weight = getWeightOfShortestPathSub(from, to);
+            distances[id] = weight == null ? Long.MAX_VALUE : weight;
+            previous[id] = -1;
+            if(weight != null && id != fromId){
+                List<T> path = getShortestPathSub(from, to);
+                previous[id] = graph.getId(path.get(path.size() - 2));
+            }
+        }
+        return new ShortestPathTree<>(graph, from, distances, previous);
+    }
+
+    /**
+     * Checks all edges of the graph and throws a RuntimeException if there is an edge with a negative weight. This is
+     * meant for algorithms that only work on graphs without negative edge weights.
+     * @exception RuntimeException if there is an edge with a negative weight in the graph
+     */
+    protected void checkForNegativeEdgeWeights(){
+        SingleSourceSearch.checkForNegativeEdgeWeights(graph);
+    }
+
+    /**
+     * Checks all edges of the graph like checkForNegativeEdgeWeights, but only until the check succeeded once. Since
+     * the graph must not be changed between calls, this is meant for algorithms that validate the graph lazily before
+     * a search instead of in the constructor.
+     * @exception RuntimeException if there is an edge with a negative weight in the graph
+     */
+    protected void checkForNegativeEdgeWeightsOnce(){
+        if(!checkedForNegativeEdgeWeights){
+            checkForNegativeEdgeWeights();
+            checkedForNegativeEdgeWeights = true;
+        }
+    }
 }
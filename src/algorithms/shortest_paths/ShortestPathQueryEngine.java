@@ -0,0 +1,214 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Answers point-to-point shortest path queries in a graph without negative edge weights from many threads at once. In
+ * contrast to the other ShortestPathCalculators, an instance stores no state of a query: every query runs a Dijkstra
+ * search on a CompactGraph snapshot that stops as soon as the target is settled, and returns its own Result. The
+ * working memory of a search is taken from a pool and returned afterwards. It is stamped with an epoch per search, so
+ * a query neither allocates nor clears arrays of the size of the graph. The pool is shared by all threads instead of
+ * being bound to a thread, so a large number of short-lived threads, e.g. virtual threads, only needs as many arrays as
+ * queries run at the same time. Note that changes of the graph after the creation of the snapshot are not reflected by
+ * the results.
+ * @param <T> the type of the nodes in the graph
+ */
+public class ShortestPathQueryEngine<T> extends ShortestPathCalculator<T> {
+
+    private final CompactGraph<T> compactGraph;
+    private final Executor executor;
+    private final SearchScratchPool scratchPool;
+
+    /**
+     * Creates an engine that answers queries on a snapshot of the graph and runs asynchronous queries in the common
+     * fork-join pool. Note that the graph must not contain negative edge weights.
+     * @param graph the graph the queries are answered on
+     * @exception NullPointerException if the graph is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public ShortestPathQueryEngine(Graph<T> graph) {
+        this(new CompactGraph<>(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an engine that answers queries on a snapshot of a graph and runs asynchronous queries with the specified
+     * executor, e.g. an executor that starts a virtual thread per task. Note that the graph must not contain negative
+     * edge weights.
+     * @param compactGraph the snapshot the queries are answered on
+     * @param executor the executor that runs asynchronous queries
+     * @exception NullPointerException if the snapshot or the executor is null
+     * @exception RuntimeException if the graph contains an edge with a negative weight
+     */
+    public ShortestPathQueryEngine(CompactGraph<T> compactGraph, Executor executor) {
+        super(compactGraph.getGraph());
+        Objects.requireNonNull(executor);
+        if (compactGraph.getMinEdgeWeight() < 0)
+            throw new RuntimeException("Graph must not contain negative weight edges");
+        this.compactGraph = compactGraph;
+        this.executor = executor;
+        scratchPool = new SearchScratchPool();
+    }
+
+    /**
+     * Returns the shortest path from node from to node to together with its weight
+     * @param from the starting node
+     * @param to the target node
+     * @return Returns the shortest path from node from to node to together with its weight
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to are not contained in the snapshot of the graph
+     */
+    public Result<T> query(T from, T to) {
+        return search(compactGraph.getId(from), compactGraph.getId(to));
+    }
+
+    /**
+     * Starts a query for the shortest path from node from to node to with the executor of the engine
+     * @param from the starting node
+     * @param to the target node
+     * @return Returns a future that is completed with the result of the query
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to are not contained in the snapshot of the graph
+     */
+    public CompletableFuture<Result<T>> queryAsync(T from, T to) {
+        int fromId = compactGraph.getId(from);
+        int toId = compactGraph.getId(to);
+        return CompletableFuture.supplyAsync(() -> search(fromId, toId), executor);
+    }
+
+    /**
+     * Answers the queries from sources.get(i) to targets.get(i) concurrently with the executor of the engine and waits
+     * for all of them
+     * @param sources the start nodes of the queries
+     * @param targets the target nodes of the queries
+     * @return Returns the results of the queries in the order of the sources
+     * @exception NullPointerException if sources, targets or one of their nodes is null
+     * @exception IllegalArgumentException if the lists have different sizes or one of the nodes is not contained in
+     * the snapshot of the graph
+     */
+    public List<Result<T>> queryAll(List<T> sources, List<T> targets) {
+        Objects.requireNonNull(sources);
+        Objects.requireNonNull(targets);
+        if (sources.size() != targets.size())
+            throw new IllegalArgumentException("There must be as many sources as targets");
+
+        List<CompletableFuture<Result<T>>> futures = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++)
+            futures.add(queryAsync(sources.get(i), targets.get(i)));
+        List<Result<T>> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Result<T>> future : futures)
+            results.add(future.join());
+        return results;
+    }
+
+    //The queries only read the snapshot, since the graph may be changed by other threads
+    protected boolean contains(T node) {
+        return compactGraph.contains(node);
+    }
+
+    protected Long getWeightOfShortestPathSub(T from, T to) {
+        return search(compactGraph.getId(from), compactGraph.getId(to)).getWeight();
+    }
+
+    protected List<T> getShortestPathSub(T from, T to) {
+        return search(compactGraph.getId(from), compactGraph.getId(to)).getPath();
+    }
+
+    private Result<T> search(int fromId, int toId) {
+        SearchScratch scratch = scratchPool.acquire();
+        try {
+            scratch.begin(compactGraph.size());
+            scratch.reach(fromId, 0, -1);
+            scratch.push(fromId, 0);
+            int settled = 0;
+            while (!scratch.isHeapEmpty()) {
+                long dist = scratch.peekKey();
+                int u = scratch.pop();
+                if (dist > scratch.distances[u])
+                    continue;
+                settled++;
+                if (u == toId)
+                    return new Result<>(compactGraph, scratch, toId, settled);
+                for (int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++) {
+                    int v = compactGraph.getEdgeTarget(e);
+                    long vDist = dist + compactGraph.getEdgeWeight(e);
+                    if (vDist < scratch.getDistance(v)) {
+                        scratch.reach(v, vDist, u);
+                        scratch.push(v, vDist);
+                    }
+                }
+            }
+            return new Result<>(compactGraph, null, toId, settled);
+        }
+        finally {
+            scratchPool.release(scratch);
+        }
+    }
+
+    /**
+     * The result of a query, i.e. the shortest path and its weight. Both are null if there is no path.
+     * @param <T> the type of the nodes in the graph
+     */
+    public static final class Result<T> {
+
+        private final CompactGraph<T> compactGraph;
+        private final int[] pathIds;
+        private final long weight;
+        private final int settledNodes;
+
+        /*
+         * Copies the path out of the scratch, which is null if the target was not reached
+         */
+        private Result(CompactGraph<T> compactGraph, SearchScratch scratch, int toId, int settledNodes) {
+            this.compactGraph = compactGraph;
+            this.settledNodes = settledNodes;
+            if (scratch == null) {
+                pathIds = null;
+                weight = Long.MAX_VALUE;
+                return;
+            }
+
+            weight = scratch.distances[toId];
+            int length = 0;
+            for (int current = toId; current >= 0; current = scratch.previous[current])
+                length++;
+            pathIds = new int[length];
+            for (int current = toId; current >= 0; current = scratch.previous[current])
+                pathIds[--length] = current;
+        }
+
+        /**
+         * Returns the sum of the weights along the shortest path or null if no path exists
+         * @return Returns the sum of the weights along the shortest path or null if no path exists
+         */
+        public Long getWeight() {
+            return pathIds == null ? null : weight;
+        }
+
+        /**
+         * Returns the shortest path or null if no path exists
+         * @return Returns the shortest path or null if no path exists
+         */
+        public List<T> getPath() {
+            if (pathIds == null)
+                return null;
+            List<T> path = new ArrayList<>(pathIds.length);
+            for (int id : pathIds)
+                path.add(compactGraph.getNode(id));
+            return path;
+        }
+
+        /**
+         * Returns the number of nodes that were settled by the search, which is a measure of the work of the query
+         * @return Returns the number of nodes that were settled by the search
+         */
+        public int getNumberOfSettledNodes() {
+            return settledNodes;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package algorithms.shortest_paths;
+
+import datastructures.graph.Graph;
+
+import java.util.*;
+
+/**
+ * The shortest paths from a start node to all nodes of a graph. The weights of the shortest paths and the predecessors
+ * of the nodes in the tree are stored in primitive arrays that are indexed by the node IDs, so a tree takes up 12 bytes
+ * per node and a path is reconstructed in time linear in its number of edges. The tree reflects the graph at the time
+ * it was computed, so nodes that were added to the graph afterwards are not reachable.
+ * @param <T> the type of the nodes in the graph
+ */
+public final class ShortestPathTree<T> {
+
+    private static final long ARRAY_HEADER_SIZE = 16;
+
+    private final Graph<T> graph;
+    private final T start;
+    private final long[] distances;
+    private final int[] previous;
+
+    /*
+     * The arrays are used directly, so they must not be changed afterwards. The weight of an unreachable node is
+     * Long.MAX_VALUE and the predecessor of the start node and of unreachable nodes is negative.
+     */
+    ShortestPathTree(Graph<T> graph, T start, long[] distances, int[] previous) {
+        this.graph = graph;
+        this.start = start;
+        this.distances = distances;
+        this.previous = previous;
+    }
+
+    /**
+     * Returns the start node of the shortest paths
+     * @return Returns the start node of the shortest paths
+     */
+    public T getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the sum of the weights along the shortest path from the start node to node to or null if no path exists
+     * @param to the target node
+     * @return Returns the sum of the weights along the shortest path from the start node to node to or null if no path
+     * exists
+     * @exception NullPointerException if to is null
+     * @exception IllegalArgumentException if to is not contained in the graph
+     */
+    public Long getWeightOfShortestPath(T to) {
+        int toId = getTargetId(to);
+        if (toId >= distances.length || distances[toId] == Long.MAX_VALUE)
+            return null;
+        return distances[toId];
+    }
+
+    /**
+     * Returns the shortest path from the start node to node to or null if no path exists. As for the
+     * ShortestPathCalculator, the shortest path from the start node to itself only contains the start node.
+     * @param to the target node
+     * @return Returns the shortest path from the start node to node to or null if no path exists
+     * @exception NullPointerException if to is null
+     * @exception IllegalArgumentException if to is not contained in the graph
+     */
+    public List<T> getShortestPath(T to) {
+        int current = getTargetId(to);
+        if (current >= distances.length || distances[current] == Long.MAX_VALUE)
+            return null;
+
+        LinkedList<T> path = new LinkedList<>();
+        while (current >= 0) {
+            path.addFirst(graph.getNode(current));
+            current = previous[current];
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the start node to all nodes, indexed by the node IDs. The weight
+     * is Long.MAX_VALUE if there is no path.
+     * @return Returns the weights of the shortest paths from the start node to all nodes
+     */
+    public long[] getDistances() {
+        return distances.clone();
+    }
+
+    /**
+     * Returns the estimated number of bytes that the arrays of the tree take up on the heap
+     * @return Returns the estimated number of bytes that the arrays of the tree take up on the heap
+     */
+    public long getSizeInBytes() {
+        return 2 * ARRAY_HEADER_SIZE + (long) Long.BYTES * distances.length + (long) Integer.BYTES * previous.length;
+    }
+
+    private int getTargetId(T to) {
+        Objects.requireNonNull(to);
+        if (!graph.contains(to))
+            throw new IllegalArgumentException(to + " is not contained in the graph!");
+        return graph.getId(to);
+    }
+}
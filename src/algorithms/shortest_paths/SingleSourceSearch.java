@@ -0,0 +1,61 @@
+package algorithms.shortest_paths;
+
+import datastructures.IndexedDaryHeap;
+import datastructures.graph.Graph;
+
+import java.util.Arrays;
+
+/**
+ * A plain run of the Dijkstra algorithm over the node IDs of a graph, which is used by the preprocessing steps of other
+ * shortest path algorithms. The search runs either along the successors or, to compute the distances to the source
+ * node, along the predecessors. The graph must not contain negative edge weights.
+ */
+final class SingleSourceSearch {
+
+    private SingleSourceSearch(){}
+
+    /*
+     * Returns the distances of all nodes from (or to, if forward is false) the source node, where Long.MAX_VALUE means
+     * that there is no path. If previous is not null, then it is filled with the predecessors in the shortest path tree.
+     */
+    static <T> long[] run(Graph<T> graph, int sourceId, boolean forward, int[] previous){
+        int size = graph.size();
+        long[] distances = new long[size];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        if(previous != null)
+            Arrays.fill(previous, -1);
+
+        IndexedDaryHeap priorityQueue = new IndexedDaryHeap(size);
+        distances[sourceId] = 0;
+        priorityQueue.insert(sourceId, 0);
+        while(!priorityQueue.isEmpty()){
+            int nodeId = priorityQueue.deleteMin();
+            long nodeDist = distances[nodeId];
+            T node = graph.getNode(nodeId);
+            for(T neighbour : forward ? graph.getSuccessors(node) : graph.getPredecessors(node)){
+                long edgeWeight = forward ? graph.getEdgeWeight(node, neighbour) : graph.getEdgeWeight(neighbour, node);
+                int neighbourId = graph.getId(neighbour);
+                if(nodeDist + edgeWeight < distances[neighbourId]){
+                    distances[neighbourId] = nodeDist + edgeWeight;
+                    priorityQueue.insertOrDecreaseKey(neighbourId, nodeDist + edgeWeight);
+                    if(previous != null)
+                        previous[neighbourId] = nodeId;
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /*
+     * Throws a RuntimeException if there is an edge with a negative weight in the graph
+     */
+    static <T> void checkForNegativeEdgeWeights(Graph<T> graph){
+        for(T node : graph.getNodes()){
+            for(T succ : graph.getSuccessors(node)){
+                if(graph.getEdgeWeight(node, succ) < 0)
+                    throw new RuntimeException("Graph must not contain negative weight edges");
+            }
+        }
+    }
+}
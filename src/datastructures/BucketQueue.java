@@ -0,0 +1,160 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone priority-queue for the elements 0, 1, ..., capacity - 1 with integer priorities that is known as Dial's
+ * bucket queue. If the priorities of all elements in the queue differ by at most maxSpread from the priority of the
+ * last deleted minimum, as it is the case in Dijkstra's algorithm with edge weights of at most maxSpread, then
+ * maxSpread + 1 buckets that are used as a circular array suffice. Every bucket is a doubly linked list of elements in
+ * int arrays, so insert and decreaseKey have constant runtime and deleteMin scans at most maxSpread + 1 buckets. No
+ * objects are allocated by any of the operations. Dijkstra's algorithm runs in O(|E| + |V|*maxSpread) with this queue.
+ */
+public class BucketQueue implements IndexedPriorityQueue {
+
+    private final int[] heads;
+    private final int[] next;
+    private final int[] previous;
+    private final long[] keys;
+    private final boolean[] present;
+    private long current;
+    private int size;
+
+    /**
+     * Creates an empty bucket queue for the elements 0, 1, ..., capacity - 1
+     * @param capacity the number of elements that can be stored in the queue
+     * @param maxSpread the maximum difference between a priority and the priority of the last deleted minimum
+     * @exception IllegalArgumentException if capacity is negative, if maxSpread is negative or if maxSpread + 1
+     * buckets cannot be stored in an array
+     */
+    public BucketQueue(int capacity, int maxSpread){
+        if(capacity < 0)
+            throw new IllegalArgumentException("The capacity must not be negative");
+        if(maxSpread < 0 || maxSpread == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("The maximum spread must be in the range [0, " + Integer.MAX_VALUE + ")");
+        heads = new int[maxSpread + 1];
+        next = new int[capacity];
+        previous = new int[capacity];
+        keys = new long[capacity];
+        present = new boolean[capacity];
+        Arrays.fill(heads, -1);
+        current = 0;
+        size = 0;
+    }
+
+    public int size(){return size;}
+
+    public boolean isEmpty(){return size == 0;}
+
+    public boolean contains(int elem){
+        checkRange(elem);
+        return present[elem];
+    }
+
+    /**
+     * Inserts the element elem with the priority into the queue. The priority must not be smaller than the priority
+     * of the last deleted minimum, which is 0 before the first deletion, and not larger than that priority plus
+     * maxSpread.
+     * @param elem the element to be inserted
+     * @param priority the priority of the element
+     * @exception IllegalArgumentException if elem is not in the range [0, capacity), if it is already in the queue or
+     * if the priority is out of range
+     */
+    public void insert(int elem, long priority){
+        if(contains(elem))
+            throw new IllegalArgumentException(elem + " is already in the queue!");
+        checkPriority(priority);
+        keys[elem] = priority;
+        present[elem] = true;
+        link(elem);
+        size++;
+    }
+
+    public void decreaseKey(int elem, long priority){
+        if(!contains(elem))
+            throw new IllegalArgumentException(elem + " is not in the queue!");
+        if(priority >= keys[elem])
+            return;
+        checkPriority(priority);
+        unlink(elem);
+        keys[elem] = priority;
+        link(elem);
+    }
+
+    public long getKey(int elem){
+        if(!contains(elem))
+            throw new IllegalArgumentException(elem + " is not in the queue!");
+        return keys[elem];
+    }
+
+    public int min(){
+        if(size == 0)
+            throw new NoSuchElementException();
+        long priority = current;
+        while(heads[bucket(priority)] < 0)
+            priority++;
+        return heads[bucket(priority)];
+    }
+
+    public long minKey(){
+        return keys[min()];
+    }
+
+    public int deleteMin(){
+        int min = min();
+        current = keys[min];
+        unlink(min);
+        present[min] = false;
+        size--;
+        return min;
+    }
+
+    /**
+     * Removes all elements from the queue and resets the last deleted minimum to 0. The runtime is linear in the
+     * number of buckets, not in the capacity.
+     */
+    public void clear(){
+        for(int bucket = 0; bucket < heads.length; bucket++){
+            for(int elem = heads[bucket]; elem >= 0; elem = next[elem])
+                present[elem] = false;
+            heads[bucket] = -1;
+        }
+        current = 0;
+        size = 0;
+    }
+
+    private int bucket(long priority){
+        return (int) Math.floorMod(priority, (long) heads.length);
+    }
+
+    private void link(int elem){
+        int bucket = bucket(keys[elem]);
+        int head = heads[bucket];
+        next[elem] = head;
+        previous[elem] = -1;
+        if(head >= 0)
+            previous[head] = elem;
+        heads[bucket] = elem;
+    }
+
+    private void unlink(int elem){
+        if(previous[elem] >= 0)
+            next[previous[elem]] = next[elem];
+        else
+            heads[bucket(keys[elem])] = next[elem];
+        if(next[elem] >= 0)
+            previous[next[elem]] = previous[elem];
+    }
+
+    private void checkPriority(long priority){
+        if(priority < current || priority - current >= heads.length)
+            throw new IllegalArgumentException("The priority " + priority + " is not in the range [" + current + ", "
+                    + (current + heads.length - 1) + "]");
+    }
+
+    private void checkRange(int elem){
+        if(elem < 0 || elem >= present.length)
+            throw new IllegalArgumentException(elem + " is not in the range [0, " + present.length + ")");
+    }
+}
@@ -0,0 +1,235 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A priority-queue for the elements 0, 1, ..., capacity - 1 with long priorities that provides the operations insert,
+ * contains, size, isEmpty, min, deleteMin, and decreaseKey. The elements are stored in a d-ary heap in an int array and
+ * the position of every element in the heap is stored in a second int array, so decreaseKey does not have to search
+ * for the element. No objects are allocated by any of the operations. The operations contains, size, isEmpty, and min
+ * have constant runtime, insert and decreaseKey have a runtime in O(log_d(n)), and deleteMin has a runtime in
+ * O(d*log_d(n)). This makes the heap well suited for graph algorithms like Dijkstra's, where the elements are node IDs.
+ */
+public class IndexedDaryHeap implements IndexedPriorityQueue {
+
+    private static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private int[] heap;
+    private int[] positions;
+    private long[] keys;
+    private int size;
+
+    /**
+     * Creates an empty 4-ary heap for the elements 0, 1, ..., capacity - 1
+     * @param capacity the number of elements that can be stored in the heap
+     * @exception IllegalArgumentException if capacity is negative
+     */
+    public IndexedDaryHeap(int capacity){
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates an empty d-ary heap for the elements 0, 1, ..., capacity - 1
+     * @param capacity the number of elements that can be stored in the heap
+     * @param arity the number of children of each node in the heap
+     * @exception IllegalArgumentException if capacity is negative or arity is smaller than 2
+     */
+    public IndexedDaryHeap(int capacity, int arity){
+        if(capacity < 0)
+            throw new IllegalArgumentException("The capacity must not be negative");
+        if(arity < 2)
+            throw new IllegalArgumentException("The arity must be at least 2");
+        this.arity = arity;
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(positions, -1);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of elements that can be stored in the heap
+     * @return Returns the number of elements that can be stored in the heap
+     */
+    public int capacity(){return positions.length;}
+
+    /**
+     * Increases the capacity of the heap to at least the specified capacity. The elements in the heap are kept.
+     * @param capacity the minimum number of elements that can be stored in the heap afterwards
+     */
+    public void ensureCapacity(int capacity){
+        if(capacity <= positions.length)
+            return;
+        int oldCapacity = positions.length;
+        heap = Arrays.copyOf(heap, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldCapacity, capacity, -1);
+    }
+
+    /**
+     * Returns the number of elements currently in the heap.
+     * @return Returns the number of elements currently in the heap.
+     */
+    public int size(){return size;}
+
+    /**
+     * Returns true if there is no element in the heap
+     * @return true if no element is in the heap
+     */
+    public boolean isEmpty(){return size == 0;}
+
+    /**
+     * Returns true if the element elem is currently in the heap
+     * @param elem the element whose presence in the heap is checked
+     * @return Returns true if the element elem is currently in the heap
+     * @exception IllegalArgumentException if elem is not in the range [0, capacity)
+     */
+    public boolean contains(int elem){
+        checkRange(elem);
+        return positions[elem] >= 0;
+    }
+
+    /**
+     * Inserts the element elem with the priority into the heap
+     * @param elem the element to be inserted
+     * @param priority the priority of the element
+     * @exception IllegalArgumentException if elem is not in the range [0, capacity) or if it is already in the heap
+     */
+    public void insert(int elem, long priority){
+        if(contains(elem))
+            throw new IllegalArgumentException(elem + " is already in the heap!");
+        heap[size] = elem;
+        positions[elem] = size;
+        keys[elem] = priority;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * If the new priority is smaller than the current priority of the element elem, then the priority of the element
+     * is decreased to the new priority
+     * @param elem the element whose priority is to be decreased
+     * @param priority the target priority
+     * @exception IllegalArgumentException if elem is not in the heap
+     */
+    public void decreaseKey(int elem, long priority){
+        if(!contains(elem))
+            throw new IllegalArgumentException(elem + " is not in the heap!");
+        if(priority >= keys[elem])
+            return;
+        keys[elem] = priority;
+        siftUp(positions[elem]);
+    }
+
+    /**
+     * Returns the priority of the element elem
+     * @param elem the element whose priority is to be returned
+     * @return Returns the priority of the element elem
+     * @exception IllegalArgumentException if elem is not in the heap
+     */
+    public long getKey(int elem){
+        if(!contains(elem))
+            throw new IllegalArgumentException(elem + " is not in the heap!");
+        return keys[elem];
+    }
+
+    /**
+     * Returns the minimum element currently in the heap
+     * @return Returns the minimum element currently in the heap
+     * @exception NoSuchElementException if the heap is empty
+     */
+    public int min(){
+        if(size == 0)
+            throw new NoSuchElementException();
+        return heap[0];
+    }
+
+    /**
+     * Returns the priority of the minimum element currently in the heap
+     * @return Returns the priority of the minimum element currently in the heap
+     * @exception NoSuchElementException if the heap is empty
+     */
+    public long minKey(){
+        return keys[min()];
+    }
+
+    /**
+     * Deletes and returns the minimum element that is in the heap.
+     * @return Returns the minimum element that is in the heap
+     * @exception NoSuchElementException if the heap is empty
+     */
+    public int deleteMin(){
+        int min = min();
+        positions[min] = -1;
+        size--;
+        if(size > 0){
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Removes all elements from the heap. The runtime is linear in the number of elements in the heap, not in its
+     * capacity.
+     */
+    public void clear(){
+        for(int i = 0; i < size; i++)
+            positions[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int pos){
+        int elem = heap[pos];
+        long key = keys[elem];
+        while(pos > 0){
+            int parentPos = (pos - 1) / arity;
+            int parent = heap[parentPos];
+            if(keys[parent] <= key)
+                break;
+            heap[pos] = parent;
+            positions[parent] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = elem;
+        positions[elem] = pos;
+    }
+
+    private void siftDown(int pos){
+        int elem = heap[pos];
+        long key = keys[elem];
+        while(true){
+            int firstChild = arity * pos + 1;
+            if(firstChild >= size)
+                break;
+            int lastChild = Math.min(firstChild + arity, size);
+            int minChildPos = firstChild;
+            long minChildKey = keys[heap[firstChild]];
+            for(int childPos = firstChild + 1; childPos < lastChild; childPos++){
+                long childKey = keys[heap[childPos]];
+                if(childKey < minChildKey){
+                    minChildKey = childKey;
+                    minChildPos = childPos;
+                }
+            }
+            if(minChildKey >= key)
+                break;
+            int minChild = heap[minChildPos];
+            heap[pos] = minChild;
+            positions[minChild] = pos;
+            pos = minChildPos;
+        }
+        heap[pos] = elem;
+        positions[elem] = pos;
+    }
+
+    private void checkRange(int elem){
+        if(elem < 0 || elem >= positions.length)
+            throw new IllegalArgumentException(elem + " is not in the range [0, " + positions.length + ")");
+    }
+}
@@ -0,0 +1,98 @@
+package datastructures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A priority-queue for the elements 0, 1, ..., capacity - 1 with long priorities, as it is used by graph algorithms
+ * whose elements are node IDs. Implementations may restrict the priorities, e.g. monotone priority queues only accept
+ * priorities that are not smaller than the priority of the last deleted minimum.
+ */
+public interface IndexedPriorityQueue {
+
+    /**
+     * Returns the number of elements currently in the queue.
+     * @return Returns the number of elements currently in the queue.
+     */
+    int size();
+
+    /**
+     * Returns true if there is no element in the queue
+     * @return true if no element is in the queue
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns true if the element elem is currently in the queue
+     * @param elem the element whose presence in the queue is checked
+     * @return Returns true if the element elem is currently in the queue
+     * @exception IllegalArgumentException if elem is not in the range [0, capacity)
+     */
+    boolean contains(int elem);
+
+    /**
+     * Inserts the element elem with the priority into the queue
+     * @param elem the element to be inserted
+     * @param priority the priority of the element
+     * @exception IllegalArgumentException if elem is not in the range [0, capacity), if it is already in the queue or
+     * if the queue does not accept the priority
+     */
+    void insert(int elem, long priority);
+
+    /**
+     * If the new priority is smaller than the current priority of the element elem, then the priority of the element
+     * is decreased to the new priority
+     * @param elem the element whose priority is to be decreased
+     * @param priority the target priority
+     * @exception IllegalArgumentException if elem is not in the queue or if the queue does not accept the priority
+     */
+    void decreaseKey(int elem, long priority);
+
+    /**
+     * Inserts the element elem with the priority into the queue if it is not in the queue yet, otherwise the priority
+     * of the element is decreased to the new priority if the new priority is smaller than its current priority
+     * @param elem the element to be inserted or whose priority is to be decreased
+     * @param priority the priority of the element
+     * @exception IllegalArgumentException if elem is not in the range [0, capacity) or if the queue does not accept
+     * the priority
+     */
+    default void insertOrDecreaseKey(int elem, long priority){
+        if(contains(elem))
+            decreaseKey(elem, priority);
+        else
+            insert(elem, priority);
+    }
+
+    /**
+     * Returns the priority of the element elem
+     * @param elem the element whose priority is to be returned
+     * @return Returns the priority of the element elem
+     * @exception IllegalArgumentException if elem is not in the queue
+     */
+    long getKey(int elem);
+
+    /**
+     * Returns the minimum element currently in the queue
+     * @return Returns the minimum element currently in the queue
+     * @exception NoSuchElementException if the queue is empty
+     */
+    int min();
+
+    /**
+     * Returns the priority of the minimum element currently in the queue
+     * @return Returns the priority of the minimum element currently in the queue
+     * @exception NoSuchElementException if the queue is empty
+     */
+    long minKey();
+
+    /**
+     * Deletes and returns the minimum element that is in the queue.
+     * @return Returns the minimum element that is in the queue
+     * @exception NoSuchElementException if the queue is empty
+     */
+    int deleteMin();
+
+    /**
+     * Removes all elements from the queue
+     */
+    void clear();
+}
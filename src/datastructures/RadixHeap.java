@@ -0,0 +1,192 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone priority-queue for the elements 0, 1, ..., capacity - 1 with long priorities that is implemented as a
+ * radix heap. The priorities must not be smaller than the priority of the last deleted minimum, as it is the case in
+ * Dijkstra's algorithm with non-negative edge weights. An element with priority p is stored in the bucket that is given
+ * by the highest bit in which p differs from the last deleted minimum, so there are only 65 buckets. When the first
+ * bucket is empty, the smallest priority of the next non-empty bucket becomes the new reference and the elements of
+ * that bucket are redistributed into lower buckets. Every element moves down at most 64 times, so the amortized
+ * runtime of deleteMin is in O(log(C)) for priorities that differ by at most C, while insert and decreaseKey have
+ * constant runtime. No comparisons between the elements of a bucket are needed except for finding the new reference.
+ */
+public class RadixHeap implements IndexedPriorityQueue {
+
+    private static final int BUCKETS = 65;
+
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private final int[] bucketOf;
+    private final int[] positions;
+    private final long[] keys;
+    private long last;
+    private int size;
+
+    /**
+     * Creates an empty radix heap for the elements 0, 1, ..., capacity - 1
+     * @param capacity the number of elements that can be stored in the heap
+     * @exception IllegalArgumentException if capacity is negative
+     */
+    public RadixHeap(int capacity){
+        if(capacity < 0)
+            throw new IllegalArgumentException("The capacity must not be negative");
+        buckets = new int[BUCKETS][];
+        for(int i = 0; i < BUCKETS; i++)
+            buckets[i] = new int[4];
+        bucketSizes = new int[BUCKETS];
+        bucketOf = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(bucketOf, -1);
+        last = 0;
+        size = 0;
+    }
+
+    public int size(){return size;}
+
+    public boolean isEmpty(){return size == 0;}
+
+    public boolean contains(int elem){
+        checkRange(elem);
+        return bucketOf[elem] >= 0;
+    }
+
+    /**
+     * Inserts the element elem with the priority into the heap. The priority must not be smaller than the priority of
+     * the last deleted minimum, which is 0 before the first deletion.
+     * @param elem the element to be inserted
+     * @param priority the priority of the element
+     * @exception IllegalArgumentException if elem is not in the range [0, capacity), if it is already in the heap or if
+     * the priority is smaller than the priority of the last deleted minimum
+     */
+    public void insert(int elem, long priority){
+        if(contains(elem))
+            throw new IllegalArgumentException(elem + " is already in the heap!");
+        checkPriority(priority);
+        keys[elem] = priority;
+        add(elem, bucket(priority));
+        size++;
+    }
+
+    public void decreaseKey(int elem, long priority){
+        if(!contains(elem))
+            throw new IllegalArgumentException(elem + " is not in the heap!");
+        if(priority >= keys[elem])
+            return;
+        checkPriority(priority);
+        int bucket = bucket(priority);
+        keys[elem] = priority;
+        if(bucket != bucketOf[elem]){
+            remove(elem);
+            add(elem, bucket);
+        }
+    }
+
+    public long getKey(int elem){
+        if(!contains(elem))
+            throw new IllegalArgumentException(elem + " is not in the heap!");
+        return keys[elem];
+    }
+
+    public int min(){
+        if(size == 0)
+            throw new NoSuchElementException();
+        if(bucketSizes[0] > 0)
+            return buckets[0][0];
+        int bucket = firstNonEmptyBucket();
+        int min = buckets[bucket][0];
+        for(int i = 1; i < bucketSizes[bucket]; i++){
+            if(keys[buckets[bucket][i]] < keys[min])
+                min = buckets[bucket][i];
+        }
+        return min;
+    }
+
+    public long minKey(){
+        return keys[min()];
+    }
+
+    public int deleteMin(){
+        if(size == 0)
+            throw new NoSuchElementException();
+        if(bucketSizes[0] == 0)
+            redistribute();
+        int min = buckets[0][0];
+        remove(min);
+        size--;
+        return min;
+    }
+
+    /**
+     * Removes all elements from the heap and resets the last deleted minimum to 0. The runtime is linear in the number
+     * of elements in the heap, not in its capacity.
+     */
+    public void clear(){
+        for(int bucket = 0; bucket < BUCKETS; bucket++){
+            for(int i = 0; i < bucketSizes[bucket]; i++)
+                bucketOf[buckets[bucket][i]] = -1;
+            bucketSizes[bucket] = 0;
+        }
+        last = 0;
+        size = 0;
+    }
+
+    /*
+     * Makes the smallest priority of the first non-empty bucket the new reference and moves the elements of that
+     * bucket to lower buckets, at least the minimum moves to bucket 0. The elements share all bits above the bucket
+     * with the new reference, so none of them stays in the bucket and it can be emptied in place.
+     */
+    private void redistribute(){
+        int bucket = firstNonEmptyBucket();
+        int[] elems = buckets[bucket];
+        int count = bucketSizes[bucket];
+        long min = Long.MAX_VALUE;
+        for(int i = 0; i < count; i++)
+            min = Math.min(min, keys[elems[i]]);
+        last = min;
+        bucketSizes[bucket] = 0;
+        for(int i = 0; i < count; i++)
+            add(elems[i], bucket(keys[elems[i]]));
+    }
+
+    private int firstNonEmptyBucket(){
+        int bucket = 1;
+        while(bucketSizes[bucket] == 0)
+            bucket++;
+        return bucket;
+    }
+
+    private int bucket(long priority){
+        return priority == last ? 0 : 64 - Long.numberOfLeadingZeros(priority ^ last);
+    }
+
+    private void add(int elem, int bucket){
+        if(bucketSizes[bucket] == buckets[bucket].length)
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], 2 * bucketSizes[bucket]);
+        positions[elem] = bucketSizes[bucket];
+        bucketOf[elem] = bucket;
+        buckets[bucket][bucketSizes[bucket]++] = elem;
+    }
+
+    private void remove(int elem){
+        int bucket = bucketOf[elem];
+        int lastElem = buckets[bucket][--bucketSizes[bucket]];
+        buckets[bucket][positions[elem]] = lastElem;
+        positions[lastElem] = positions[elem];
+        bucketOf[elem] = -1;
+    }
+
+    private void checkPriority(long priority){
+        if(priority < last)
+            throw new IllegalArgumentException("The priority " + priority + " is smaller than the last minimum "
+                    + last);
+    }
+
+    private void checkRange(int elem){
+        if(elem < 0 || elem >= bucketOf.length)
+            throw new IllegalArgumentException(elem + " is not in the range [0, " + bucketOf.length + ")");
+    }
+}
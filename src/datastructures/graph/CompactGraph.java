@@ -0,0 +1,231 @@
+package datastructures.graph;
+
+import java.util.*;
+
+/**
+ * An immutable snapshot of a graph in compressed sparse row format. The outgoing edges of the node with ID u are the
+ * edges getOutEdgesStart(u), ..., getOutEdgesEnd(u) - 1, whose targets and weights are stored in two int arrays, and
+ * the incoming edges are stored in the same way in a second set of arrays. The edges of a node are sorted by the ID of
+ * the other node. The node IDs are the same as in the graph, and the nodes and their IDs are copied as well, so the
+ * snapshot never reads the graph after its creation. Iterating over the edges of a node neither allocates objects nor
+ * looks up hash tables, which makes the snapshot well suited for algorithms that scan the edges of large graphs many
+ * times, possibly in several threads. Note that changes of the graph after the creation of the snapshot are not
+ * reflected by the snapshot.
+ * @param <T> the type of the nodes in the graph
+ */
+public final class CompactGraph<T> {
+
+    private final Graph<T> graph;
+    private final Map<T, Integer> ids;
+    private final List<T> nodes;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] outWeights;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final int[] inWeights;
+
+    /**
+     * Creates a snapshot of the graph. The runtime is in O(|V| + |E|log(|E|/|V|)).
+     * @param graph the graph whose nodes and edges are copied
+     * @exception NullPointerException if the graph is null
+     */
+    public CompactGraph(Graph<T> graph){
+        Objects.requireNonNull(graph);
+        this.graph = graph;
+        int size = graph.size();
+        //The graph is not thread-safe, so the queries of the snapshot must not look up its nodes
+        ids = new HashMap<>(2 * size);
+        nodes = new ArrayList<>(size);
+        outOffsets = new int[size + 1];
+        inOffsets = new int[size + 1];
+        for(int id = 0; id < size; id++){
+            T node = graph.getNode(id);
+            ids.put(node, id);
+            nodes.add(node);
+            outOffsets[id + 1] = outOffsets[id] + graph.getSuccessors(node).size();
+        }
+
+        int edges = outOffsets[size];
+        outTargets = new int[edges];
+        outWeights = new int[edges];
+        long[] packed = new long[0];
+        for(int id = 0; id < size; id++){
+            T node = graph.getNode(id);
+            int degree = outOffsets[id + 1] - outOffsets[id];
+            if(packed.length < degree)
+                packed = new long[degree];
+            int i = 0;
+            //The target is stored in the upper half, so sorting the packed edges sorts them by target
+            for(T succ : graph.getSuccessors(node))
+                packed[i++] = ((long) graph.getId(succ) << 32) | (graph.getEdgeWeight(node, succ) & 0xFFFFFFFFL);
+            Arrays.sort(packed, 0, degree);
+            for(i = 0; i < degree; i++){
+                outTargets[outOffsets[id] + i] = (int) (packed[i] >>> 32);
+                outWeights[outOffsets[id] + i] = (int) packed[i];
+                inOffsets[outTargets[outOffsets[id] + i] + 1]++;
+            }
+        }
+
+        for(int id = 0; id < size; id++)
+            inOffsets[id + 1] += inOffsets[id];
+        inSources = new int[edges];
+        inWeights = new int[edges];
+        int[] next = Arrays.copyOf(inOffsets, size);
+        //The sources are visited in increasing order, so the incoming edges are sorted as well
+        for(int id = 0; id < size; id++){
+            for(int e = outOffsets[id]; e < outOffsets[id + 1]; e++){
+                int inEdge = next[outTargets[e]]++;
+                inSources[inEdge] = id;
+                inWeights[inEdge] = outWeights[e];
+            }
+        }
+    }
+
+    /**
+     * Returns the graph this snapshot was created from
+     * @return Returns the graph this snapshot was created from
+     */
+    public Graph<T> getGraph(){return graph;}
+
+    /**
+     * Returns the number of nodes in the snapshot.
+     * @return Returns the number of nodes in the snapshot.
+     */
+    public int size(){return outOffsets.length - 1;}
+
+    /**
+     * Returns the number of directed edges in the snapshot.
+     * @return Returns the number of directed edges in the snapshot.
+     */
+    public int getNumberOfEdges(){return outTargets.length;}
+
+    /**
+     * Returns the ID of the node
+     * @param node the node whose ID is requested
+     * @return Returns the ID of the node
+     * @exception NullPointerException if the node is null
+     * @exception IllegalArgumentException if the node is not in the snapshot, e.g. because it was added to the graph
+     * after the creation of the snapshot
+     */
+    public int getId(T node){
+        Objects.requireNonNull(node);
+        Integer id = ids.get(node);
+        if(id == null)
+            throw new IllegalArgumentException(node + " is not contained in the snapshot of the graph!");
+        return id;
+    }
+
+    /**
+     * Returns true if the node is in the snapshot
+     * @param node the node whose presence is to be checked
+     * @return Returns true if the node is in the snapshot
+     * @exception NullPointerException if the node is null
+     */
+    public boolean contains(T node){
+        Objects.requireNonNull(node);
+        return ids.containsKey(node);
+    }
+
+    /**
+     * Returns the node with the ID
+     * @param id the ID whose node is requested
+     * @return Returns the node with the ID
+     * @exception IllegalArgumentException if there is no node with the ID in the snapshot
+     */
+    public T getNode(int id){
+        if(id < 0 || id >= nodes.size())
+            throw new IllegalArgumentException("The snapshot does not contain a node with the ID " + id);
+        return nodes.get(id);
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the node with the ID
+     * @param id the ID of the node
+     * @return Returns the index of the first outgoing edge of the node
+     */
+    public int getOutEdgesStart(int id){return outOffsets[id];}
+
+    /**
+     * Returns the index after the last outgoing edge of the node with the ID
+     * @param id the ID of the node
+     * @return Returns the index after the last outgoing edge of the node
+     */
+    public int getOutEdgesEnd(int id){return outOffsets[id + 1];}
+
+    /**
+     * Returns the ID of the target node of the outgoing edge with the index
+     * @param edge the index of the outgoing edge
+     * @return Returns the ID of the target node of the edge
+     */
+    public int getEdgeTarget(int edge){return outTargets[edge];}
+
+    /**
+     * Returns the weight of the outgoing edge with the index
+     * @param edge the index of the outgoing edge
+     * @return Returns the weight of the edge
+     */
+    public int getEdgeWeight(int edge){return outWeights[edge];}
+
+    /**
+     * Returns the index of the first incoming edge of the node with the ID
+     * @param id the ID of the node
+     * @return Returns the index of the first incoming edge of the node
+     */
+    public int getInEdgesStart(int id){return inOffsets[id];}
+
+    /**
+     * Returns the index after the last incoming edge of the node with the ID
+     * @param id the ID of the node
+     * @return Returns the index after the last incoming edge of the node
+     */
+    public int getInEdgesEnd(int id){return inOffsets[id + 1];}
+
+    /**
+     * Returns the ID of the source node of the incoming edge with the index
+     * @param inEdge the index of the incoming edge
+     * @return Returns the ID of the source node of the edge
+     */
+    public int getInEdgeSource(int inEdge){return inSources[inEdge];}
+
+    /**
+     * Returns the weight of the incoming edge with the index
+     * @param inEdge the index of the incoming edge
+     * @return Returns the weight of the edge
+     */
+    public int getInEdgeWeight(int inEdge){return inWeights[inEdge];}
+
+    /**
+     * Returns the index of the outgoing edge from the node with ID from to the node with ID to or -1 if there is no
+     * such edge. The edge is found by a binary search.
+     * @param from the ID of the starting node
+     * @param to the ID of the ending node
+     * @return Returns the index of the edge or -1 if there is no such edge
+     */
+    public int findEdge(int from, int to){
+        int index = Arrays.binarySearch(outTargets, outOffsets[from], outOffsets[from + 1], to);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Returns the smallest edge weight in the snapshot or 0 if there are no edges
+     * @return Returns the smallest edge weight in the snapshot
+     */
+    public int getMinEdgeWeight(){
+        int min = outWeights.length == 0 ? 0 : Integer.MAX_VALUE;
+        for(int weight : outWeights)
+            min = Math.min(min, weight);
+        return min;
+    }
+
+    /**
+     * Returns the largest edge weight in the snapshot or 0 if there are no edges
+     * @return Returns the largest edge weight in the snapshot
+     */
+    public int getMaxEdgeWeight(){
+        int max = outWeights.length == 0 ? 0 : Integer.MIN_VALUE;
+        for(int weight : outWeights)
+            max = Math.max(max, weight);
+        return max;
+    }
+}
@@ -0,0 +1,65 @@
+package datastructures.graph;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the directed edges of a graph whose starting nodes have an ID in the range [lo, hi). It is split
+ * by halving the range of IDs. Since the number of edges per node is not known in advance, only an estimate of the
+ * size is reported.
+ * @param <T> the type of the nodes in the graph
+ */
+class EdgeSpliterator<T> implements Spliterator<WeightedEdge<T>> {
+
+    private final Graph<T> graph;
+    private int lo;
+    private final int hi;
+    private T from;
+    private Iterator<T> successors;
+
+    EdgeSpliterator(Graph<T> graph, int lo, int hi){
+        this.graph = graph;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super WeightedEdge<T>> action) {
+        while(successors == null || !successors.hasNext()){
+            if(lo >= hi)
+                return false;
+            from = graph.getNode(lo++);
+            successors = graph.getSuccessorsSub(from).iterator();
+        }
+
+        T to = successors.next();
+        action.accept(new WeightedEdge<>(from, to, graph.getEdgeWeightSub(from, to)));
+        return true;
+    }
+
+    @Override
+    public Spliterator<WeightedEdge<T>> trySplit() {
+        int mid = (lo + hi) >>> 1;
+        if(mid <= lo)
+            return null;
+        //The prefix also takes over the remaining edges of the node that is currently processed
+        EdgeSpliterator<T> prefix = new EdgeSpliterator<>(graph, lo, mid);
+        prefix.from = from;
+        prefix.successors = successors;
+        from = null;
+        successors = null;
+        lo = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return hi - lo;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL;
+    }
+}
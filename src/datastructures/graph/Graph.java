@@ -1,6 +1,8 @@
 package datastructures.graph;
 
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A datastructure to build up and store a graph. Amongst operations to add and remove nodes and edges, there are also
@@ -13,12 +15,15 @@ public abstract class Graph<T> {
 
     private Integer nextId;
     private final Map<T, Integer> nodes;
+    private final List<T> idToNode;
+    private long modificationCount;
 
     /**
      * Creates an empty graph.
      */
     public Graph(){
         nodes = new HashMap<>();
+        idToNode = new ArrayList<>();
         nextId = 0;
     }
 
@@ -34,6 +39,14 @@ public abstract class Graph<T> {
      */
     public int size(){return nodes.size();}
 
+    /**
+     * Returns the number of modifications of the graph, which is increased whenever a node is added or an edge is
+     * added, removed or reweighted. Algorithms that store results can compare it to the value at the time of the
+     * computation to detect that the graph has been changed since.
+     * @return Returns the number of modifications of the graph
+     */
+    public long getModificationCount(){return modificationCount;}
+
     /**
      * Returns true if the node is in the graph
      * @param node the node whose presence is to be checked
@@ -59,6 +72,19 @@ public abstract class Graph<T> {
         throw new IllegalArgumentException("The Graph does not contain the node " + node);
     }
 
+    /**
+     * Returns the node that is associated with the unique ID. The IDs of the nodes are 0, 1, ..., size() - 1 in the
+     * order the nodes were added to the graph.
+     * @param id the ID whose node is requested
+     * @return Returns the node that is associated with the unique ID
+     * @exception IllegalArgumentException if there is no node with the ID in the graph
+     */
+    public T getNode(int id){
+        if(id < 0 || id >= idToNode.size())
+            throw new IllegalArgumentException("The Graph does not contain a node with the ID " + id);
+        return idToNode.get(id);
+    }
+
     /**
      * Adds the node to the graph if it is not present yet
      * @param node the node to be added to the graph
@@ -66,8 +92,11 @@ public abstract class Graph<T> {
      */
     public final void addNode(T node){
         Objects.requireNonNull(node);
-        if(!nodes.containsKey(node))
+        if(!nodes.containsKey(node)){
             nodes.put(node, nextId++);
+            idToNode.add(node);
+            modificationCount++;
+        }
 
         addNodeSub(node);
     }
@@ -127,6 +156,7 @@ public abstract class Graph<T> {
             throw new IllegalArgumentException(to + " is not in the graph!");
 
         addDirectedEdgeSub(from, to, weight);
+        modificationCount++;
     }
 
     protected abstract void addDirectedEdgeSub(T from, T to, int weight);
@@ -163,6 +193,7 @@ public abstract class Graph<T> {
             throw new IllegalArgumentException(to + " is not in the graph!");
 
         removeDirectedEdgeSub(from, to);
+        modificationCount++;
     }
 
     protected abstract void removeDirectedEdgeSub(T from, T to);
@@ -265,6 +296,7 @@ public abstract class Graph<T> {
             throw new IllegalArgumentException("There is no edge from " + from + " to " + to);
 
         setEdgeWeightSub(from, to, weight);
+        modificationCount++;
     }
 
     protected abstract void setEdgeWeightSub(T from, T to, int weight);
@@ -313,14 +345,73 @@ public abstract class Graph<T> {
     }
 
     /**
-     * Returns an iterator that iterates over the nodes in the graph in their topological sort order if the graph is acyclic
+     * Returns an iterator that iterates over the nodes in the graph in their topological sort order if the graph is acyclic.
+     * The order is computed lazily, so if the graph contains a cycle, the iterator throws an IllegalArgumentException
+     * as soon as all nodes that are not part of or reachable from a cycle have been returned.
      * @return Returns an iterator that iterates over the nodes in the graph in their topological sort order if the graph is acyclic
-     * @exception IllegalArgumentException if the graph is not acyclic
      */
     public TopologicalSortIterator<T> getTopologicalSortIterator(){
         return new TopologicalSortIterator<>(this);
     }
 
+    /**
+     * Returns a stream of the nodes in the graph in the order of their IDs. The stream is sized and a parallel stream
+     * splits the range of IDs, so that each thread processes a contiguous range of nodes. Note that the graph must not
+     * be changed while the stream is processed.
+     * @return Returns a stream of the nodes in the graph
+     */
+    public Stream<T> nodeStream(){
+        return StreamSupport.stream(new NodeSpliterator<>(this, 0, size()), false);
+    }
+
+    /**
+     * Returns a stream of the directed edges in the graph, where an undirected edge is represented by two directed edges.
+     * The edges are ordered by the IDs of their starting nodes and a parallel stream splits the range of IDs of the
+     * starting nodes. Note that the graph must not be changed while the stream is processed.
+     * @return Returns a stream of the directed edges in the graph
+     */
+    public Stream<WeightedEdge<T>> edgeStream(){
+        return StreamSupport.stream(new EdgeSpliterator<>(this, 0, size()), false);
+    }
+
+    /**
+     * Returns a stream of the nodes in a depth-first-search manner starting at the node start. The traversal is
+     * performed lazily, so a short-circuiting stream operation stops the search early.
+     * @param start the node the depth-first-search is to be started
+     * @return Returns a stream of the nodes in a depth-first-search manner starting at the node start
+     * @exception NullPointerException if start is null
+     * @exception IllegalArgumentException if start is not in the graph
+     */
+    public Stream<T> dfsStream(T start){
+        return traversalStream(getDFSIterator(start));
+    }
+
+    /**
+     * Returns a stream of the nodes in a breadth-first-search manner starting at the node start. The traversal is
+     * performed lazily, so a short-circuiting stream operation stops the search early.
+     * @param start the node the breadth-first-search is to be started
+     * @return Returns a stream of the nodes in a breadth-first-search manner starting at the node start
+     * @exception NullPointerException if start is null
+     * @exception IllegalArgumentException if start is not in the graph
+     */
+    public Stream<T> bfsStream(T start){
+        return traversalStream(getBFSIterator(start));
+    }
+
+    /**
+     * Returns a stream of the nodes in the graph in their topological sort order. The order is computed lazily, so if
+     * the graph contains a cycle, the stream throws an IllegalArgumentException once the cycle is reached.
+     * @return Returns a stream of the nodes in the graph in their topological sort order
+     */
+    public Stream<T> topologicalSortStream(){
+        return traversalStream(getTopologicalSortIterator());
+    }
+
+    private Stream<T> traversalStream(Iterator<T> iterator){
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
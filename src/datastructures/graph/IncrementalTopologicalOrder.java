@@ -0,0 +1,217 @@
+package datastructures.graph;
+
+import java.util.*;
+
+/**
+ * Maintains a topological sort order of a DIRECTED and ACYCLIC graph while edges are inserted. Instead of sorting the
+ * whole graph again after every insertion, the algorithm of Pearce and Kelly is used: if the new edge from node from to
+ * node to already agrees with the current order, nothing has to be done. Otherwise only the nodes whose position lies
+ * between the positions of to and from and that are reachable from to or can reach from are reordered. An insertion
+ * that would close a cycle is detected during this search and rejected. Note that all nodes and edges have to be added
+ * via this class, since otherwise the order might not reflect the changes made in the graph.
+ * @param <T> the type of the nodes in the graph
+ */
+public class IncrementalTopologicalOrder<T> {
+
+    private final Graph<T> graph;
+    private final List<T> order;
+    private int[] positions;
+    private int[] visited;
+    private int stamp;
+
+    /**
+     * Creates an instance that maintains a topological sort order of the graph. The initial order is computed via the
+     * TopologicalSortIterator of the graph.
+     * @param graph the graph whose topological sort order is maintained
+     * @exception NullPointerException if the graph is null
+     * @exception IllegalArgumentException if the graph contains a cycle
+     */
+    public IncrementalTopologicalOrder(Graph<T> graph){
+        Objects.requireNonNull(graph);
+        this.graph = graph;
+        order = new ArrayList<>(graph.size());
+        positions = new int[graph.size()];
+        visited = new int[graph.size()];
+        stamp = 0;
+        TopologicalSortIterator<T> iterator = graph.getTopologicalSortIterator();
+        while(iterator.hasNext()){
+            T node = iterator.next();
+            positions[graph.getId(node)] = order.size();
+            order.add(node);
+        }
+    }
+
+    /**
+     * Adds the node to the graph if it is not present yet and appends it to the topological sort order
+     * @param node the node to be added to the graph
+     * @exception NullPointerException if the node is null
+     */
+    public void addNode(T node){
+        graph.addNode(node);
+        int id = graph.getId(node);
+        if(id < order.size())
+            return;
+
+        if(id >= positions.length){
+            int newSize = Math.max(2 * positions.length, id + 1);
+            positions = Arrays.copyOf(positions, newSize);
+            visited = Arrays.copyOf(visited, newSize);
+        }
+        positions[id] = order.size();
+        order.add(node);
+    }
+
+    /**
+     * Adds a directed edge from node from to node to to the graph and updates the topological sort order. If the edge
+     * would close a cycle, then neither the graph nor the order is changed.
+     * @param from the starting node of the edge
+     * @param to the ending node of the edge
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to is not in the graph yet or if the edge would close a cycle
+     */
+    public void addDirectedEdge(T from, T to){
+        addDirectedEdge(from, to, 1);
+    }
+
+    /**
+     * Adds a directed edge from node from to node to with the specified weight to the graph and updates the topological
+     * sort order. If the edge would close a cycle, then neither the graph nor the order is changed.
+     * @param from the starting node of the edge
+     * @param to the ending node of the edge
+     * @param weight the weight of the edge that is to be added
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to is not in the graph yet or if the edge would close a cycle
+     */
+    public void addDirectedEdge(T from, T to, int weight){
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        if(!graph.contains(from))
+            throw new IllegalArgumentException(from + " is not in the graph!");
+        if(!graph.contains(to))
+            throw new IllegalArgumentException(to + " is not in the graph!");
+
+        int fromPosition = getPosition(from);
+        int toPosition = getPosition(to);
+        if(fromPosition < toPosition){
+            graph.addDirectedEdge(from, to, weight);
+            return;
+        }
+        if(fromPosition == toPosition)
+            throw new IllegalArgumentException("The edge from " + from + " to " + to + " would close a cycle");
+
+        //Only the nodes between the positions of to and from are affected by the insertion
+        List<T> forward = search(to, fromPosition, true, from);
+        if(forward == null)
+            throw new IllegalArgumentException("The edge from " + from + " to " + to + " would close a cycle");
+        List<T> backward = search(from, toPosition, false, null);
+
+        graph.addDirectedEdge(from, to, weight);
+        reorder(backward, forward);
+    }
+
+    /**
+     * Removes the directed edge from node from to node to from the graph if it is present. The topological sort order
+     * stays valid, so it is not changed.
+     * @param from the starting node of the edge to be deleted
+     * @param to the ending node of the edge to be deleted
+     * @exception NullPointerException if from or to is null
+     * @exception IllegalArgumentException if from or to is not in the graph yet
+     */
+    public void removeDirectedEdge(T from, T to){
+        graph.removeDirectedEdge(from, to);
+    }
+
+    /**
+     * Returns the current topological sort order of the nodes in the graph
+     * @return Returns an unmodifiable view of the current topological sort order of the nodes in the graph
+     */
+    public List<T> getOrder(){
+        return Collections.unmodifiableList(order);
+    }
+
+    /**
+     * Returns the position of the node in the current topological sort order
+     * @param node the node whose position is to be returned
+     * @return Returns the position of the node in the current topological sort order
+     * @exception NullPointerException if the node is null
+     * @exception IllegalArgumentException if the node is not in the graph or was not added via this class
+     */
+    public int getPosition(T node){
+        int id = graph.getId(node);
+        if(id >= order.size())
+            throw new IllegalArgumentException(node + " was not added via the IncrementalTopologicalOrder");
+        return positions[id];
+    }
+
+    /**
+     * Returns true if node a comes before node b in the current topological sort order
+     * @param a the first node
+     * @param b the second node
+     * @return Returns true if node a comes before node b in the current topological sort order
+     * @exception NullPointerException if a or b is null
+     * @exception IllegalArgumentException if a or b is not in the graph or was not added via this class
+     */
+    public boolean precedes(T a, T b){
+        return getPosition(a) < getPosition(b);
+    }
+
+    /*
+     * Collects all nodes that are reachable from start (or that can reach start if forward is false) without leaving
+     * the affected region. Returns null if the forbidden node is found, because then the new edge would close a cycle.
+     */
+    private List<T> search(T start, int bound, boolean forward, T forbidden){
+        if(forward)
+            stamp++;
+        List<T> found = new ArrayList<>();
+        Deque<T> stack = new ArrayDeque<>();
+        stack.push(start);
+        visited[graph.getId(start)] = forward ? stamp : -stamp;
+        while(!stack.isEmpty()){
+            T node = stack.pop();
+            found.add(node);
+            for(T next : forward ? graph.getSuccessors(node) : graph.getPredecessors(node)){
+                if(next.equals(forbidden))
+                    return null;
+                int nextId = graph.getId(next);
+                int position = positions[nextId];
+                boolean inRegion = forward ? position <= bound : position >= bound;
+                int mark = forward ? stamp : -stamp;
+                if(inRegion && visited[nextId] != mark){
+                    visited[nextId] = mark;
+                    stack.push(next);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /*
+     * Moves all nodes that can reach the new edge in front of all nodes that are reachable from the new edge. The nodes
+     * keep their relative order within both groups and only the positions they occupied before are reused.
+     */
+    private void reorder(List<T> backward, List<T> forward){
+        Comparator<T> byPosition = Comparator.comparingInt(node -> positions[graph.getId(node)]);
+        backward.sort(byPosition);
+        forward.sort(byPosition);
+
+        int[] freePositions = new int[backward.size() + forward.size()];
+        int i = 0;
+        for(T node : backward)
+            freePositions[i++] = positions[graph.getId(node)];
+        for(T node : forward)
+            freePositions[i++] = positions[graph.getId(node)];
+        Arrays.sort(freePositions);
+
+        i = 0;
+        for(T node : backward)
+            place(node, freePositions[i++]);
+        for(T node : forward)
+            place(node, freePositions[i++]);
+    }
+
+    private void place(T node, int position){
+        positions[graph.getId(node)] = position;
+        order.set(position, node);
+    }
+}
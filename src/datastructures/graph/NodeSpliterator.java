@@ -0,0 +1,55 @@
+package datastructures.graph;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the nodes of a graph whose IDs lie in the range [lo, hi). It is split by halving the range of IDs.
+ * @param <T> the type of the nodes in the graph
+ */
+class NodeSpliterator<T> implements Spliterator<T> {
+
+    private final Graph<T> graph;
+    private int lo;
+    private final int hi;
+
+    NodeSpliterator(Graph<T> graph, int lo, int hi){
+        this.graph = graph;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if(lo >= hi)
+            return false;
+        action.accept(graph.getNode(lo++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while(lo < hi)
+            action.accept(graph.getNode(lo++));
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (lo + hi) >>> 1;
+        if(mid <= lo)
+            return null;
+        Spliterator<T> prefix = new NodeSpliterator<>(graph, lo, mid);
+        lo = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return hi - lo;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+    }
+}
@@ -3,64 +3,68 @@ package datastructures.graph;
 import java.util.*;
 
 /**
- * An iterator that iterates over the nodes in the graph in their topological sort order if the graph is acyclic. Note
+ * An iterator that iterates over the nodes in the graph in their topological sort order if the graph is acyclic. The
+ * order is computed lazily via Kahn's algorithm, i.e. a node is returned as soon as all of its predecessors have been
+ * returned. Therefore a cycle is only detected once there are no more nodes without unvisited predecessors left. Note
  * that the graph must not be changed during the iteration, because then te iterator might produce a wrong result.
  * @param <T> the type of the nodes in the graph
  */
 public class TopologicalSortIterator<T> implements Iterator<T> {
 
     private final Graph<T> graph;
-    private final Set<T> visited;
-    private final Map<T, Integer> inDegreeMap;
-    private final LinkedList<T> queue;
-    private final List<T> order;
+    private final int[] inDegrees;
+    private final ArrayDeque<T> queue;
+    private int returned;
 
 
     protected TopologicalSortIterator(Graph<T> graph){
         Objects.requireNonNull(graph);
         this.graph = graph;
-        visited = new HashSet<>();
-        inDegreeMap = new HashMap<>();
-        queue = new LinkedList<>();
-        order = new LinkedList<>();
+        inDegrees = new int[graph.size()];
+        queue = new ArrayDeque<>();
+        returned = 0;
         for(T node : graph.getNodes()){
-            inDegreeMap.put(node, graph.getPredecessors(node).size());
-        }
-
-        getOrder();
-    }
-
-    private void getOrder(){
-        for(T node : graph.getNodes()){
-            if(inDegreeMap.get(node) == 0 && !visited.contains(node))
-                explore(node);
-        }
-
-        if(order.size() != graph.getNodes().size())
-            throw new IllegalArgumentException("The graph has to be acyclic, but it contains a cycle");
-    }
-
-    private void explore(T node){
-        queue.add(node);
-        while(!queue.isEmpty()){
-            T first = queue.removeFirst();
-            order.add(first);
-            visited.add(first);
-            for(T succ : graph.getSuccessors(first)){
-                inDegreeMap.put(succ, inDegreeMap.get(succ) - 1);
-                if(!visited.contains(succ) && inDegreeMap.get(succ) == 0)
-                    queue.add(succ);
-            }
+            int inDegree = graph.inDegree(node);
+            inDegrees[graph.getId(node)] = inDegree;
+            if(inDegree == 0)
+                queue.add(node);
         }
     }
 
+    /**
+     * Returns true if there is another node in the topological sort order
+     * @return Returns true if there is another node in the topological sort order
+     * @exception IllegalArgumentException if all nodes without unvisited predecessors have been returned, but there are
+     * still nodes left, i.e. if the graph contains a cycle
+     */
     @Override
     public boolean hasNext() {
-        return !order.isEmpty();
+        if(!queue.isEmpty())
+            return true;
+        if(returned != inDegrees.length)
+            throw new IllegalArgumentException("The graph has to be acyclic, but it contains a cycle");
+        return false;
     }
 
+    /**
+     * Returns the next node in the topological sort order
+     * @return Returns the next node in the topological sort order
+     * @exception NoSuchElementException if all nodes have been returned
+     * @exception IllegalArgumentException if the graph contains a cycle and all nodes that are not part of or reachable
+     * from a cycle have been returned
+     */
     @Override
     public T next() {
-        return order.remove(0);
+        if(!hasNext())
+            throw new NoSuchElementException();
+
+        T node = queue.removeFirst();
+        returned++;
+        for(T succ : graph.getSuccessors(node)){
+            if(--inDegrees[graph.getId(succ)] == 0)
+                queue.add(succ);
+        }
+
+        return node;
     }
 }
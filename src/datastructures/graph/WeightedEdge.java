@@ -0,0 +1,59 @@
+package datastructures.graph;
+
+import java.util.Objects;
+
+/**
+ * A directed edge of a graph together with its weight, as it is returned by the edge stream of a graph.
+ * @param <T> the type of the nodes in the graph
+ */
+public final class WeightedEdge<T> {
+
+    private final T from;
+    private final T to;
+    private final int weight;
+
+    /**
+     * Creates a directed edge from node from to node to with the specified weight
+     * @param from the starting node of the edge
+     * @param to the ending node of the edge
+     * @param weight the weight of the edge
+     * @exception NullPointerException if from or to is null
+     */
+    public WeightedEdge(T from, T to, int weight) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+    }
+
+    public T getFrom() {
+        return from;
+    }
+
+    public T getTo() {
+        return to;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WeightedEdge<?> that = (WeightedEdge<?>) o;
+        return weight == that.weight && from.equals(that.from) && to.equals(that.to);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, weight);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + from + " --" + weight + "--> " + to + ")";
+    }
+}
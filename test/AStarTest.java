@@ -0,0 +1,124 @@
+import algorithms.shortest_paths.AStar;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToLongBiFunction;
+
+public class AStarTest extends ShortestPathTest{
+
+    private static final int GRID_WIDTH = 20;
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new AStar<>(graph, (a, b) -> 0, true);
+    }
+
+    private Graph<Integer> getGridGraph(){
+        /*
+        A GRID_WIDTH x GRID_WIDTH grid where node y * GRID_WIDTH + x has the coordinates (x, y) and every edge has a
+        random weight of at least 10 times its length
+         */
+        Random random = new Random(5);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < GRID_WIDTH * GRID_WIDTH; i++)
+            graph.addNode(i);
+        for(int y = 0; y < GRID_WIDTH; y++){
+            for(int x = 0; x < GRID_WIDTH; x++){
+                int node = y * GRID_WIDTH + x;
+                if(x + 1 < GRID_WIDTH)
+                    graph.addUndirectedEdge(node, node + 1, 10 + random.nextInt(10));
+                if(y + 1 < GRID_WIDTH)
+                    graph.addUndirectedEdge(node, node + GRID_WIDTH, 10 + random.nextInt(10));
+            }
+        }
+        return graph;
+    }
+
+    private static double[] coordinates(int node){
+        return new double[]{node % GRID_WIDTH, node / GRID_WIDTH};
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnGridWithManhattanAndEuclideanHeuristic(){
+        Graph<Integer> graph = getGridGraph();
+        ShortestPathCalculator<Integer> dijkstra = new Dijkstra<>(graph);
+        ToLongBiFunction<Integer, Integer> manhattan = AStar.manhattan(AStarTest::coordinates, 10);
+        ToLongBiFunction<Integer, Integer> euclidean = AStar.euclidean(AStarTest::coordinates, 10);
+        ShortestPathCalculator<Integer> manhattanAStar = new AStar<>(graph, manhattan, true);
+        ShortestPathCalculator<Integer> euclideanAStar = new AStar<>(graph, euclidean, true);
+        for(int from = 0; from < graph.size(); from += 37){
+            for(int to = 0; to < graph.size(); to += 13){
+                Long expected = dijkstra.getWeightOfShortestPath(from, to);
+                Assert.assertEquals(expected, manhattanAStar.getWeightOfShortestPath(from, to));
+                Assert.assertEquals(expected, euclideanAStar.getWeightOfShortestPath(from, to));
+
+                List<Integer> path = manhattanAStar.getShortestPath(from, to);
+                long sum = 0;
+                for(int i = 1; i < path.size(); i++)
+                    sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+                Assert.assertEquals(expected.longValue(), sum);
+            }
+        }
+    }
+
+    @Test
+    public void testHaversineHeuristic(){
+        ToLongBiFunction<String, String> haversine = AStar.haversine(
+                city -> city.equals("Berlin") ? new double[]{52.52, 13.405} : new double[]{48.8566, 2.3522}, 0.001);
+        Assert.assertEquals(0, haversine.applyAsLong("Berlin", "Berlin"));
+        long distance = haversine.applyAsLong("Berlin", "Paris");
+        Assert.assertTrue(distance >= 870 && distance <= 885);
+    }
+
+    @Test
+    public void testHeuristicOfLongMaxValueDoesNotOverflow(){
+        //Node 4 cannot reach the target, so it must not be expanded before the target is settled
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 1; i <= 5; i++)
+            graph.addNode(i);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, 1);
+        graph.addDirectedEdge(1, 4, 1);
+        graph.addDirectedEdge(4, 5, 1);
+
+        List<Integer> estimated = new ArrayList<>();
+        AStar<Integer> aStar = new AStar<>(graph, (a, b) -> {
+            estimated.add(a);
+            return a >= 4 ? Long.MAX_VALUE : 0;
+        });
+        Assert.assertEquals(Long.valueOf(2), aStar.getWeightOfShortestPath(1, 3));
+        Assert.assertEquals(Arrays.asList(1, 2, 3), aStar.getShortestPath(1, 3));
+        Assert.assertFalse(estimated.contains(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInconsistentHeuristicIsDetected(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, 1);
+
+        new AStar<>(graph, (a, b) -> a == 1 ? 5 : 0, true).getWeightOfShortestPath(1, 3);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testWeightOfShortestPathOnGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addDirectedEdge(1, 2, -1);
+
+        new AStar<>(graph, (a, b) -> 0).getWeightOfShortestPath(1, 2);
+    }
+}
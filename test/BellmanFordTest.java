@@ -1,10 +1,14 @@
 import datastructures.graph.AdjacencyMatrixGraph;
 import datastructures.graph.Graph;
 import algorithms.shortest_paths.BellmanFord;
+import algorithms.shortest_paths.NegativeCycleException;
 import algorithms.shortest_paths.ShortestPathCalculator;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
+
 public class BellmanFordTest extends ShortestPathTest{
 
     @Override
@@ -102,4 +106,47 @@ public class BellmanFordTest extends ShortestPathTest{
         ShortestPathCalculator<Integer> bellmanFord = new BellmanFord<>(graph);
         Assert.assertEquals(Long.valueOf(4), bellmanFord.getWeightOfShortestPath(1, 3));
     }
+
+    @Test
+    public void testNegativeCycleExceptionContainsTheCycle(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addNode(4);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, 1);
+        graph.addDirectedEdge(3, 4, 1);
+        graph.addDirectedEdge(4, 2, -3);
+
+        try{
+            new BellmanFord<>(graph).getWeightOfShortestPath(1, 4);
+            Assert.fail();
+        }
+        catch(NegativeCycleException e){
+            Assert.assertEquals(new HashSet<>(Arrays.asList(2, 3, 4)), new HashSet<>(e.getCycle()));
+        }
+    }
+
+    @Test
+    public void testNegativeCycleIsReportedAgainByTheNextQuery(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, -2);
+        graph.addDirectedEdge(3, 2, 1);
+
+        ShortestPathCalculator<Integer> bellmanFord = new BellmanFord<>(graph);
+        for(int i = 0; i < 2; i++){
+            try{
+                bellmanFord.getShortestPath(1, 3);
+                Assert.fail();
+            }
+            catch(NegativeCycleException e){
+                Assert.assertEquals(new HashSet<>(Arrays.asList(2, 3)), new HashSet<>(e.getCycle()));
+            }
+        }
+    }
 }
@@ -0,0 +1,61 @@
+import algorithms.shortest_paths.BidirectionalDijkstra;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class BidirectionalDijkstraTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new BidirectionalDijkstra<>(graph);
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnRandomGraph(){
+        Random random = new Random(11);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 100; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 400; i++)
+            graph.addDirectedEdge(random.nextInt(100), random.nextInt(100), random.nextInt(50));
+
+        ShortestPathCalculator<Integer> dijkstra = new Dijkstra<>(graph);
+        ShortestPathCalculator<Integer> bidirectionalDijkstra = new BidirectionalDijkstra<>(graph);
+        for(int from = 0; from < 100; from += 9){
+            for(int to = 0; to < 100; to++){
+                Long expected = dijkstra.getWeightOfShortestPath(from, to);
+                Assert.assertEquals(expected, bidirectionalDijkstra.getWeightOfShortestPath(from, to));
+                List<Integer> path = bidirectionalDijkstra.getShortestPath(from, to);
+                if(expected == null){
+                    Assert.assertNull(path);
+                    continue;
+                }
+                long sum = 0;
+                for(int i = 1; i < path.size(); i++)
+                    sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+                Assert.assertEquals(Integer.valueOf(from), path.get(0));
+                Assert.assertEquals(Integer.valueOf(to), path.get(path.size() - 1));
+                Assert.assertEquals(expected.longValue(), sum);
+            }
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testWeightOfShortestPathOnGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addUndirectedEdge(1, 2, 3);
+        graph.addDirectedEdge(2, 3, -1);
+
+        new BidirectionalDijkstra<>(graph).getWeightOfShortestPath(1, 2);
+    }
+}
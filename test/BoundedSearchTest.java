@@ -0,0 +1,121 @@
+import algorithms.shortest_paths.BoundedSearch;
+import algorithms.shortest_paths.Dijkstra;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+public class BoundedSearchTest {
+
+    private Graph<Integer> graph;
+
+    @Before
+    public void init(){
+        /*
+                     _______9_________
+                    /                 \
+        "1" --3-- "2" --2-- "3" --8-- "4" --1-- "5"
+         */
+        graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addNode(4);
+        graph.addNode(5);
+        graph.addUndirectedEdge(1, 2, 3);
+        graph.addUndirectedEdge(2, 3, 2);
+        graph.addUndirectedEdge(3, 4, 8);
+        graph.addUndirectedEdge(4, 5, 1);
+        graph.addUndirectedEdge(2, 4, 9);
+    }
+
+    private Map<Integer, Long> toMap(BoundedSearch.Neighbourhood neighbourhood){
+        Map<Integer, Long> result = new HashMap<>();
+        for(int i = 0; i < neighbourhood.size(); i++)
+            result.put(graph.getNode(neighbourhood.getIds()[i]), neighbourhood.getDistances()[i]);
+        return result;
+    }
+
+    @Test
+    public void testNodesWithinHops(){
+        BoundedSearch<Integer> search = new BoundedSearch<>(graph);
+        Map<Integer, Long> expected = new HashMap<>();
+        expected.put(1, 0L);
+        Assert.assertEquals(expected, toMap(search.getNodesWithinHops(1, 0)));
+        expected.put(2, 1L);
+        Assert.assertEquals(expected, toMap(search.getNodesWithinHops(1, 1)));
+        expected.put(3, 2L);
+        expected.put(4, 2L);
+        Assert.assertEquals(expected, toMap(search.getNodesWithinHops(1, 2)));
+        expected.put(5, 3L);
+        Assert.assertEquals(expected, toMap(search.getNodesWithinHops(1, 10)));
+    }
+
+    @Test
+    public void testNodesWithinDistance(){
+        BoundedSearch<Integer> search = new BoundedSearch<>(graph);
+        Map<Integer, Long> expected = new HashMap<>();
+        expected.put(1, 0L);
+        expected.put(2, 3L);
+        Assert.assertEquals(expected, toMap(search.getNodesWithinDistance(1, 4)));
+        expected.put(3, 5L);
+        Assert.assertEquals(expected, toMap(search.getNodesWithinDistance(1, 11)));
+        expected.put(4, 12L);
+        expected.put(5, 13L);
+        Assert.assertEquals(expected, toMap(search.getNodesWithinDistance(1, 13)));
+    }
+
+    @Test
+    public void testNodesAreOrderedByDistance(){
+        BoundedSearch.Neighbourhood neighbourhood = new BoundedSearch<>(graph).getNodesWithinDistance(5, 100);
+        long[] distances = neighbourhood.getDistances();
+        for(int i = 1; i < distances.length; i++)
+            Assert.assertTrue(distances[i - 1] <= distances[i]);
+    }
+
+    @Test
+    public void testDistancesAgreeWithDijkstraOnRandomGraph(){
+        Random random = new Random(7);
+        Graph<Integer> randomGraph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 200; i++)
+            randomGraph.addNode(i);
+        for(int i = 0; i < 1000; i++)
+            randomGraph.addDirectedEdge(random.nextInt(200), random.nextInt(200), random.nextInt(20));
+
+        BoundedSearch<Integer> search = new BoundedSearch<>(randomGraph);
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(randomGraph);
+        for(int start = 0; start < 200; start += 20){
+            Set<Integer> found = new HashSet<>();
+            BoundedSearch.Neighbourhood neighbourhood = search.getNodesWithinDistance(start, 30);
+            for(int i = 0; i < neighbourhood.size(); i++){
+                int node = randomGraph.getNode(neighbourhood.getIds()[i]);
+                found.add(node);
+                Assert.assertEquals(dijkstra.getWeightOfShortestPath(start, node),
+                        Long.valueOf(neighbourhood.getDistances()[i]));
+            }
+            for(int node = 0; node < 200; node++){
+                Long distance = dijkstra.getWeightOfShortestPath(start, node);
+                Assert.assertEquals(distance != null && distance <= 30, found.contains(node));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeNumberOfHopsThrowsIAE(){
+        new BoundedSearch<>(graph).getNodesWithinHops(1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStartNodeNotInTheGraphThrowsIAE(){
+        new BoundedSearch<>(graph).getNodesWithinDistance(8, 1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullStartThrowsNPE(){
+        new BoundedSearch<>(graph).getNodesWithinHops(null, 1);
+    }
+}
@@ -0,0 +1,74 @@
+import algorithms.shortest_paths.BucketDijkstra;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class BucketDijkstraTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new BucketDijkstra<>(graph);
+    }
+
+    @Test
+    public void testAllStrategiesAgreeWithDijkstraOnRandomGraph(){
+        Random random = new Random(23);
+        for(int maxWeight : new int[]{1, 10, 1000000}){
+            Graph<Integer> graph = new AdjacencyListGraph<>();
+            for(int i = 0; i < 100; i++)
+                graph.addNode(i);
+            for(int i = 0; i < 400; i++)
+                graph.addDirectedEdge(random.nextInt(100), random.nextInt(100), random.nextInt(maxWeight + 1));
+
+            ShortestPathCalculator<Integer> dijkstra = new Dijkstra<>(graph);
+            for(BucketDijkstra.Strategy strategy : BucketDijkstra.Strategy.values()){
+                if(strategy == BucketDijkstra.Strategy.DIAL && maxWeight > BucketDijkstra.MAX_BUCKET_QUEUE_WEIGHT)
+                    continue;
+                ShortestPathCalculator<Integer> bucketDijkstra = new BucketDijkstra<>(graph, strategy);
+                for(int from = 0; from < 100; from += 11){
+                    for(int to = 0; to < 100; to++){
+                        Long expected = dijkstra.getWeightOfShortestPath(from, to);
+                        Assert.assertEquals(expected, bucketDijkstra.getWeightOfShortestPath(from, to));
+                        List<Integer> path = bucketDijkstra.getShortestPath(from, to);
+                        if(expected == null){
+                            Assert.assertNull(path);
+                            continue;
+                        }
+                        long sum = 0;
+                        for(int i = 1; i < path.size(); i++)
+                            sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+                        Assert.assertEquals(expected.longValue(), sum);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDialStrategyWithTooLargeEdgeWeightThrowsIAE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addDirectedEdge(1, 2, BucketDijkstra.MAX_BUCKET_QUEUE_WEIGHT + 1);
+        new BucketDijkstra<>(graph, BucketDijkstra.Strategy.DIAL).getWeightOfShortestPath(1, 2);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testWeightOfShortestPathOnGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addUndirectedEdge(1, 2, 3);
+        graph.addDirectedEdge(2, 3, -1);
+
+        new BucketDijkstra<>(graph).getWeightOfShortestPath(1, 2);
+    }
+}
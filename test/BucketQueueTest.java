@@ -0,0 +1,146 @@
+import datastructures.BucketQueue;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class BucketQueueTest {
+
+    private BucketQueue queue;
+
+    @Before
+    public void init(){
+        queue = new BucketQueue(10, 100);
+    }
+
+    @Test
+    public void testIsEmptyAfterConstruction(){
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testDeleteMinReturnsElementsInOrderOfTheirPriority(){
+        queue.insert(3, 30);
+        queue.insert(1, 10);
+        queue.insert(4, 5);
+        queue.insert(2, 20);
+
+        Assert.assertEquals(4, queue.min());
+        Assert.assertEquals(5, queue.minKey());
+        Assert.assertEquals(4, queue.deleteMin());
+        Assert.assertEquals(1, queue.deleteMin());
+        Assert.assertEquals(2, queue.deleteMin());
+        Assert.assertEquals(3, queue.deleteMin());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKeyMovesElementToTheFront(){
+        queue.insert(1, 10);
+        queue.insert(2, 20);
+        queue.insert(3, 30);
+
+        queue.decreaseKey(3, 5);
+        Assert.assertEquals(5, queue.getKey(3));
+        Assert.assertEquals(3, queue.deleteMin());
+        queue.insertOrDecreaseKey(2, 15);
+        queue.insertOrDecreaseKey(4, 12);
+        Assert.assertEquals(1, queue.deleteMin());
+        Assert.assertEquals(4, queue.deleteMin());
+        Assert.assertEquals(2, queue.deleteMin());
+    }
+
+    @Test
+    public void testPriorityOfLastMinimumIsAccepted(){
+        queue.insert(1, 50);
+        Assert.assertEquals(1, queue.deleteMin());
+        queue.insert(2, 50);
+        queue.insert(3, 60);
+        Assert.assertEquals(2, queue.deleteMin());
+        Assert.assertEquals(3, queue.deleteMin());
+    }
+
+    @Test
+    public void testClearRemovesAllElements(){
+        queue.insert(1, 10);
+        queue.insert(2, 20);
+        queue.clear();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertFalse(queue.contains(1));
+        queue.insert(1, 5);
+        Assert.assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testMonotoneOperationsAgreeWithPriorityQueue(){
+        Random random = new Random(5);
+        BucketQueue queue = new BucketQueue(1000, 1000);
+        long[] keys = new long[1000];
+        boolean[] deleted = new boolean[1000];
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        long last = 0;
+        for(int round = 0; round < 5000; round++){
+            int elem = random.nextInt(1000);
+            if(random.nextBoolean() && !deleted[elem]){
+                long key = last + random.nextInt(1000);
+                if(!queue.contains(elem)){
+                    keys[elem] = key;
+                    queue.insert(elem, key);
+                    expected.add(key);
+                }
+                else if(key < keys[elem]){
+                    expected.remove(keys[elem]);
+                    keys[elem] = key;
+                    queue.decreaseKey(elem, key);
+                    expected.add(key);
+                }
+            }
+            else if(!queue.isEmpty()){
+                last = queue.minKey();
+                Assert.assertEquals(expected.poll(), Long.valueOf(last));
+                int min = queue.deleteMin();
+                Assert.assertEquals(keys[min], last);
+                deleted[min] = true;
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativePriorityThrowsIAE(){
+        queue.insert(1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrioritySmallerThanLastMinimumThrowsIAE(){
+        queue.insert(1, 10);
+        queue.insert(2, 20);
+        queue.deleteMin();
+        queue.insert(3, 5);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteMinOnEmptyQueueThrowsNSEE(){
+        queue.deleteMin();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertingExistingElementThrowsIAE(){
+        queue.insert(1, 1);
+        queue.insert(1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testElementOutOfRangeThrowsIAE(){
+        queue.insert(10, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPriorityBeyondMaxSpreadThrowsIAE(){
+        queue.insert(1, 10);
+        queue.insert(2, 111);
+    }
+}
@@ -0,0 +1,191 @@
+import algorithms.shortest_paths.AStar;
+import algorithms.shortest_paths.BellmanFord;
+import algorithms.shortest_paths.CachingShortestPathCalculator;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.QueueBellmanFord;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import algorithms.shortest_paths.ShortestPathTree;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+public class CachingShortestPathCalculatorTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new CachingShortestPathCalculator<>(graph, Dijkstra::new, 2);
+    }
+
+    private Graph<Integer> getPath(int size){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 0; i < size; i++)
+            graph.addNode(i);
+        for(int i = 1; i < size; i++)
+            graph.addDirectedEdge(i - 1, i, i);
+        return graph;
+    }
+
+    @Test
+    public void testAlternatingStartNodesAreAnsweredFromTheCache(){
+        Graph<Integer> graph = getPath(5);
+        CachingShortestPathCalculator<Integer> calculator = new CachingShortestPathCalculator<>(graph, Dijkstra::new, 2);
+        for(int i = 0; i < 5; i++){
+            Assert.assertEquals(Long.valueOf(10), calculator.getWeightOfShortestPath(0, 4));
+            Assert.assertEquals(Long.valueOf(9), calculator.getWeightOfShortestPath(1, 4));
+        }
+        Assert.assertEquals(2, calculator.getMisses());
+        Assert.assertEquals(8, calculator.getHits());
+        Assert.assertEquals(0, calculator.getEvictions());
+        Assert.assertEquals(2, calculator.getNumberOfTrees());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTreeIsEvicted(){
+        Graph<Integer> graph = getPath(5);
+        CachingShortestPathCalculator<Integer> calculator = new CachingShortestPathCalculator<>(graph, Dijkstra::new, 2);
+        calculator.getWeightOfShortestPath(0, 4);
+        calculator.getWeightOfShortestPath(1, 4);
+        calculator.getWeightOfShortestPath(0, 4);
+        calculator.getWeightOfShortestPath(2, 4);
+        Assert.assertEquals(1, calculator.getEvictions());
+
+        calculator.getWeightOfShortestPath(0, 4);
+        Assert.assertEquals(2, calculator.getHits());
+        calculator.getWeightOfShortestPath(1, 4);
+        Assert.assertEquals(4, calculator.getMisses());
+        Assert.assertEquals(2, calculator.getNumberOfTrees());
+    }
+
+    @Test
+    public void testByteBudgetLimitsTheNumberOfTrees(){
+        Graph<Integer> graph = getPath(100);
+        CachingShortestPathCalculator<Integer> unbounded = new CachingShortestPathCalculator<>(graph, Dijkstra::new, 10);
+        unbounded.getWeightOfShortestPath(0, 1);
+        long treeBytes = unbounded.getSizeInBytes();
+        Assert.assertTrue(treeBytes >= 12 * 100);
+
+        CachingShortestPathCalculator<Integer> calculator =
+                new CachingShortestPathCalculator<>(graph, Dijkstra::new, 10, 3 * treeBytes);
+        for(int from = 0; from < 5; from++)
+            calculator.getWeightOfShortestPath(from, 99);
+        Assert.assertEquals(3, calculator.getNumberOfTrees());
+        Assert.assertEquals(3 * treeBytes, calculator.getSizeInBytes());
+        Assert.assertEquals(2, calculator.getEvictions());
+    }
+
+    @Test
+    public void testTreeLargerThanTheBudgetIsNotKept(){
+        Graph<Integer> graph = getPath(100);
+        CachingShortestPathCalculator<Integer> calculator =
+                new CachingShortestPathCalculator<>(graph, Dijkstra::new, 10, 100);
+        Assert.assertEquals(Long.valueOf(4950), calculator.getWeightOfShortestPath(0, 99));
+        Assert.assertEquals(Long.valueOf(4950), calculator.getWeightOfShortestPath(0, 99));
+        Assert.assertEquals(0, calculator.getNumberOfTrees());
+        Assert.assertEquals(2, calculator.getMisses());
+    }
+
+    @Test
+    public void testChangesOfTheGraphInvalidateTheTrees(){
+        Graph<Integer> graph = getPath(5);
+        CachingShortestPathCalculator<Integer> calculator = new CachingShortestPathCalculator<>(graph, Dijkstra::new, 2);
+        Assert.assertEquals(Long.valueOf(10), calculator.getWeightOfShortestPath(0, 4));
+
+        graph.addDirectedEdge(0, 4, 3);
+        Assert.assertEquals(Long.valueOf(3), calculator.getWeightOfShortestPath(0, 4));
+        graph.setEdgeWeight(0, 4, 20);
+        Assert.assertEquals(Long.valueOf(10), calculator.getWeightOfShortestPath(0, 4));
+        graph.removeDirectedEdge(3, 4);
+        Assert.assertEquals(Long.valueOf(20), calculator.getWeightOfShortestPath(0, 4));
+        graph.addNode(5);
+        Assert.assertNull(calculator.getWeightOfShortestPath(0, 5));
+        Assert.assertEquals(5, calculator.getMisses());
+        Assert.assertEquals(0, calculator.getEvictions());
+    }
+
+    @Test
+    public void testInvalidateDiscardsTheTrees(){
+        Graph<Integer> graph = getPath(5);
+        CachingShortestPathCalculator<Integer> calculator = new CachingShortestPathCalculator<>(graph, Dijkstra::new, 2);
+        calculator.getWeightOfShortestPath(0, 4);
+        calculator.invalidate();
+        Assert.assertEquals(0, calculator.getNumberOfTrees());
+        Assert.assertEquals(0, calculator.getSizeInBytes());
+        calculator.getWeightOfShortestPath(0, 4);
+        Assert.assertEquals(2, calculator.getMisses());
+    }
+
+    @Test
+    public void testCachingDoesNotChangeTheResultsOfTheDelegates(){
+        Graph<Integer> graph = getPath(6);
+        graph.addDirectedEdge(5, 2, 1);
+        List<Function<Graph<Integer>, ShortestPathCalculator<Integer>>> factories =
+                Arrays.asList(Dijkstra::new, BellmanFord::new, QueueBellmanFord::new);
+        for(Function<Graph<Integer>, ShortestPathCalculator<Integer>> factory : factories){
+            ShortestPathCalculator<Integer> delegate = factory.apply(graph);
+            ShortestPathCalculator<Integer> calculator = new CachingShortestPathCalculator<>(graph, factory, 2);
+            for(int from = 0; from < 6; from++){
+                for(int to = 0; to < 6; to++){
+                    Assert.assertEquals(delegate.getWeightOfShortestPath(from, to),
+                            calculator.getWeightOfShortestPath(from, to));
+                    Assert.assertEquals(delegate.getShortestPath(from, to), calculator.getShortestPath(from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTreesAgreeWithTheDelegate(){
+        Random random = new Random(48);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 80; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 300; i++)
+            graph.addDirectedEdge(random.nextInt(80), random.nextInt(80), random.nextInt(30));
+
+        QueueBellmanFord<Integer> bellmanFord = new QueueBellmanFord<>(graph);
+        ShortestPathCalculator<Integer> calculator = new CachingShortestPathCalculator<>(graph, QueueBellmanFord::new, 4);
+        for(int i = 0; i < 200; i++){
+            int from = random.nextInt(8);
+            int to = random.nextInt(80);
+            long[] expected = bellmanFord.getDistances(from);
+            List<Integer> path = calculator.getShortestPath(from, to);
+            if(expected[to] == Long.MAX_VALUE){
+                Assert.assertNull(path);
+                Assert.assertNull(calculator.getWeightOfShortestPath(from, to));
+                continue;
+            }
+            long sum = 0;
+            for(int j = 1; j < path.size(); j++)
+                sum += graph.getEdgeWeight(path.get(j - 1), path.get(j));
+            Assert.assertEquals(Integer.valueOf(from), path.get(0));
+            Assert.assertEquals(Integer.valueOf(to), path.get(path.size() - 1));
+            Assert.assertEquals(expected[to], sum);
+            Assert.assertEquals(Long.valueOf(expected[to]), calculator.getWeightOfShortestPath(from, to));
+        }
+    }
+
+    @Test
+    public void testDefaultTreeIsAssembledFromSingleQueries(){
+        Graph<Integer> graph = getPath(5);
+        graph.addNode(5);
+        ShortestPathTree<Integer> tree = new AStar<>(graph, (a, b) -> 0L).getShortestPathTree(1);
+        Assert.assertEquals(Integer.valueOf(1), tree.getStart());
+        Assert.assertArrayEquals(new long[]{Long.MAX_VALUE, 0, 2, 5, 9, Long.MAX_VALUE}, tree.getDistances());
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4), tree.getShortestPath(4));
+        Assert.assertEquals(Arrays.asList(1), tree.getShortestPath(1));
+        Assert.assertNull(tree.getShortestPath(0));
+        Assert.assertNull(tree.getWeightOfShortestPath(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveNumberOfTreesThrowsIAE(){
+        new CachingShortestPathCalculator<>(getPath(2), Dijkstra::new, 0);
+    }
+}
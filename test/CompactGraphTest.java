@@ -0,0 +1,105 @@
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class CompactGraphTest {
+
+    @Test
+    public void testSnapshotContainsAllEdges(){
+        Random random = new Random(31);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 50; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 300; i++)
+            graph.addDirectedEdge(random.nextInt(50), random.nextInt(50), random.nextInt(200) - 100);
+
+        CompactGraph<Integer> compactGraph = new CompactGraph<>(graph);
+        Assert.assertEquals(50, compactGraph.size());
+        int edges = 0;
+        for(int u = 0; u < 50; u++){
+            Set<Integer> successors = new HashSet<>();
+            int previousTarget = -1;
+            for(int e = compactGraph.getOutEdgesStart(u); e < compactGraph.getOutEdgesEnd(u); e++){
+                int v = compactGraph.getEdgeTarget(e);
+                Assert.assertTrue(v > previousTarget);
+                previousTarget = v;
+                Assert.assertEquals(graph.getEdgeWeight(u, v), compactGraph.getEdgeWeight(e));
+                Assert.assertEquals(e, compactGraph.findEdge(u, v));
+                successors.add(v);
+            }
+            Assert.assertEquals(graph.getSuccessors(u), successors);
+
+            Set<Integer> predecessors = new HashSet<>();
+            for(int e = compactGraph.getInEdgesStart(u); e < compactGraph.getInEdgesEnd(u); e++){
+                int v = compactGraph.getInEdgeSource(e);
+                Assert.assertEquals(graph.getEdgeWeight(v, u), compactGraph.getInEdgeWeight(e));
+                predecessors.add(v);
+            }
+            Assert.assertEquals(graph.getPredecessors(u), predecessors);
+            edges += successors.size();
+        }
+        Assert.assertEquals(edges, compactGraph.getNumberOfEdges());
+    }
+
+    @Test
+    public void testFindEdgeReturnsMinusOneForMissingEdge(){
+        Graph<String> graph = new AdjacencyListGraph<>();
+        graph.addNode("a");
+        graph.addNode("b");
+        graph.addNode("c");
+        graph.addDirectedEdge("a", "b", 4);
+        graph.addDirectedEdge("c", "a", -2);
+
+        CompactGraph<String> compactGraph = new CompactGraph<>(graph);
+        Assert.assertEquals(-1, compactGraph.findEdge(0, 2));
+        Assert.assertEquals(-1, compactGraph.findEdge(1, 0));
+        Assert.assertEquals(-2, compactGraph.getMinEdgeWeight());
+        Assert.assertEquals(4, compactGraph.getMaxEdgeWeight());
+        Assert.assertEquals("c", compactGraph.getNode(compactGraph.getId("c")));
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedByTheGraph(){
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        CompactGraph<Integer> compactGraph = new CompactGraph<>(graph);
+        graph.addDirectedEdge(1, 2, 3);
+        Assert.assertEquals(0, compactGraph.getNumberOfEdges());
+    }
+
+    @Test
+    public void testNodesAddedAfterTheCreationAreNotInTheSnapshot(){
+        Graph<String> graph = new AdjacencyListGraph<>();
+        graph.addNode("a");
+        graph.addNode("b");
+        graph.addDirectedEdge("a", "b", 1);
+        CompactGraph<String> compactGraph = new CompactGraph<>(graph);
+        graph.addNode("c");
+
+        Assert.assertTrue(compactGraph.contains("b"));
+        Assert.assertFalse(compactGraph.contains("c"));
+        Assert.assertEquals(1, compactGraph.getId("b"));
+        Assert.assertEquals("b", compactGraph.getNode(1));
+        try{
+            compactGraph.getId("c");
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        try{
+            compactGraph.getNode(2);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import algorithms.shortest_paths.ContractionHierarchies;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+public class ContractionHierarchiesTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new ContractionHierarchies<>(graph);
+    }
+
+    private Graph<Integer> getRandomGraph(){
+        Random random = new Random(17);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 150; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 600; i++)
+            graph.addDirectedEdge(random.nextInt(150), random.nextInt(150), random.nextInt(100));
+        return graph;
+    }
+
+    private void assertAgreesWithDijkstra(Graph<Integer> graph, ShortestPathCalculator<Integer> calculator){
+        ShortestPathCalculator<Integer> dijkstra = new Dijkstra<>(graph);
+        for(int from = 0; from < graph.size(); from += 7){
+            for(int to = 0; to < graph.size(); to++){
+                Long expected = from == to ? Long.valueOf(0) : dijkstra.getWeightOfShortestPath(from, to);
+                Assert.assertEquals(expected, calculator.getWeightOfShortestPath(from, to));
+                List<Integer> path = calculator.getShortestPath(from, to);
+                if(expected == null){
+                    Assert.assertNull(path);
+                    continue;
+                }
+                long sum = 0;
+                for(int i = 1; i < path.size(); i++)
+                    sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+                Assert.assertEquals(Integer.valueOf(from), path.get(0));
+                Assert.assertEquals(Integer.valueOf(to), path.get(path.size() - 1));
+                Assert.assertEquals(expected.longValue(), sum);
+            }
+        }
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnRandomGraph(){
+        Graph<Integer> graph = getRandomGraph();
+        assertAgreesWithDijkstra(graph, new ContractionHierarchies<>(graph));
+    }
+
+    @Test
+    public void testRanksAreAPermutation(){
+        Graph<Integer> graph = getRandomGraph();
+        ContractionHierarchies<Integer> hierarchies = new ContractionHierarchies<>(graph);
+        boolean[] used = new boolean[graph.size()];
+        for(int node = 0; node < graph.size(); node++){
+            int rank = hierarchies.getRank(node);
+            Assert.assertFalse(used[rank]);
+            used[rank] = true;
+        }
+        Assert.assertTrue(hierarchies.getNumberOfEdges() >= 1);
+    }
+
+    @Test
+    public void testWrittenHierarchyCanBeReadAgain() throws IOException {
+        Graph<Integer> graph = getRandomGraph();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContractionHierarchies<>(graph).writeTo(out);
+
+        ContractionHierarchies<Integer> hierarchies = ContractionHierarchies.readFrom(graph, new ByteArrayInputStream(out.toByteArray()));
+        assertAgreesWithDijkstra(graph, hierarchies);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadingHierarchyOfDifferentGraphThrowsIOE() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContractionHierarchies<>(getRandomGraph()).writeTo(out);
+
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        graph.addNode(1);
+        ContractionHierarchies.readFrom(graph, new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addUndirectedEdge(1, 2, 3);
+        graph.addDirectedEdge(2, 3, -1);
+
+        new ContractionHierarchies<>(graph);
+    }
+}
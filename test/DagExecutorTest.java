@@ -0,0 +1,136 @@
+import algorithms.scheduling.DagExecutor;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class DagExecutorTest {
+
+    private Graph<Integer> graph;
+
+    @Before
+    public void init(){
+        /*
+        1 --> 2 --> 4 --> 6
+        |           ^
+        |--> 3 -----|
+             |
+             |--> 5
+        */
+        graph = new AdjacencyListGraph<>();
+        for(int i = 1; i <= 6; i++)
+            graph.addNode(i);
+        graph.addDirectedEdge(1, 2);
+        graph.addDirectedEdge(1, 3);
+        graph.addDirectedEdge(2, 4);
+        graph.addDirectedEdge(3, 4);
+        graph.addDirectedEdge(3, 5);
+        graph.addDirectedEdge(4, 6);
+    }
+
+    @Test
+    public void testEveryNodeIsExecutedExactlyOnceAfterItsPredecessors(){
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try{
+            Set<Integer> finished = ConcurrentHashMap.newKeySet();
+            Map<Integer, Integer> executions = new ConcurrentHashMap<>();
+            new DagExecutor<>(graph, executor).execute(node -> {
+                for(Integer pred : graph.getPredecessors(node))
+                    Assert.assertTrue(finished.contains(pred));
+                executions.merge(node, 1, Integer::sum);
+                finished.add(node);
+            });
+
+            Assert.assertEquals(graph.getNodes(), finished);
+            for(int count : executions.values())
+                Assert.assertEquals(1, count);
+        }
+        finally{
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailingActionIsRethrownAndSuccessorsAreNotExecuted(){
+        Set<Integer> executed = ConcurrentHashMap.newKeySet();
+        try{
+            new DagExecutor<>(graph).execute(node -> {
+                if(node == 3)
+                    throw new IllegalStateException();
+                executed.add(node);
+            });
+            Assert.fail();
+        }
+        catch(RuntimeException e){
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        Assert.assertFalse(executed.contains(4));
+        Assert.assertFalse(executed.contains(5));
+        Assert.assertFalse(executed.contains(6));
+    }
+
+    @Test
+    public void testLevels(){
+        List<List<Integer>> levels = new DagExecutor<>(graph).getLevels();
+        Assert.assertEquals(4, levels.size());
+        Assert.assertEquals(Collections.singletonList(1), levels.get(0));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(2, 3)), new HashSet<>(levels.get(1)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(4, 5)), new HashSet<>(levels.get(2)));
+        Assert.assertEquals(Collections.singletonList(6), levels.get(3));
+    }
+
+    @Test
+    public void testCriticalPath(){
+        Map<Integer, Long> durations = new HashMap<>();
+        durations.put(1, 1L);
+        durations.put(2, 2L);
+        durations.put(3, 5L);
+        durations.put(4, 1L);
+        durations.put(5, 3L);
+        durations.put(6, 1L);
+
+        DagExecutor<Integer> dagExecutor = new DagExecutor<>(graph);
+        Assert.assertEquals(Arrays.asList(1, 3, 5), dagExecutor.getCriticalPath(durations::get));
+        Assert.assertEquals(9, dagExecutor.getCriticalPathLength(durations::get));
+
+        durations.put(6, 4L);
+        Assert.assertEquals(Arrays.asList(1, 3, 4, 6), dagExecutor.getCriticalPath(durations::get));
+        Assert.assertEquals(11, dagExecutor.getCriticalPathLength(durations::get));
+    }
+
+    @Test
+    public void testCriticalPathLengthRequestsEveryDurationOnce(){
+        //A duration that grows with every request, so requesting it again would change the length
+        Map<Integer, Integer> requests = new HashMap<>();
+        long length = new DagExecutor<>(graph).getCriticalPathLength(node -> requests.merge(node, 1, Integer::sum));
+        Assert.assertEquals(6, requests.size());
+        for(int count : requests.values())
+            Assert.assertEquals(1, count);
+        Assert.assertEquals(4, length);
+    }
+
+    @Test
+    public void testEmptyGraph(){
+        DagExecutor<Integer> dagExecutor = new DagExecutor<>(new AdjacencyListGraph<>());
+        dagExecutor.execute(node -> Assert.fail());
+        Assert.assertTrue(dagExecutor.getLevels().isEmpty());
+        Assert.assertTrue(dagExecutor.getCriticalPath(node -> 1).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGraphWithCycleThrowsIAE(){
+        graph.addDirectedEdge(6, 1);
+        new DagExecutor<>(graph).execute(node -> {});
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullActionThrowsNPE(){
+        new DagExecutor<>(graph).execute(null);
+    }
+}
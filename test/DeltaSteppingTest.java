@@ -0,0 +1,95 @@
+import algorithms.shortest_paths.DeltaStepping;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DeltaSteppingTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new DeltaStepping<>(graph);
+    }
+
+    private Graph<Integer> getRandomGraph(int size, int edges, int maxWeight){
+        Random random = new Random(29);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < size; i++)
+            graph.addNode(i);
+        for(int i = 0; i < edges; i++)
+            graph.addDirectedEdge(random.nextInt(size), random.nextInt(size), random.nextInt(maxWeight + 1));
+        return graph;
+    }
+
+    @Test
+    public void testDistancesAgreeWithDijkstraForDifferentDeltas(){
+        Graph<Integer> graph = getRandomGraph(3000, 15000, 100);
+        CompactGraph<Integer> compactGraph = new CompactGraph<>(graph);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try{
+            for(long delta : new long[]{1, 10, 50, 1000}){
+                DeltaStepping<Integer> deltaStepping = new DeltaStepping<>(compactGraph, delta, pool);
+                for(int from = 0; from < 3000; from += 1000){
+                    long[] distances = deltaStepping.getDistances(from);
+                    Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+                    for(int to = 0; to < 3000; to++){
+                        Long expected = from == to ? Long.valueOf(0) : dijkstra.getWeightOfShortestPath(from, to);
+                        Assert.assertEquals(expected == null ? Long.MAX_VALUE : expected.longValue(), distances[to]);
+                    }
+                }
+            }
+        }
+        finally{
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPathsAreShortestPaths(){
+        Graph<Integer> graph = getRandomGraph(200, 800, 5);
+        DeltaStepping<Integer> deltaStepping = new DeltaStepping<>(graph);
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+        for(int to = 1; to < 200; to++){
+            Long expected = dijkstra.getWeightOfShortestPath(0, to);
+            List<Integer> path = deltaStepping.getShortestPath(0, to);
+            if(expected == null){
+                Assert.assertNull(path);
+                continue;
+            }
+            long sum = 0;
+            for(int i = 1; i < path.size(); i++)
+                sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+            Assert.assertEquals(Integer.valueOf(0), path.get(0));
+            Assert.assertEquals(Integer.valueOf(to), path.get(path.size() - 1));
+            Assert.assertEquals(expected.longValue(), sum);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeltaSmallerThanOneThrowsIAE(){
+        new DeltaStepping<>(new CompactGraph<>(getRandomGraph(10, 10, 5)), 0, ForkJoinPool.commonPool());
+    }
+
+    @Test
+    public void testNodeAddedAfterTheCreationThrowsIAE(){
+        assertNodeAddedAfterTheCreationThrowsIAE();
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addDirectedEdge(1, 2, -1);
+
+        new DeltaStepping<>(graph);
+    }
+}
@@ -2,8 +2,12 @@ import datastructures.graph.AdjacencyMatrixGraph;
 import datastructures.graph.Graph;
 import algorithms.shortest_paths.Dijkstra;
 import algorithms.shortest_paths.ShortestPathCalculator;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Map;
+
 public class DijkstraTest extends ShortestPathTest{
 
     @Override
@@ -33,4 +37,58 @@ public class DijkstraTest extends ShortestPathTest{
         ShortestPathCalculator<Integer> dijkstra = new Dijkstra<>(graph);
         dijkstra.getWeightOfShortestPath(1, 3);
     }
+
+    @Test
+    public void testWeightsOfShortestPathsToSeveralTargets(){
+        /*
+                     _______9_________
+                    /                 \
+        "1" --3-- "2" --2-- "3" --8-- "4" --1-- "5"     "6"
+         */
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 1; i <= 6; i++)
+            graph.addNode(i);
+        graph.addUndirectedEdge(1, 2, 3);
+        graph.addUndirectedEdge(2, 3, 2);
+        graph.addUndirectedEdge(3, 4, 8);
+        graph.addUndirectedEdge(4, 5, 1);
+        graph.addUndirectedEdge(2, 4, 9);
+
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+        Map<Integer, Long> weights = dijkstra.getWeightsOfShortestPaths(1, Arrays.asList(3, 5, 6));
+        Assert.assertEquals(3, weights.size());
+        Assert.assertEquals(Long.valueOf(5), weights.get(3));
+        Assert.assertEquals(Long.valueOf(13), weights.get(5));
+        Assert.assertNull(weights.get(6));
+    }
+
+    @Test
+    public void testQueriesFromTheSameStartResumeTheSearch(){
+        /*
+        "1" --1--> "2" --1--> "3" --1--> "4"
+          \__________________5___________/^
+         */
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 1; i <= 4; i++)
+            graph.addNode(i);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, 1);
+        graph.addDirectedEdge(3, 4, 1);
+        graph.addDirectedEdge(1, 4, 5);
+
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+        Assert.assertEquals(Long.valueOf(1), dijkstra.getWeightOfShortestPath(1, 2));
+        Assert.assertEquals(Long.valueOf(3), dijkstra.getWeightOfShortestPath(1, 4));
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4), dijkstra.getShortestPath(1, 4));
+        Assert.assertEquals(Long.valueOf(1), dijkstra.getWeightOfShortestPath(3, 4));
+        Assert.assertNull(dijkstra.getWeightOfShortestPath(4, 1));
+        Assert.assertEquals(Long.valueOf(2), dijkstra.getWeightOfShortestPath(1, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWeightsOfShortestPathsWithTargetNotInTheGraphThrowsIAE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        new Dijkstra<>(graph).getWeightsOfShortestPaths(1, Arrays.asList(1, 8));
+    }
 }
@@ -1,10 +1,18 @@
 import datastructures.graph.AdjacencyMatrixGraph;
 import datastructures.graph.Graph;
 import algorithms.shortest_paths.FloydWarshall;
+import algorithms.shortest_paths.QueueBellmanFord;
 import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyListGraph;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 public class FloydWarshallTest extends ShortestPathTest{
 
     @Override
@@ -102,4 +110,111 @@ public class FloydWarshallTest extends ShortestPathTest{
         ShortestPathCalculator<Integer> floydWarshall = new FloydWarshall<>(graph);
         floydWarshall.getWeightOfShortestPath(1, 3);
     }
+
+    @Test
+    public void testAgreesWithBellmanFordOnGraphSpanningSeveralTiles(){
+        Graph<Integer> graph = getRandomGraphWithoutNegativeCycle(new Random(44), 150, 900, 20);
+
+        FloydWarshall<Integer> floydWarshall = new FloydWarshall<>(graph);
+        QueueBellmanFord<Integer> bellmanFord = new QueueBellmanFord<>(graph);
+        for(int from = 0; from < 150; from++){
+            long[] expected = bellmanFord.getDistances(from);
+            for(int to = 0; to < 150; to++){
+                Long weight = floydWarshall.getWeightOfShortestPath(from, to);
+                List<Integer> path = floydWarshall.getShortestPath(from, to);
+                if(expected[to] == Long.MAX_VALUE){
+                    Assert.assertNull(weight);
+                    Assert.assertNull(path);
+                    continue;
+                }
+                Assert.assertEquals(Long.valueOf(expected[to]), weight);
+                long sum = 0;
+                for(int i = 1; i < path.size(); i++)
+                    sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+                Assert.assertEquals(Integer.valueOf(from), path.get(0));
+                Assert.assertEquals(Integer.valueOf(to), path.get(path.size() - 1));
+                Assert.assertEquals(expected[to], sum);
+            }
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testNegativeCycleInLaterTileThrowsRE(){
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 200; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 199; i++)
+            graph.addDirectedEdge(i, i + 1, 1);
+        graph.addDirectedEdge(199, 130, -70);
+
+        new FloydWarshall<>(graph).getWeightOfShortestPath(0, 1);
+    }
+
+    @Test
+    public void testDistanceOnlyModeComputesTheSameWeights(){
+        Random random = new Random(46);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 100; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 400; i++)
+            graph.addDirectedEdge(random.nextInt(100), random.nextInt(100), random.nextInt(10));
+
+        FloydWarshall<Integer> withPaths = new FloydWarshall<>(graph);
+        FloydWarshall<Integer> distanceOnly = new FloydWarshall<>(graph, ForkJoinPool.commonPool(), false);
+        for(int from = 0; from < 100; from++)
+            for(int to = 0; to < 100; to++)
+                Assert.assertEquals(withPaths.getWeightOfShortestPath(from, to),
+                        distanceOnly.getWeightOfShortestPath(from, to));
+    }
+
+    @Test
+    public void testShortestPathInDistanceOnlyMode(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, 1);
+        graph.addDirectedEdge(1, 3, 3);
+        FloydWarshall<Integer> floydWarshall = new FloydWarshall<>(graph, ForkJoinPool.commonPool(), false);
+        Assert.assertEquals(Arrays.asList(1, 2, 3), floydWarshall.getShortestPath(1, 3));
+        Assert.assertEquals(Collections.singletonList(2), floydWarshall.getShortestPath(2, 2));
+        Assert.assertNull(floydWarshall.getShortestPath(3, 1));
+        Assert.assertEquals(Long.valueOf(2), floydWarshall.getShortestPathTree(1).getWeightOfShortestPath(3));
+    }
+
+    @Test
+    public void testShortestPathsInGraphWithManyCyclesOfWeightZero(){
+        for(int seed = 0; seed < 5; seed++){
+            Random random = new Random(seed);
+            Graph<Integer> graph = new AdjacencyListGraph<>();
+            for(int i = 0; i < 150; i++)
+                graph.addNode(i);
+            for(int i = 0; i < 600; i++)
+                graph.addDirectedEdge(random.nextInt(150), random.nextInt(150), random.nextInt(3) == 0 ? 1 : 0);
+
+            for(boolean storePaths : new boolean[]{true, false}){
+                FloydWarshall<Integer> floydWarshall = new FloydWarshall<>(graph, ForkJoinPool.commonPool(), storePaths);
+                assertPathsHaveTheWeightsOfTheShortestPaths(graph, floydWarshall);
+            }
+        }
+    }
+
+    private void assertPathsHaveTheWeightsOfTheShortestPaths(Graph<Integer> graph, FloydWarshall<Integer> floydWarshall){
+        for(int from = 0; from < 150; from++){
+            for(int to = 0; to < 150; to++){
+                Long weight = floydWarshall.getWeightOfShortestPath(from, to);
+                List<Integer> path = floydWarshall.getShortestPath(from, to);
+                if(weight == null){
+                    Assert.assertNull(path);
+                    continue;
+                }
+                Assert.assertTrue(path.size() <= 150);
+                long sum = 0;
+                for(int i = 1; i < path.size(); i++)
+                    sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+                Assert.assertEquals(weight.longValue(), sum);
+            }
+        }
+    }
 }
@@ -1,13 +1,16 @@
 
 import datastructures.graph.Graph;
+import datastructures.graph.WeightedEdge;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public abstract class GraphTest {
 
@@ -745,4 +748,81 @@ public abstract class GraphTest {
         graph.addUndirectedEdge(1, 2);
         graph.containsEdge(1, 3);
     }
+
+    @Test
+    public void testGetNodeReturnsTheNodeWithTheId(){
+        graph.addNode(5);
+        graph.addNode(3);
+        graph.addNode(5);
+        Assert.assertEquals(Integer.valueOf(5), graph.getNode(graph.getId(5)));
+        Assert.assertEquals(Integer.valueOf(3), graph.getNode(graph.getId(3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetNodeWithIdNotInTheGraphThrowsIAE(){
+        graph.addNode(1);
+        graph.getNode(1);
+    }
+
+    @Test
+    public void testNodeStreamContainsAllNodes(){
+        for(int i = 0; i < 100; i++)
+            graph.addNode(i);
+
+        Assert.assertEquals(100, graph.nodeStream().count());
+        Assert.assertEquals(graph.getNodes(), graph.nodeStream().parallel().collect(Collectors.toSet()));
+        Assert.assertEquals(4950, graph.nodeStream().parallel().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testEdgeStreamContainsAllEdges(){
+        for(int i = 0; i < 100; i++)
+            graph.addNode(i);
+        Set<WeightedEdge<Integer>> edges = new HashSet<>();
+        for(int i = 0; i < 100; i++){
+            for(int j = i % 7; j < 100; j += 13){
+                graph.addDirectedEdge(i, j, i + j);
+                edges.add(new WeightedEdge<>(i, j, i + j));
+            }
+        }
+
+        Assert.assertEquals(edges, graph.edgeStream().collect(Collectors.toSet()));
+        Assert.assertEquals(edges.size(), graph.edgeStream().parallel().count());
+        Assert.assertEquals(edges, graph.edgeStream().parallel().collect(Collectors.toSet()));
+        Assert.assertEquals(graph.edgeStream().collect(Collectors.toList()),
+                graph.edgeStream().parallel().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testTraversalStreams(){
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addNode(4);
+        graph.addDirectedEdge(1, 2);
+        graph.addDirectedEdge(2, 3);
+
+        Assert.assertEquals(Arrays.asList(1, 2, 3), graph.bfsStream(1).collect(Collectors.toList()));
+        Assert.assertEquals(Arrays.asList(1, 2, 3), graph.dfsStream(1).collect(Collectors.toList()));
+        Assert.assertEquals(4, graph.topologicalSortStream().count());
+    }
+
+    @Test
+    public void testModificationCountIncreasesWithEveryChange(){
+        long count = graph.getModificationCount();
+        graph.addNode(1);
+        graph.addNode(2);
+        Assert.assertEquals(count + 2, graph.getModificationCount());
+        graph.addNode(1);
+        Assert.assertEquals(count + 2, graph.getModificationCount());
+        graph.addDirectedEdge(1, 2, 3);
+        Assert.assertEquals(count + 3, graph.getModificationCount());
+        graph.setEdgeWeight(1, 2, 4);
+        Assert.assertEquals(count + 4, graph.getModificationCount());
+        graph.removeDirectedEdge(1, 2);
+        Assert.assertEquals(count + 5, graph.getModificationCount());
+        graph.getSuccessors(1);
+        graph.containsEdge(1, 2);
+        Assert.assertEquals(count + 5, graph.getModificationCount());
+    }
 }
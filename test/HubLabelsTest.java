@@ -0,0 +1,96 @@
+import algorithms.shortest_paths.ContractionHierarchies;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.HubLabels;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+public class HubLabelsTest {
+
+    private Graph<Integer> getRandomGraph(boolean weighted){
+        Random random = new Random(19);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 150; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 500; i++)
+            graph.addDirectedEdge(random.nextInt(150), random.nextInt(150), weighted ? random.nextInt(100) : 3);
+        return graph;
+    }
+
+    private void assertAgreesWithDijkstra(Graph<Integer> graph, HubLabels<Integer> labels){
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+        for(int from = 0; from < graph.size(); from++){
+            for(int to = 0; to < graph.size(); to++){
+                Long expected = from == to ? Long.valueOf(0) : dijkstra.getWeightOfShortestPath(from, to);
+                Assert.assertEquals(expected, labels.getDistance(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void testDistancesInWeightedGraph(){
+        Graph<Integer> graph = getRandomGraph(true);
+        assertAgreesWithDijkstra(graph, new HubLabels<>(graph));
+    }
+
+    @Test
+    public void testDistancesInUnweightedGraph(){
+        Graph<Integer> graph = getRandomGraph(false);
+        assertAgreesWithDijkstra(graph, new HubLabels<>(graph));
+    }
+
+    @Test
+    public void testDistancesWithContractionHierarchyOrder(){
+        Graph<Integer> graph = getRandomGraph(true);
+        assertAgreesWithDijkstra(graph, new HubLabels<>(graph, new ContractionHierarchies<>(graph)));
+    }
+
+    @Test
+    public void testMemoryReporting(){
+        Graph<Integer> graph = getRandomGraph(true);
+        HubLabels<Integer> labels = new HubLabels<>(graph);
+        //Every node is at least a hub of its own labels
+        Assert.assertTrue(labels.getNumberOfLabelEntries() >= 2 * graph.size());
+        Assert.assertTrue(labels.getAverageLabelSize() >= 1);
+        Assert.assertTrue(labels.getMemoryUsage() >= 12 * labels.getNumberOfLabelEntries());
+    }
+
+    @Test
+    public void testWrittenLabelsCanBeReadAgain() throws IOException {
+        Graph<Integer> graph = getRandomGraph(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HubLabels<Integer> labels = new HubLabels<>(graph);
+        labels.writeTo(out);
+
+        HubLabels<Integer> readLabels = HubLabels.readFrom(graph, new ByteArrayInputStream(out.toByteArray()));
+        Assert.assertEquals(labels.getNumberOfLabelEntries(), readLabels.getNumberOfLabelEntries());
+        assertAgreesWithDijkstra(graph, readLabels);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadingLabelsOfDifferentGraphThrowsIOE() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new HubLabels<>(getRandomGraph(true)).writeTo(out);
+
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        graph.addNode(1);
+        HubLabels.readFrom(graph, new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addDirectedEdge(1, 2, -1);
+
+        new HubLabels<>(graph);
+    }
+}
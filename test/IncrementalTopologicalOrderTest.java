@@ -0,0 +1,110 @@
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.Graph;
+import datastructures.graph.IncrementalTopologicalOrder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class IncrementalTopologicalOrderTest {
+
+    private Graph<Integer> graph;
+
+    @Before
+    public void init(){
+        graph = new AdjacencyListGraph<>();
+        for(int i = 1; i <= 6; i++)
+            graph.addNode(i);
+    }
+
+    private void assertIsTopologicalOrder(IncrementalTopologicalOrder<Integer> order){
+        List<Integer> nodes = order.getOrder();
+        Assert.assertEquals(graph.size(), nodes.size());
+        for(int i = 0; i < nodes.size(); i++){
+            Assert.assertEquals(i, order.getPosition(nodes.get(i)));
+            for(Integer succ : graph.getSuccessors(nodes.get(i)))
+                Assert.assertTrue(order.precedes(nodes.get(i), succ));
+        }
+    }
+
+    @Test
+    public void testInitialOrderIsTopologicalOrder(){
+        graph.addDirectedEdge(1, 2);
+        graph.addDirectedEdge(3, 2);
+        graph.addDirectedEdge(2, 4);
+        IncrementalTopologicalOrder<Integer> order = new IncrementalTopologicalOrder<>(graph);
+        assertIsTopologicalOrder(order);
+    }
+
+    @Test
+    public void testOrderIsUpdatedWhenEdgeContradictsTheOrder(){
+        IncrementalTopologicalOrder<Integer> order = new IncrementalTopologicalOrder<>(graph);
+        Integer first = order.getOrder().get(0);
+        Integer last = order.getOrder().get(5);
+        order.addDirectedEdge(last, first);
+        Assert.assertTrue(graph.containsEdge(last, first));
+        Assert.assertTrue(order.precedes(last, first));
+        assertIsTopologicalOrder(order);
+    }
+
+    @Test
+    public void testEdgeClosingACycleIsRejected(){
+        IncrementalTopologicalOrder<Integer> order = new IncrementalTopologicalOrder<>(graph);
+        order.addDirectedEdge(1, 2);
+        order.addDirectedEdge(2, 3);
+        order.addDirectedEdge(3, 4);
+        try{
+            order.addDirectedEdge(4, 1);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        Assert.assertFalse(graph.containsEdge(4, 1));
+        assertIsTopologicalOrder(order);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelfLoopIsRejected(){
+        IncrementalTopologicalOrder<Integer> order = new IncrementalTopologicalOrder<>(graph);
+        order.addDirectedEdge(2, 2);
+    }
+
+    @Test
+    public void testAddedNodesAreAppended(){
+        IncrementalTopologicalOrder<Integer> order = new IncrementalTopologicalOrder<>(graph);
+        order.addNode(7);
+        Assert.assertEquals(Integer.valueOf(7), order.getOrder().get(6));
+        order.addDirectedEdge(7, 1);
+        assertIsTopologicalOrder(order);
+    }
+
+    @Test
+    public void testOrderStaysValidForRandomInsertions(){
+        Random random = new Random(42);
+        IncrementalTopologicalOrder<Integer> order = new IncrementalTopologicalOrder<>(graph);
+        for(int i = 7; i <= 50; i++)
+            order.addNode(i);
+
+        for(int i = 0; i < 500; i++){
+            int from = random.nextInt(50) + 1;
+            int to = random.nextInt(50) + 1;
+            try{
+                order.addDirectedEdge(from, to);
+            }
+            catch(IllegalArgumentException e){
+                Assert.assertFalse(graph.containsEdge(from, to));
+            }
+        }
+        assertIsTopologicalOrder(order);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGraphWithCycleThrowsIAE(){
+        graph.addDirectedEdge(1, 2);
+        graph.addDirectedEdge(2, 1);
+        new IncrementalTopologicalOrder<>(graph);
+    }
+}
@@ -0,0 +1,159 @@
+import datastructures.IndexedDaryHeap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class IndexedDaryHeapTest {
+
+    private IndexedDaryHeap heap;
+
+    @Before
+    public void init(){
+        heap = new IndexedDaryHeap(10);
+    }
+
+    @Test
+    public void testHeapIsEmptyAfterConstruction(){
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertEquals(0, heap.size());
+        Assert.assertEquals(10, heap.capacity());
+    }
+
+    @Test
+    public void testSizeIncreasesByOneAfterEachInsertion(){
+        heap.insert(1, 5);
+        Assert.assertEquals(1, heap.size());
+        heap.insert(2, 5);
+        Assert.assertEquals(2, heap.size());
+        Assert.assertTrue(heap.contains(1));
+        Assert.assertTrue(heap.contains(2));
+        Assert.assertFalse(heap.contains(3));
+    }
+
+    @Test
+    public void testDeleteMinReturnsElementsInOrderOfTheirPriority(){
+        heap.insert(3, 30);
+        heap.insert(1, 10);
+        heap.insert(4, -5);
+        heap.insert(2, 20);
+
+        Assert.assertEquals(4, heap.min());
+        Assert.assertEquals(-5, heap.minKey());
+        Assert.assertEquals(4, heap.deleteMin());
+        Assert.assertEquals(1, heap.deleteMin());
+        Assert.assertEquals(2, heap.deleteMin());
+        Assert.assertEquals(3, heap.deleteMin());
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKeyMovesElementToTheFront(){
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.insert(3, 30);
+
+        heap.decreaseKey(3, 5);
+        Assert.assertEquals(5, heap.getKey(3));
+        Assert.assertEquals(3, heap.deleteMin());
+    }
+
+    @Test
+    public void testDecreaseKeyWithLargerPriorityDoesNothing(){
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+
+        heap.decreaseKey(1, 30);
+        Assert.assertEquals(10, heap.getKey(1));
+        Assert.assertEquals(1, heap.deleteMin());
+    }
+
+    @Test
+    public void testInsertOrDecreaseKey(){
+        heap.insertOrDecreaseKey(1, 10);
+        heap.insertOrDecreaseKey(2, 20);
+        heap.insertOrDecreaseKey(2, 5);
+        Assert.assertEquals(2, heap.size());
+        Assert.assertEquals(2, heap.deleteMin());
+    }
+
+    @Test
+    public void testElementCanBeInsertedAgainAfterDeletion(){
+        heap.insert(1, 10);
+        heap.deleteMin();
+        Assert.assertFalse(heap.contains(1));
+        heap.insert(1, 3);
+        Assert.assertEquals(3, heap.minKey());
+    }
+
+    @Test
+    public void testClearRemovesAllElements(){
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.contains(1));
+        heap.insert(1, 5);
+        Assert.assertEquals(1, heap.size());
+    }
+
+    @Test
+    public void testEnsureCapacityKeepsElements(){
+        heap.insert(9, 3);
+        heap.ensureCapacity(100);
+        heap.insert(99, 1);
+        Assert.assertEquals(99, heap.deleteMin());
+        Assert.assertEquals(9, heap.deleteMin());
+    }
+
+    @Test
+    public void testRandomOperationsAgreeWithPriorityQueue(){
+        Random random = new Random(3);
+        for(int arity = 2; arity <= 5; arity++){
+            IndexedDaryHeap heap = new IndexedDaryHeap(1000, arity);
+            long[] keys = new long[1000];
+            for(int i = 0; i < 1000; i++){
+                keys[i] = random.nextInt(100000);
+                heap.insert(i, keys[i]);
+            }
+            for(int i = 0; i < 1000; i++){
+                int elem = random.nextInt(1000);
+                keys[elem] = Math.min(keys[elem], random.nextInt(100000));
+                heap.decreaseKey(elem, keys[elem]);
+            }
+
+            PriorityQueue<Long> expected = new PriorityQueue<>();
+            for(long key : keys)
+                expected.add(key);
+            while(!heap.isEmpty()){
+                long key = heap.minKey();
+                Assert.assertEquals(expected.poll(), Long.valueOf(key));
+                Assert.assertEquals(keys[heap.deleteMin()], key);
+            }
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteMinOnEmptyHeapThrowsNSEE(){
+        heap.deleteMin();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertingExistingElementThrowsIAE(){
+        heap.insert(1, 1);
+        heap.insert(1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyOfElementNotInTheHeapThrowsIAE(){
+        heap.decreaseKey(1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testElementOutOfRangeThrowsIAE(){
+        heap.insert(10, 1);
+    }
+}
@@ -0,0 +1,95 @@
+import algorithms.shortest_paths.Johnson;
+import algorithms.shortest_paths.NegativeCycleException;
+import algorithms.shortest_paths.QueueBellmanFord;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class JohnsonTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new Johnson<>(graph);
+    }
+
+    private Graph<Integer> getRandomGraphWithoutNegativeCycle(){
+        return getRandomGraphWithoutNegativeCycle(new Random(53), 120, 500, 50);
+    }
+
+    private void assertAgreesWithBellmanFord(Graph<Integer> graph, Johnson<Integer> johnson){
+        QueueBellmanFord<Integer> bellmanFord = new QueueBellmanFord<>(graph);
+        for(int from = 0; from < graph.size(); from++){
+            long[] expected = bellmanFord.getDistances(from);
+            Assert.assertArrayEquals(expected, johnson.getDistances(from));
+            for(int to = 0; to < graph.size(); to += 7){
+                List<Integer> path = johnson.getShortestPath(from, to);
+                if(expected[to] == Long.MAX_VALUE){
+                    Assert.assertNull(path);
+                    continue;
+                }
+                long sum = 0;
+                for(int i = 1; i < path.size(); i++)
+                    sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+                Assert.assertEquals(Integer.valueOf(from), path.get(0));
+                Assert.assertEquals(Integer.valueOf(to), path.get(path.size() - 1));
+                Assert.assertEquals(expected[to], sum);
+            }
+        }
+    }
+
+    @Test
+    public void testLazyRowsAgreeWithBellmanFord(){
+        Graph<Integer> graph = getRandomGraphWithoutNegativeCycle();
+        assertAgreesWithBellmanFord(graph, new Johnson<>(graph));
+    }
+
+    @Test
+    public void testPrecomputedRowsAgreeWithBellmanFord(){
+        Graph<Integer> graph = getRandomGraphWithoutNegativeCycle();
+        Johnson<Integer> johnson = new Johnson<>(graph);
+        johnson.precompute();
+        assertAgreesWithBellmanFord(graph, johnson);
+    }
+
+    @Test
+    public void testCanHandleNegativeEdgesThatDoNotFormANegativeCycle(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addNode(4);
+        graph.addNode(5);
+        graph.addDirectedEdge(1, 2, -3);
+        graph.addUndirectedEdge(2, 3, 2);
+        graph.addUndirectedEdge(4, 5, 1);
+        graph.addUndirectedEdge(1, 3, 4);
+        graph.addDirectedEdge(3, 4, -1);
+
+        ShortestPathCalculator<Integer> johnson = new Johnson<>(graph);
+        Assert.assertEquals(Long.valueOf(-1), johnson.getWeightOfShortestPath(1, 3));
+        Assert.assertEquals(Long.valueOf(-1), johnson.getWeightOfShortestPath(1, 5));
+    }
+
+    @Test
+    public void testNodeAddedAfterTheCreationThrowsIAE(){
+        assertNodeAddedAfterTheCreationThrowsIAE();
+    }
+
+    @Test(expected = NegativeCycleException.class)
+    public void testGraphWithNegativeCycleThrowsNCE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, -2);
+        graph.addDirectedEdge(3, 2, 1);
+
+        new Johnson<>(graph).getWeightOfShortestPath(1, 3);
+    }
+}
@@ -0,0 +1,260 @@
+import algorithms.shortest_paths.KShortestPaths;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+public class KShortestPathsTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new KShortestPaths<>(graph);
+    }
+
+    /*
+        The example of Yen's algorithm with the nodes C, D, E, F, G, H as 1, ..., 6
+     */
+    private Graph<Integer> getYenExample(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 1; i <= 6; i++)
+            graph.addNode(i);
+        graph.addDirectedEdge(1, 2, 3);
+        graph.addDirectedEdge(1, 3, 2);
+        graph.addDirectedEdge(2, 4, 4);
+        graph.addDirectedEdge(3, 2, 1);
+        graph.addDirectedEdge(3, 4, 2);
+        graph.addDirectedEdge(3, 5, 3);
+        graph.addDirectedEdge(4, 5, 2);
+        graph.addDirectedEdge(4, 6, 1);
+        graph.addDirectedEdge(5, 6, 2);
+        return graph;
+    }
+
+    private Graph<Integer> getRandomGraph(long seed, int size, int edges){
+        Random random = new Random(seed);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < size; i++)
+            graph.addNode(i);
+        for(int i = 0; i < edges; i++)
+            graph.addDirectedEdge(random.nextInt(size), random.nextInt(size), random.nextInt(10) + 1);
+        return graph;
+    }
+
+    private long getWeight(Graph<Integer> graph, List<Integer> path){
+        long sum = 0;
+        for(int i = 1; i < path.size(); i++)
+            sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+        return sum;
+    }
+
+    //The weights of all loopless paths by depth-first-search in increasing order
+    private List<Long> getAllLooplessPathWeights(Graph<Integer> graph, int from, int to){
+        List<Long> weights = new ArrayList<>();
+        Deque<Integer> path = new ArrayDeque<>();
+        path.add(from);
+        collectLooplessPaths(graph, path, from, to, 0, weights);
+        Collections.sort(weights);
+        return weights;
+    }
+
+    private void collectLooplessPaths(Graph<Integer> graph, Deque<Integer> path, int node, int to, long weight,
+                                      List<Long> weights){
+        if(node == to){
+            weights.add(weight);
+            return;
+        }
+        for(int succ : graph.getSuccessors(node)){
+            if(path.contains(succ))
+                continue;
+            path.addLast(succ);
+            collectLooplessPaths(graph, path, succ, to, weight + graph.getEdgeWeight(node, succ), weights);
+            path.removeLast();
+        }
+    }
+
+    //The weights of the k shortest paths with cycles by expanding partial paths in increasing order of their weights
+    private List<Long> getWalkWeights(Graph<Integer> graph, int from, int to, int k){
+        //Only walks through nodes that can still reach the target are expanded, so the queue stays small
+        Set<Integer> reachesTarget = new HashSet<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(to);
+        while(!stack.isEmpty()){
+            int node = stack.pop();
+            if(reachesTarget.add(node))
+                stack.addAll(graph.getPredecessors(node));
+        }
+
+        List<Long> weights = new ArrayList<>();
+        if(!reachesTarget.contains(from))
+            return weights;
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong((long[] entry) -> entry[0]));
+        queue.add(new long[]{0, from});
+        while(weights.size() < k && !queue.isEmpty()){
+            long[] entry = queue.poll();
+            int node = (int) entry[1];
+            if(node == to)
+                weights.add(entry[0]);
+            for(int succ : graph.getSuccessors(node))
+                if(reachesTarget.contains(succ))
+                    queue.add(new long[]{entry[0] + graph.getEdgeWeight(node, succ), succ});
+        }
+        return weights;
+    }
+
+    @Test
+    public void testYenExample(){
+        KShortestPaths<Integer> kShortestPaths = new KShortestPaths<>(getYenExample());
+        List<KShortestPaths.Path<Integer>> paths = kShortestPaths.getShortestPaths(1, 6, 3);
+        Assert.assertEquals(3, paths.size());
+        Assert.assertEquals(Arrays.asList(1, 3, 4, 6), paths.get(0).getNodes());
+        Assert.assertEquals(5, paths.get(0).getWeight());
+        Assert.assertEquals(Arrays.asList(1, 3, 5, 6), paths.get(1).getNodes());
+        Assert.assertEquals(7, paths.get(1).getWeight());
+        Assert.assertEquals(8, paths.get(2).getWeight());
+    }
+
+    @Test
+    public void testAllLooplessPathsAreReturnedIfThereAreLessThanK(){
+        Graph<Integer> graph = getYenExample();
+        List<KShortestPaths.Path<Integer>> paths = new KShortestPaths<>(graph).getShortestPaths(1, 6, 100);
+        List<Long> expected = getAllLooplessPathWeights(graph, 1, 6);
+        Assert.assertEquals(expected.size(), paths.size());
+        Set<List<Integer>> distinct = new HashSet<>();
+        for(int i = 0; i < paths.size(); i++){
+            Assert.assertEquals(expected.get(i).longValue(), paths.get(i).getWeight());
+            Assert.assertTrue(distinct.add(paths.get(i).getNodes()));
+        }
+    }
+
+    @Test
+    public void testLooplessPathsAgreeWithExhaustiveSearch(){
+        for(long seed = 0; seed < 10; seed++){
+            Graph<Integer> graph = getRandomGraph(seed, 9, 25);
+            KShortestPaths<Integer> kShortestPaths = new KShortestPaths<>(graph);
+            List<Long> expected = getAllLooplessPathWeights(graph, 0, 8);
+            List<KShortestPaths.Path<Integer>> paths = kShortestPaths.getShortestPaths(0, 8, 20);
+            Assert.assertEquals(Math.min(20, expected.size()), paths.size());
+
+            Set<List<Integer>> distinct = new HashSet<>();
+            for(int i = 0; i < paths.size(); i++){
+                List<Integer> nodes = paths.get(i).getNodes();
+                Assert.assertEquals(expected.get(i).longValue(), paths.get(i).getWeight());
+                Assert.assertEquals(paths.get(i).getWeight(), getWeight(graph, nodes));
+                Assert.assertEquals(Integer.valueOf(0), nodes.get(0));
+                Assert.assertEquals(Integer.valueOf(8), nodes.get(nodes.size() - 1));
+                Assert.assertEquals(nodes.size(), new HashSet<>(nodes).size());
+                Assert.assertTrue(distinct.add(nodes));
+            }
+        }
+    }
+
+    @Test
+    public void testWalksAgreeWithExhaustiveSearch(){
+        for(long seed = 0; seed < 10; seed++){
+            Graph<Integer> graph = getRandomGraph(seed, 9, 25);
+            KShortestPaths<Integer> kShortestPaths = new KShortestPaths<>(graph);
+            List<Long> expected = getWalkWeights(graph, 0, 8, 30);
+            List<KShortestPaths.Path<Integer>> walks = kShortestPaths.getShortestWalks(0, 8, 30);
+            Assert.assertEquals(expected.size(), walks.size());
+
+            Set<List<Integer>> distinct = new HashSet<>();
+            for(int i = 0; i < walks.size(); i++){
+                List<Integer> nodes = walks.get(i).getNodes();
+                Assert.assertEquals(expected.get(i).longValue(), walks.get(i).getWeight());
+                Assert.assertEquals(walks.get(i).getWeight(), getWeight(graph, nodes));
+                Assert.assertEquals(Integer.valueOf(0), nodes.get(0));
+                Assert.assertEquals(Integer.valueOf(8), nodes.get(nodes.size() - 1));
+                Assert.assertTrue(distinct.add(nodes));
+            }
+        }
+    }
+
+    @Test
+    public void testWalksContainCycles(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 1, 1);
+        graph.addDirectedEdge(2, 3, 1);
+
+        KShortestPaths<Integer> kShortestPaths = new KShortestPaths<>(graph);
+        Assert.assertEquals(1, kShortestPaths.getShortestPaths(1, 3, 3).size());
+        List<KShortestPaths.Path<Integer>> walks = kShortestPaths.getShortestWalks(1, 3, 3);
+        Assert.assertEquals(Arrays.asList(1, 2, 3), walks.get(0).getNodes());
+        Assert.assertEquals(Arrays.asList(1, 2, 1, 2, 3), walks.get(1).getNodes());
+        Assert.assertEquals(Arrays.asList(1, 2, 1, 2, 1, 2, 3), walks.get(2).getNodes());
+        Assert.assertEquals(6, walks.get(2).getWeight());
+    }
+
+    @Test
+    public void testUnreachableTargetHasNoPaths(){
+        Graph<Integer> graph = getYenExample();
+        KShortestPaths<Integer> kShortestPaths = new KShortestPaths<>(graph);
+        Assert.assertTrue(kShortestPaths.getShortestPaths(6, 1, 3).isEmpty());
+        Assert.assertTrue(kShortestPaths.getShortestWalks(6, 1, 3).isEmpty());
+    }
+
+    @Test
+    public void testPathsOnLargerGraphAreOrderedAndLoopless(){
+        Graph<Integer> graph = getRandomGraph(50, 2000, 10000);
+        List<KShortestPaths.Path<Integer>> paths = new KShortestPaths<>(graph).getShortestPaths(0, 1999, 50);
+        Assert.assertEquals(50, paths.size());
+        Set<List<Integer>> distinct = new HashSet<>();
+        for(int i = 0; i < paths.size(); i++){
+            List<Integer> nodes = paths.get(i).getNodes();
+            if(i > 0)
+                Assert.assertTrue(paths.get(i - 1).getWeight() <= paths.get(i).getWeight());
+            Assert.assertEquals(paths.get(i).getWeight(), getWeight(graph, nodes));
+            Assert.assertEquals(nodes.size(), new HashSet<>(nodes).size());
+            Assert.assertTrue(distinct.add(nodes));
+        }
+    }
+
+    @Test
+    public void testNodeAddedAfterTheCreationThrowsIAE(){
+        Graph<Integer> graph = getYenExample();
+        KShortestPaths<Integer> kShortestPaths = new KShortestPaths<>(graph);
+        graph.addNode(7);
+        graph.addDirectedEdge(6, 7, 1);
+        try{
+            kShortestPaths.getShortestPaths(1, 7, 2);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        try{
+            kShortestPaths.getShortestWalks(7, 1, 2);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        try{
+            kShortestPaths.getWeightOfShortestPath(1, 7);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        Assert.assertEquals(3, kShortestPaths.getShortestPaths(1, 6, 3).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveKThrowsIAE(){
+        new KShortestPaths<>(getYenExample()).getShortestPaths(1, 6, 0);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = getYenExample();
+        graph.setEdgeWeight(1, 2, -1);
+        new KShortestPaths<>(graph);
+    }
+}
@@ -0,0 +1,119 @@
+import algorithms.shortest_paths.AStar;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.Landmarks;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class LandmarksTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new AStar<>(graph, new Landmarks<>(graph, 2), true);
+    }
+
+    private Graph<Integer> getRandomGraph(){
+        Random random = new Random(13);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 150; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 600; i++)
+            graph.addDirectedEdge(random.nextInt(150), random.nextInt(150), random.nextInt(100));
+        return graph;
+    }
+
+    @Test
+    public void testLowerBoundsAreAdmissibleForAllStrategies(){
+        Graph<Integer> graph = getRandomGraph();
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+        for(Landmarks.Strategy strategy : Landmarks.Strategy.values()){
+            Landmarks<Integer> landmarks = new Landmarks<>(graph, 4, strategy);
+            Assert.assertEquals(4, landmarks.getLandmarks().size());
+            Assert.assertEquals(4, landmarks.getLandmarks().stream().distinct().count());
+            for(int from = 0; from < 150; from += 7){
+                for(int to = 0; to < 150; to++){
+                    Long distance = dijkstra.getWeightOfShortestPath(from, to);
+                    if(distance != null)
+                        Assert.assertTrue(landmarks.getLowerBound(from, to) <= distance);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLowerBoundIsExactForPathsThroughLandmark(){
+        /*
+        "1" --3--> "2" --4--> "3"
+         */
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addDirectedEdge(1, 2, 3);
+        graph.addDirectedEdge(2, 3, 4);
+
+        Landmarks<Integer> landmarks = new Landmarks<>(graph, Arrays.asList(3));
+        Assert.assertEquals(7, landmarks.getLowerBound(1, 3));
+        Assert.assertEquals(4, landmarks.getLowerBound(2, 3));
+        Assert.assertEquals(3, landmarks.getLowerBound(1, 2));
+    }
+
+    @Test
+    public void testAStarWithLandmarksAgreesWithDijkstra(){
+        Graph<Integer> graph = getRandomGraph();
+        Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+        AStar<Integer> aStar = new AStar<>(graph, new Landmarks<>(graph, 4, Landmarks.Strategy.FARTHEST), true);
+        for(int from = 0; from < 150; from += 11){
+            for(int to = 0; to < 150; to += 3)
+                Assert.assertEquals(dijkstra.getWeightOfShortestPath(from, to), aStar.getWeightOfShortestPath(from, to));
+        }
+    }
+
+    @Test
+    public void testLandmarksCanBeWrittenAndRead() throws IOException {
+        Graph<Integer> graph = getRandomGraph();
+        Landmarks<Integer> landmarks = new Landmarks<>(graph, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        landmarks.writeTo(out);
+
+        Landmarks<Integer> read = Landmarks.readFrom(graph, new ByteArrayInputStream(out.toByteArray()));
+        Assert.assertEquals(landmarks.getLandmarks(), read.getLandmarks());
+        for(int from = 0; from < 150; from += 5){
+            for(int to = 0; to < 150; to += 5)
+                Assert.assertEquals(landmarks.getLowerBound(from, to), read.getLowerBound(from, to));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadingLandmarksOfAnotherGraphThrowsIOE() throws IOException {
+        Graph<Integer> graph = getRandomGraph();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Landmarks<>(graph, 3).writeTo(out);
+
+        graph.addNode(1000);
+        Landmarks.readFrom(graph, new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeDistanceTablesThrowIAE(){
+        //50000 landmarks in a graph with 50000 nodes would need 2.5 * 10^9 entries per table
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 50000; i++)
+            graph.addNode(i);
+        new Landmarks<>(graph, 50000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveNumberOfLandmarksThrowsIAE(){
+        new Landmarks<>(getRandomGraph(), 0);
+    }
+}
@@ -0,0 +1,96 @@
+import algorithms.shortest_paths.ContractionHierarchies;
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.ManyToManyDistances;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class ManyToManyDistancesTest {
+
+    private final Random random = new Random(37);
+
+    private Graph<Integer> getRandomGraph(){
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 200; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 800; i++)
+            graph.addDirectedEdge(random.nextInt(200), random.nextInt(200), random.nextInt(100));
+        return graph;
+    }
+
+    private List<Integer> getRandomNodes(int count){
+        List<Integer> nodes = new ArrayList<>();
+        for(int i = 0; i < count; i++)
+            nodes.add(random.nextInt(200));
+        return nodes;
+    }
+
+    private void assertAgreesWithDijkstra(Graph<Integer> graph, ManyToManyDistances<Integer> manyToMany){
+        List<Integer> sources = getRandomNodes(30);
+        List<Integer> targets = getRandomNodes(40);
+        long[] distances = manyToMany.getDistances(sources, targets);
+        Assert.assertEquals(30 * 40, distances.length);
+        for(int i = 0; i < sources.size(); i++){
+            Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+            for(int j = 0; j < targets.size(); j++){
+                Long expected = sources.get(i).equals(targets.get(j)) ? Long.valueOf(0)
+                        : dijkstra.getWeightOfShortestPath(sources.get(i), targets.get(j));
+                Assert.assertEquals(expected == null ? Long.MAX_VALUE : expected.longValue(), distances[i * 40 + j]);
+            }
+        }
+    }
+
+    @Test
+    public void testDijkstraDistancesAgreeWithDijkstra(){
+        Graph<Integer> graph = getRandomGraph();
+        assertAgreesWithDijkstra(graph, new ManyToManyDistances<>(graph));
+    }
+
+    @Test
+    public void testBucketDistancesAgreeWithDijkstra(){
+        Graph<Integer> graph = getRandomGraph();
+        assertAgreesWithDijkstra(graph, new ManyToManyDistances<>(new ContractionHierarchies<>(graph)));
+    }
+
+    @Test
+    public void testDistanceMatrixHasOneRowPerSource(){
+        Graph<Integer> graph = getRandomGraph();
+        ManyToManyDistances<Integer> manyToMany = new ManyToManyDistances<>(graph);
+        List<Integer> sources = getRandomNodes(5);
+        List<Integer> targets = getRandomNodes(7);
+        long[] flat = manyToMany.getDistances(sources, targets);
+        long[][] matrix = manyToMany.getDistanceMatrix(sources, targets);
+        Assert.assertEquals(5, matrix.length);
+        for(int i = 0; i < 5; i++)
+            Assert.assertArrayEquals(Arrays.copyOfRange(flat, i * 7, i * 7 + 7), matrix[i]);
+    }
+
+    @Test
+    public void testEmptySourcesOrTargetsGiveEmptyMatrix(){
+        ManyToManyDistances<Integer> manyToMany = new ManyToManyDistances<>(getRandomGraph());
+        Assert.assertEquals(0, manyToMany.getDistances(new ArrayList<>(), getRandomNodes(3)).length);
+        Assert.assertEquals(0, manyToMany.getDistances(getRandomNodes(3), new ArrayList<>()).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNodeNotInGraphThrowsIAE(){
+        new ManyToManyDistances<>(getRandomGraph()).getDistances(Arrays.asList(1, 500), Arrays.asList(2));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addDirectedEdge(1, 2, -1);
+
+        new ManyToManyDistances<>(graph);
+    }
+}
@@ -0,0 +1,163 @@
+import algorithms.shortest_paths.FloydWarshall;
+import algorithms.shortest_paths.MappedDistanceMatrix;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class MappedDistanceMatrixTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Graph<Integer> getRandomGraph(int size){
+        return ShortestPathTest.getRandomGraphWithoutNegativeCycle(new Random(47), size, 4 * size, 30);
+    }
+
+    private void assertAgreesWithFloydWarshall(Graph<Integer> graph, MappedDistanceMatrix<Integer> matrix){
+        FloydWarshall<Integer> floydWarshall = new FloydWarshall<>(graph);
+        for(int from = 0; from < graph.size(); from++){
+            long[] row = matrix.getDistances(from);
+            for(int to = 0; to < graph.size(); to++){
+                Long expected = floydWarshall.getWeightOfShortestPath(from, to);
+                Assert.assertEquals(expected, matrix.getDistance(from, to));
+                Assert.assertEquals(expected == null ? Long.MAX_VALUE : expected, row[to]);
+            }
+        }
+    }
+
+    private MappedDistanceMatrix<Integer> compute(Graph<Integer> graph, Path file,
+                                                  MappedDistanceMatrix.Algorithm algorithm) throws IOException{
+        //A small tile size, so the matrix consists of several tiles with padding at the border
+        return MappedDistanceMatrix.compute(graph, file, algorithm, 16, ForkJoinPool.commonPool());
+    }
+
+    @Test
+    public void testFloydWarshallAgreesWithFloydWarshallInTheHeap() throws IOException{
+        Graph<Integer> graph = getRandomGraph(90);
+        try(MappedDistanceMatrix<Integer> matrix = compute(graph, folder.newFile().toPath(),
+                MappedDistanceMatrix.Algorithm.FLOYD_WARSHALL)){
+            assertAgreesWithFloydWarshall(graph, matrix);
+        }
+    }
+
+    @Test
+    public void testDijkstraAgreesWithFloydWarshallInTheHeap() throws IOException{
+        Graph<Integer> graph = getRandomGraph(90);
+        try(MappedDistanceMatrix<Integer> matrix = compute(graph, folder.newFile().toPath(),
+                MappedDistanceMatrix.Algorithm.DIJKSTRA)){
+            assertAgreesWithFloydWarshall(graph, matrix);
+        }
+    }
+
+    @Test
+    public void testDefaultTileSize() throws IOException{
+        Graph<Integer> graph = getRandomGraph(40);
+        try(MappedDistanceMatrix<Integer> matrix = MappedDistanceMatrix.compute(graph, folder.newFile().toPath(),
+                MappedDistanceMatrix.Algorithm.FLOYD_WARSHALL)){
+            Assert.assertEquals(256, matrix.getBlockSize());
+            assertAgreesWithFloydWarshall(graph, matrix);
+        }
+    }
+
+    @Test
+    public void testOpenedMatrixContainsTheSameDistances() throws IOException{
+        Graph<Integer> graph = getRandomGraph(50);
+        Path file = folder.newFile().toPath();
+        compute(graph, file, MappedDistanceMatrix.Algorithm.DIJKSTRA).close();
+        try(MappedDistanceMatrix<Integer> matrix = MappedDistanceMatrix.open(graph, file)){
+            Assert.assertEquals(16, matrix.getBlockSize());
+            assertAgreesWithFloydWarshall(graph, matrix);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenForGraphOfDifferentSizeThrowsIOE() throws IOException{
+        Path file = folder.newFile().toPath();
+        compute(getRandomGraph(50), file, MappedDistanceMatrix.Algorithm.DIJKSTRA).close();
+        MappedDistanceMatrix.open(getRandomGraph(51), file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenFileWithoutMatrixThrowsIOE() throws IOException{
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[]{1, 2, 3, 4, 5});
+        MappedDistanceMatrix.open(getRandomGraph(10), file);
+    }
+
+    @Test
+    public void testFailedComputationLeavesNoValidMatrix() throws IOException{
+        Graph<Integer> graph = getRandomGraph(50);
+        graph.addDirectedEdge(3, 4, -1000);
+        graph.addDirectedEdge(4, 3, -1000);
+        Path file = folder.newFile().toPath();
+        try{
+            compute(graph, file, MappedDistanceMatrix.Algorithm.FLOYD_WARSHALL);
+            Assert.fail();
+        }
+        catch(RuntimeException e){
+            Assert.assertEquals("Graph contains a negative cycle", e.getMessage());
+        }
+        try{
+            MappedDistanceMatrix.open(graph, file);
+            Assert.fail();
+        }
+        catch(IOException e){
+            //expected
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testDijkstraOnGraphWithNegativeCycleThrowsRE() throws IOException{
+        Graph<Integer> graph = getRandomGraph(50);
+        graph.addDirectedEdge(3, 4, -1000);
+        graph.addDirectedEdge(4, 3, -1000);
+        compute(graph, folder.newFile().toPath(), MappedDistanceMatrix.Algorithm.DIJKSTRA);
+    }
+
+    @Test
+    public void testNodeAddedAfterTheComputationThrowsIAE() throws IOException{
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 10; i++)
+            graph.addNode(i);
+        for(int i = 1; i < 10; i++)
+            graph.addDirectedEdge(i - 1, i, 1);
+        try(MappedDistanceMatrix<Integer> matrix = MappedDistanceMatrix.compute(graph, folder.newFile().toPath(),
+                MappedDistanceMatrix.Algorithm.DIJKSTRA, 16, ForkJoinPool.commonPool())){
+            //The ID of the new node lies in the zero-filled padding of the tiles
+            graph.addNode(10);
+            graph.addDirectedEdge(9, 10, 1);
+            for(int[] query : new int[][]{{0, 10}, {3, 10}, {10, 10}, {10, 0}}){
+                try{
+                    matrix.getDistance(query[0], query[1]);
+                    Assert.fail();
+                }
+                catch(IllegalArgumentException e){
+                    //expected
+                }
+            }
+            try{
+                matrix.getDistances(10);
+                Assert.fail();
+            }
+            catch(IllegalArgumentException e){
+                //expected
+            }
+            Assert.assertEquals(Long.valueOf(9), matrix.getDistance(0, 9));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTileSizeThrowsIAE() throws IOException{
+        MappedDistanceMatrix.compute(getRandomGraph(10), folder.newFile().toPath(),
+                MappedDistanceMatrix.Algorithm.DIJKSTRA, 0, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,101 @@
+import algorithms.shortest_paths.FloydWarshall;
+import algorithms.shortest_paths.MinPlusProduct;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class MinPlusProductTest {
+
+    private static final long INF = Long.MAX_VALUE;
+
+    private Graph<Integer> getPathGraph(){
+        /*
+        "0" --1--> "1" --2--> "2" --3--> "3"
+         */
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 0; i < 4; i++)
+            graph.addNode(i);
+        graph.addDirectedEdge(0, 1, 1);
+        graph.addDirectedEdge(1, 2, 2);
+        graph.addDirectedEdge(2, 3, 3);
+        return graph;
+    }
+
+    @Test
+    public void testWeightMatrix(){
+        long[] expected = {
+                0, 1, INF, INF,
+                INF, 0, 2, INF,
+                INF, INF, 0, 3,
+                INF, INF, INF, 0
+        };
+        Assert.assertArrayEquals(expected, new MinPlusProduct<>(getPathGraph()).getWeightMatrix());
+    }
+
+    @Test
+    public void testMultiply(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(0);
+        graph.addNode(1);
+        long[] a = {1, 5, INF, -2};
+        long[] b = {3, INF, 4, 0};
+        long[] expected = {4, 5, 2, -2};
+        Assert.assertArrayEquals(expected, new MinPlusProduct<>(graph).multiply(a, b));
+    }
+
+    @Test
+    public void testDistanceMatrixWithBoundedNumberOfEdges(){
+        MinPlusProduct<Integer> product = new MinPlusProduct<>(getPathGraph());
+        long[] expected = {
+                0, 1, 3, INF,
+                INF, 0, 2, 5,
+                INF, INF, 0, 3,
+                INF, INF, INF, 0
+        };
+        Assert.assertArrayEquals(expected, product.getDistanceMatrix(2));
+        Assert.assertArrayEquals(product.getWeightMatrix(), product.getDistanceMatrix(1));
+        Assert.assertEquals(6, product.getDistanceMatrix(3)[3]);
+        Assert.assertArrayEquals(product.getDistanceMatrix(), product.getDistanceMatrix(7));
+    }
+
+    @Test
+    public void testDistanceMatrixAgreesWithFloydWarshall(){
+        Graph<Integer> graph = ShortestPathTest.getRandomGraphWithoutNegativeCycle(new Random(45), 150, 400, 20);
+
+        long[] distances = new MinPlusProduct<>(graph).getDistanceMatrix();
+        FloydWarshall<Integer> floydWarshall = new FloydWarshall<>(graph);
+        for(int from = 0; from < 150; from++){
+            for(int to = 0; to < 150; to++){
+                Long expected = floydWarshall.getWeightOfShortestPath(from, to);
+                Assert.assertEquals(expected == null ? INF : expected, distances[from * 150 + to]);
+            }
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testDistanceMatrixOfGraphWithNegativeCycleThrowsRE(){
+        Graph<Integer> graph = getPathGraph();
+        graph.addDirectedEdge(3, 0, -7);
+        new MinPlusProduct<>(graph).getDistanceMatrix();
+    }
+
+    @Test
+    public void testNegativeCycleWithMoreEdgesThanTheBoundIsIgnored(){
+        Graph<Integer> graph = getPathGraph();
+        graph.addDirectedEdge(3, 0, -7);
+        Assert.assertEquals(-7, new MinPlusProduct<>(graph).getDistanceMatrix(3)[3 * 4]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiplyWithWrongNumberOfEntriesThrowsIAE(){
+        new MinPlusProduct<>(getPathGraph()).multiply(new long[16], new long[15]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeNumberOfEdgesThrowsIAE(){
+        new MinPlusProduct<>(getPathGraph()).getDistanceMatrix(-1);
+    }
+}
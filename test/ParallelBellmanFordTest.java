@@ -0,0 +1,85 @@
+import algorithms.shortest_paths.NegativeCycleException;
+import algorithms.shortest_paths.ParallelBellmanFord;
+import algorithms.shortest_paths.QueueBellmanFord;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelBellmanFordTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new ParallelBellmanFord<>(graph);
+    }
+
+    private Graph<Integer> getRandomGraphWithoutNegativeCycle(int size, int edges){
+        return getRandomGraphWithoutNegativeCycle(new Random(47), size, edges, 50);
+    }
+
+    @Test
+    public void testDistancesAgreeWithQueueBellmanFord(){
+        Graph<Integer> graph = getRandomGraphWithoutNegativeCycle(10000, 40000);
+        CompactGraph<Integer> compactGraph = new CompactGraph<>(graph);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try{
+            ParallelBellmanFord<Integer> parallelBellmanFord = new ParallelBellmanFord<>(compactGraph, pool);
+            QueueBellmanFord<Integer> queueBellmanFord = new QueueBellmanFord<>(compactGraph, QueueBellmanFord.Strategy.QUEUE);
+            for(int from = 0; from < 10000; from += 2500)
+                Assert.assertArrayEquals(queueBellmanFord.getDistances(from), parallelBellmanFord.getDistances(from));
+        }
+        finally{
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPathsAreShortestPaths(){
+        Graph<Integer> graph = getRandomGraphWithoutNegativeCycle(200, 800);
+        ParallelBellmanFord<Integer> parallelBellmanFord = new ParallelBellmanFord<>(graph);
+        long[] distances = new QueueBellmanFord<>(graph).getDistances(0);
+        for(int to = 1; to < 200; to++){
+            List<Integer> path = parallelBellmanFord.getShortestPath(0, to);
+            if(distances[to] == Long.MAX_VALUE){
+                Assert.assertNull(path);
+                continue;
+            }
+            long sum = 0;
+            for(int i = 1; i < path.size(); i++)
+                sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+            Assert.assertEquals(Integer.valueOf(0), path.get(0));
+            Assert.assertEquals(distances[to], sum);
+        }
+    }
+
+    @Test
+    public void testNodeAddedAfterTheCreationThrowsIAE(){
+        assertNodeAddedAfterTheCreationThrowsIAE();
+    }
+
+    @Test
+    public void testNegativeCycleIsReported(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 1; i <= 5; i++)
+            graph.addNode(i);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, 1);
+        graph.addDirectedEdge(3, 4, 1);
+        graph.addDirectedEdge(4, 2, -3);
+        graph.addDirectedEdge(4, 5, 1);
+
+        try{
+            new ParallelBellmanFord<>(graph).getWeightOfShortestPath(1, 5);
+            Assert.fail();
+        }
+        catch(NegativeCycleException e){
+            Assert.assertEquals(3, e.getCycle().size());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import algorithms.shortest_paths.BellmanFord;
+import algorithms.shortest_paths.NegativeCycleException;
+import algorithms.shortest_paths.QueueBellmanFord;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class QueueBellmanFordTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new QueueBellmanFord<>(graph);
+    }
+
+    private void assertIsNegativeCycle(Graph<Integer> graph, List<?> cycle){
+        Assert.assertFalse(cycle.isEmpty());
+        long weight = 0;
+        for(int i = 0; i < cycle.size(); i++){
+            Integer from = (Integer) cycle.get(i);
+            Integer to = (Integer) cycle.get((i + 1) % cycle.size());
+            Assert.assertTrue(graph.containsEdge(from, to));
+            weight += graph.getEdgeWeight(from, to);
+        }
+        Assert.assertTrue(weight < 0);
+    }
+
+    @Test
+    public void testAllStrategiesAgreeWithBellmanFord(){
+        Random random = new Random(41);
+        for(int round = 0; round < 3; round++){
+            Graph<Integer> graph = getRandomGraphWithoutNegativeCycle(random, 150, 600, 50);
+            BellmanFord<Integer> bellmanFord = new BellmanFord<>(graph);
+            for(QueueBellmanFord.Strategy strategy : QueueBellmanFord.Strategy.values()){
+                QueueBellmanFord<Integer> queueBellmanFord = new QueueBellmanFord<>(graph, strategy);
+                for(int from = 0; from < 150; from += 30){
+                    long[] distances = queueBellmanFord.getDistances(from);
+                    for(int to = 0; to < 150; to++){
+                        Long expected = from == to ? Long.valueOf(0) : bellmanFord.getWeightOfShortestPath(from, to);
+                        Assert.assertEquals(expected == null ? Long.MAX_VALUE : expected.longValue(), distances[to]);
+                        List<Integer> path = queueBellmanFord.getShortestPath(from, to);
+                        if(expected == null){
+                            Assert.assertNull(path);
+                            continue;
+                        }
+                        long sum = 0;
+                        for(int i = 1; i < path.size(); i++)
+                            sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+                        Assert.assertEquals(expected.longValue(), sum);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeCycleIsReported(){
+        Random random = new Random(43);
+        for(int round = 0; round < 10; round++){
+            Graph<Integer> graph = getRandomGraphWithoutNegativeCycle(random, 150, 600, 50);
+            //An edge against the potentials closes a negative cycle with high probability
+            for(int i = 0; i < 5; i++)
+                graph.addDirectedEdge(random.nextInt(150), random.nextInt(150), -200);
+            for(QueueBellmanFord.Strategy strategy : QueueBellmanFord.Strategy.values()){
+                try{
+                    new QueueBellmanFord<>(graph, strategy).getDistances(0);
+                }
+                catch(NegativeCycleException e){
+                    assertIsNegativeCycle(graph, e.getCycle());
+                }
+            }
+            try{
+                new BellmanFord<>(graph).getWeightOfShortestPath(0, 1);
+            }
+            catch(NegativeCycleException e){
+                assertIsNegativeCycle(graph, e.getCycle());
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeCycleOfThreeNodesIsFound(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 1; i <= 5; i++)
+            graph.addNode(i);
+        graph.addDirectedEdge(1, 2, 1);
+        graph.addDirectedEdge(2, 3, 1);
+        graph.addDirectedEdge(3, 4, 1);
+        graph.addDirectedEdge(4, 2, -3);
+        graph.addDirectedEdge(4, 5, 1);
+
+        for(QueueBellmanFord.Strategy strategy : QueueBellmanFord.Strategy.values()){
+            try{
+                new QueueBellmanFord<>(graph, strategy).getWeightOfShortestPath(1, 5);
+                Assert.fail();
+            }
+            catch(NegativeCycleException e){
+                Assert.assertEquals(3, e.getCycle().size());
+                assertIsNegativeCycle(graph, e.getCycle());
+            }
+        }
+    }
+
+    @Test
+    public void testNodeAddedAfterTheCreationThrowsIAE(){
+        assertNodeAddedAfterTheCreationThrowsIAE();
+    }
+
+    @Test
+    public void testUnreachableNegativeCycleIsIgnored(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 1; i <= 4; i++)
+            graph.addNode(i);
+        graph.addDirectedEdge(1, 2, 5);
+        graph.addDirectedEdge(3, 4, -1);
+        graph.addDirectedEdge(4, 3, -1);
+
+        for(QueueBellmanFord.Strategy strategy : QueueBellmanFord.Strategy.values())
+            Assert.assertEquals(Long.valueOf(5), new QueueBellmanFord<>(graph, strategy).getWeightOfShortestPath(1, 2));
+    }
+}
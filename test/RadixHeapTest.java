@@ -0,0 +1,140 @@
+import datastructures.RadixHeap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class RadixHeapTest {
+
+    private RadixHeap heap;
+
+    @Before
+    public void init(){
+        heap = new RadixHeap(10);
+    }
+
+    @Test
+    public void testIsEmptyAfterConstruction(){
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertEquals(0, heap.size());
+    }
+
+    @Test
+    public void testDeleteMinReturnsElementsInOrderOfTheirPriority(){
+        heap.insert(3, 30);
+        heap.insert(1, 10);
+        heap.insert(4, 5);
+        heap.insert(2, 20);
+
+        Assert.assertEquals(4, heap.min());
+        Assert.assertEquals(5, heap.minKey());
+        Assert.assertEquals(4, heap.deleteMin());
+        Assert.assertEquals(1, heap.deleteMin());
+        Assert.assertEquals(2, heap.deleteMin());
+        Assert.assertEquals(3, heap.deleteMin());
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKeyMovesElementToTheFront(){
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.insert(3, 30);
+
+        heap.decreaseKey(3, 5);
+        Assert.assertEquals(5, heap.getKey(3));
+        Assert.assertEquals(3, heap.deleteMin());
+        heap.insertOrDecreaseKey(2, 15);
+        heap.insertOrDecreaseKey(4, 12);
+        Assert.assertEquals(1, heap.deleteMin());
+        Assert.assertEquals(4, heap.deleteMin());
+        Assert.assertEquals(2, heap.deleteMin());
+    }
+
+    @Test
+    public void testPriorityOfLastMinimumIsAccepted(){
+        heap.insert(1, 50);
+        Assert.assertEquals(1, heap.deleteMin());
+        heap.insert(2, 50);
+        heap.insert(3, 60);
+        Assert.assertEquals(2, heap.deleteMin());
+        Assert.assertEquals(3, heap.deleteMin());
+    }
+
+    @Test
+    public void testClearRemovesAllElements(){
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.contains(1));
+        heap.insert(1, 5);
+        Assert.assertEquals(1, heap.size());
+    }
+
+    @Test
+    public void testMonotoneOperationsAgreeWithPriorityQueue(){
+        Random random = new Random(5);
+        RadixHeap heap = new RadixHeap(1000);
+        long[] keys = new long[1000];
+        boolean[] deleted = new boolean[1000];
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        long last = 0;
+        for(int round = 0; round < 5000; round++){
+            int elem = random.nextInt(1000);
+            if(random.nextBoolean() && !deleted[elem]){
+                long key = last + random.nextInt(1000);
+                if(!heap.contains(elem)){
+                    keys[elem] = key;
+                    heap.insert(elem, key);
+                    expected.add(key);
+                }
+                else if(key < keys[elem]){
+                    expected.remove(keys[elem]);
+                    keys[elem] = key;
+                    heap.decreaseKey(elem, key);
+                    expected.add(key);
+                }
+            }
+            else if(!heap.isEmpty()){
+                last = heap.minKey();
+                Assert.assertEquals(expected.poll(), Long.valueOf(last));
+                int min = heap.deleteMin();
+                Assert.assertEquals(keys[min], last);
+                deleted[min] = true;
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativePriorityThrowsIAE(){
+        heap.insert(1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrioritySmallerThanLastMinimumThrowsIAE(){
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.deleteMin();
+        heap.insert(3, 5);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteMinOnEmptyQueueThrowsNSEE(){
+        heap.deleteMin();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertingExistingElementThrowsIAE(){
+        heap.insert(1, 1);
+        heap.insert(1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testElementOutOfRangeThrowsIAE(){
+        heap.insert(10, 1);
+    }
+}
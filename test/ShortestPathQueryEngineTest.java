@@ -0,0 +1,171 @@
+import algorithms.shortest_paths.Dijkstra;
+import algorithms.shortest_paths.ShortestPathCalculator;
+import algorithms.shortest_paths.ShortestPathQueryEngine;
+import datastructures.graph.AdjacencyListGraph;
+import datastructures.graph.AdjacencyMatrixGraph;
+import datastructures.graph.CompactGraph;
+import datastructures.graph.Graph;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ShortestPathQueryEngineTest extends ShortestPathTest{
+
+    @Override
+    protected ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph) {
+        return new ShortestPathQueryEngine<>(graph);
+    }
+
+    private Graph<Integer> getRandomGraph(){
+        Random random = new Random(49);
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        for(int i = 0; i < 300; i++)
+            graph.addNode(i);
+        for(int i = 0; i < 1200; i++)
+            graph.addDirectedEdge(random.nextInt(300), random.nextInt(300), random.nextInt(20));
+        return graph;
+    }
+
+    private void assertResult(Graph<Integer> graph, Long expected, int from, int to,
+                              ShortestPathQueryEngine.Result<Integer> result){
+        Assert.assertEquals(expected, result.getWeight());
+        List<Integer> path = result.getPath();
+        if(expected == null){
+            Assert.assertNull(path);
+            return;
+        }
+        long sum = 0;
+        for(int i = 1; i < path.size(); i++)
+            sum += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+        Assert.assertEquals(Integer.valueOf(from), path.get(0));
+        Assert.assertEquals(Integer.valueOf(to), path.get(path.size() - 1));
+        Assert.assertEquals(expected.longValue(), sum);
+    }
+
+    @Test
+    public void testRepeatedQueriesAgreeWithDijkstra(){
+        Graph<Integer> graph = getRandomGraph();
+        ShortestPathQueryEngine<Integer> engine = new ShortestPathQueryEngine<>(graph);
+        Random random = new Random(7);
+        for(int i = 0; i < 500; i++){
+            int from = random.nextInt(300);
+            int to = random.nextInt(300);
+            assertResult(graph, new Dijkstra<>(graph).getWeightOfShortestPath(from, to), from, to,
+                    engine.query(from, to));
+        }
+    }
+
+    @Test
+    public void testConcurrentQueriesAgreeWithDijkstra() throws Exception{
+        Graph<Integer> graph = getRandomGraph();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try{
+            ShortestPathQueryEngine<Integer> engine = new ShortestPathQueryEngine<>(new CompactGraph<>(graph), executor);
+            Random random = new Random(11);
+            List<Integer> sources = new ArrayList<>();
+            List<Integer> targets = new ArrayList<>();
+            for(int i = 0; i < 2000; i++){
+                sources.add(random.nextInt(300));
+                targets.add(random.nextInt(300));
+            }
+
+            List<ShortestPathQueryEngine.Result<Integer>> results = engine.queryAll(sources, targets);
+            Assert.assertEquals(2000, results.size());
+            Dijkstra<Integer> dijkstra = new Dijkstra<>(graph);
+            for(int i = 0; i < results.size(); i++){
+                int from = sources.get(i);
+                int to = targets.get(i);
+                assertResult(graph, dijkstra.getWeightOfShortestPath(from, to), from, to, results.get(i));
+            }
+        }
+        finally{
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueryAsync(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addDirectedEdge(1, 2, 4);
+        graph.addDirectedEdge(2, 3, 5);
+
+        ShortestPathQueryEngine<Integer> engine = new ShortestPathQueryEngine<>(graph);
+        ShortestPathQueryEngine.Result<Integer> result = engine.queryAsync(1, 3).join();
+        Assert.assertEquals(Long.valueOf(9), result.getWeight());
+        Assert.assertEquals(Arrays.asList(1, 2, 3), result.getPath());
+        Assert.assertEquals(3, result.getNumberOfSettledNodes());
+        Assert.assertNull(engine.queryAsync(3, 1).join().getPath());
+    }
+
+    @Test
+    public void testSearchStopsAtTheTarget(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        for(int i = 0; i < 10; i++)
+            graph.addNode(i);
+        for(int i = 1; i < 10; i++)
+            graph.addDirectedEdge(i - 1, i, 1);
+
+        ShortestPathQueryEngine<Integer> engine = new ShortestPathQueryEngine<>(graph);
+        Assert.assertEquals(3, engine.query(0, 2).getNumberOfSettledNodes());
+        Assert.assertEquals(Arrays.asList(4), engine.query(4, 4).getPath());
+        Assert.assertEquals(Long.valueOf(0), engine.query(4, 4).getWeight());
+    }
+
+    @Test
+    public void testNodeAddedAfterTheCreationThrowsIAE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addDirectedEdge(1, 2, 4);
+        ShortestPathQueryEngine<Integer> engine = new ShortestPathQueryEngine<>(graph);
+        graph.addNode(3);
+        graph.addDirectedEdge(2, 3, 5);
+        try{
+            engine.query(1, 3);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        try{
+            engine.queryAsync(3, 1);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        try{
+            engine.getShortestPath(1, 3);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        Assert.assertEquals(Long.valueOf(4), engine.query(1, 2).getWeight());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQueryAllWithDifferentSizesThrowsIAE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        new ShortestPathQueryEngine<>(graph).queryAll(Arrays.asList(1, 1), Arrays.asList(1));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGraphWithNegativeEdgeWeightThrowsRE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addDirectedEdge(1, 2, -1);
+        new ShortestPathQueryEngine<>(graph);
+    }
+}
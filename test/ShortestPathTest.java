@@ -1,15 +1,65 @@
+import datastructures.graph.AdjacencyListGraph;
 import datastructures.graph.AdjacencyMatrixGraph;
 import datastructures.graph.Graph;
 import algorithms.shortest_paths.ShortestPathCalculator;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 public abstract class ShortestPathTest {
 
     protected abstract ShortestPathCalculator<Integer> getShortestPathCalculator(Graph<Integer> graph);
 
+    /*
+     * For calculators on a snapshot of the graph, whose results do not reflect nodes that are added afterwards
+     */
+    protected void assertNodeAddedAfterTheCreationThrowsIAE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addDirectedEdge(1, 2, 3);
+        ShortestPathCalculator<Integer> shortestPathCalculator = getShortestPathCalculator(graph);
+        graph.addNode(3);
+        graph.addDirectedEdge(2, 3, 1);
+        try{
+            shortestPathCalculator.getWeightOfShortestPath(1, 3);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        try{
+            shortestPathCalculator.getShortestPath(3, 1);
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected
+        }
+        Assert.assertEquals(Long.valueOf(3), shortestPathCalculator.getWeightOfShortestPath(1, 2));
+    }
+
+    /*
+     * Random graph with negative edges but without negative cycles, since the weights in [0, maxWeight) are reduced by
+     * potentials
+     */
+    protected static Graph<Integer> getRandomGraphWithoutNegativeCycle(Random random, int size, int edges, int maxWeight){
+        Graph<Integer> graph = new AdjacencyListGraph<>();
+        int[] potentials = new int[size];
+        for(int i = 0; i < size; i++){
+            graph.addNode(i);
+            potentials[i] = random.nextInt(100);
+        }
+        for(int i = 0; i < edges; i++){
+            int from = random.nextInt(size);
+            int to = random.nextInt(size);
+            graph.addDirectedEdge(from, to, random.nextInt(maxWeight) + potentials[to] - potentials[from]);
+        }
+        return graph;
+    }
+
     @Test
     public void testWeightOfShortestPathInConnectedGraph(){
         /*
@@ -143,6 +193,23 @@ public abstract class ShortestPathTest {
         Assert.assertNull(shortestPathCalculator.getShortestPath(1, 5));
     }
 
+    @Test
+    public void testShortestPathFromANodeToItselfContainsOnlyTheNode(){
+        /*
+        "1" --3-- "2"     "3"
+         */
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addUndirectedEdge(1, 2, 3);
+
+        ShortestPathCalculator<Integer> shortestPathCalculator = getShortestPathCalculator(graph);
+        Assert.assertEquals(Arrays.asList(1), shortestPathCalculator.getShortestPath(1, 1));
+        Assert.assertEquals(Arrays.asList(3), shortestPathCalculator.getShortestPath(3, 3));
+        Assert.assertEquals(Long.valueOf(0), shortestPathCalculator.getWeightOfShortestPath(3, 3));
+    }
+
     @Test
     public void testShortestPathStartsAtTheStartNode(){
         /*
@@ -5,6 +5,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.HashSet;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 public class TopologicalSortIteratorTest {
@@ -129,6 +130,8 @@ public class TopologicalSortIteratorTest {
 
         graph.addUndirectedEdge(2, 3);
         TopologicalSortIterator<Integer> iterator = graph.getTopologicalSortIterator();
+        while(iterator.hasNext())
+            iterator.next();
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -140,6 +143,8 @@ public class TopologicalSortIteratorTest {
 
         graph.addDirectedEdge(2, 2);
         TopologicalSortIterator<Integer> iterator = graph.getTopologicalSortIterator();
+        while(iterator.hasNext())
+            iterator.next();
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -154,5 +159,49 @@ public class TopologicalSortIteratorTest {
         graph.addDirectedEdge(3, 4);
         graph.addDirectedEdge(4, 2);
         TopologicalSortIterator<Integer> iterator = graph.getTopologicalSortIterator();
+        while(iterator.hasNext())
+            iterator.next();
+    }
+
+    @Test
+    public void testNodesBeforeACycleAreReturnedBeforeTheCycleIsDetected(){
+        /*
+        1 --> 2 --> 3 --> 4
+                    ^     |
+                    |_____|
+        */
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addNode(4);
+
+        graph.addDirectedEdge(1, 2);
+        graph.addDirectedEdge(2, 3);
+        graph.addDirectedEdge(3, 4);
+        graph.addDirectedEdge(4, 3);
+        TopologicalSortIterator<Integer> iterator = graph.getTopologicalSortIterator();
+        Assert.assertEquals(Integer.valueOf(1), iterator.next());
+        Assert.assertEquals(Integer.valueOf(2), iterator.next());
+        try{
+            iterator.hasNext();
+            Assert.fail();
+        }
+        catch(IllegalArgumentException e){
+            //expected, since 3 and 4 form a cycle
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextAfterAllNodesWereReturnedThrowsNSEE(){
+        Graph<Integer> graph = new AdjacencyMatrixGraph<>();
+        graph.addNode(1);
+        graph.addNode(2);
+
+        graph.addDirectedEdge(1, 2);
+        TopologicalSortIterator<Integer> iterator = graph.getTopologicalSortIterator();
+        iterator.next();
+        iterator.next();
+        iterator.next();
     }
 }